@@ -2,6 +2,7 @@ package udistrital.avanzada.taller.control;
 
 import java.util.List;
 import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
 import udistrital.avanzada.taller.modelo.*;
 
 /**
@@ -11,6 +12,20 @@ import udistrital.avanzada.taller.modelo.*;
  * los 250 puntos o más. El proceso simula pausas y turnos de lanzamiento,
  * reflejando una ejecución concurrente y sincronizada.
  * </p>
+ *
+ * <p>
+ * Después de cada lanzamiento se aplica el {@link EfectoHechizo} del hechizo
+ * (puntos extra, drenaje, aturdimiento, etc.); los hechizos sin efecto propio
+ * conservan el 10% de probabilidad de aturdir al rival.
+ * </p>
+ *
+ * <p>
+ * Con una semilla el duelo es reproducible: la elección de hechizos y los
+ * efectos usan un {@link Random} sembrado que solo se consulta dentro del
+ * turno (los turnos se alternan en orden fijo), y las pausas usan otro
+ * generador. En modo turbo no hay pausas entre lanzamientos, para simular
+ * torneos completos sin esperar.
+ * </p>
  * 
  * <p>
  * Creada por Juan Sebastián Bravo Rojas
@@ -26,22 +41,36 @@ public class CampoDeDuelo {
 
     private final Mago mago1;
     private final Mago mago2;
-    private final LibroHechizos libro;
+    /**
+     * Hechizos del libro tomados al crear el duelo; si se publica otro libro
+     * mientras tanto, este duelo termina con los que tenía.
+     */
+    private final List<Hechizo> hechizos;
     private final Random random;
+    /** Sin pausas entre lanzamientos. */
+    private final boolean turbo;
     private ResultadoDuelo resultado;
     
     // Control de turnos con Volatile para mejorar la sincronización
     private volatile boolean turnoMago1 = true;
     private volatile boolean dueloActivo = true;
     private final Object monitor = new Object();
+
+    /** Hilos de los magos mientras el duelo corre, para poder detenerlo. */
+    private volatile Thread hilo1;
+    private volatile Thread hilo2;
+    /** Se pidió {@link #detener()}; el duelo ya no vuelve a arrancar. */
+    private volatile boolean cancelado;
     
     // Observador para actualizar la UI
     private ObservadorDuelo observador;
 
-    private static final int META_PUNTOS = 250;
+    /**
+     * Puntos con los que un mago gana el duelo.
+     */
+    public static final int META_PUNTOS = 250;
     private static final int TIEMPO_MIN = 250;
     private static final int TIEMPO_MAX = 500;
-    private static final double PROBABILIDAD_ATURDIR = 0.10; // 10%
 
     /**
      * Crea un nuevo campo de duelo entre dos magos y un libro de hechizos.
@@ -51,13 +80,48 @@ public class CampoDeDuelo {
      * @param libro libro de hechizos disponible
      */
     public CampoDeDuelo(Mago mago1, Mago mago2, LibroHechizos libro) {
+        this(mago1, mago2, libro, new Random(), false);
+    }
+
+    /**
+     * Crea un campo de duelo reproducible.
+     *
+     * @param mago1 primer mago
+     * @param mago2 segundo mago
+     * @param libro libro de hechizos disponible
+     * @param semilla semilla de los hechizos y efectos: la misma semilla con
+     * los mismos magos y libro da el mismo resultado
+     * @param turbo {@code true} para lanzar sin pausas
+     */
+    public CampoDeDuelo(Mago mago1, Mago mago2, LibroHechizos libro, long semilla, boolean turbo) {
+        this(mago1, mago2, libro, new Random(semilla), turbo);
+    }
+
+    private CampoDeDuelo(Mago mago1, Mago mago2, LibroHechizos libro, Random random, boolean turbo) {
         this.mago1 = mago1;
         this.mago2 = mago2;
-        this.libro = libro;
-        this.random = new Random();
+        this.hechizos = libro.getHechizos();
+        this.random = random;
+        this.turbo = turbo;
         this.resultado = new ResultadoDuelo();
     }
 
+    /**
+     * Deriva la semilla de un duelo a partir de una semilla base y su número,
+     * de forma que duelos consecutivos no compartan secuencia.
+     *
+     * @param base semilla del torneo o la exhibición
+     * @param numero número del duelo
+     * @return semilla del duelo
+     */
+    public static long derivarSemilla(long base, long numero) {
+        // Finalizador de SplitMix64
+        long z = base + (numero + 1) * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
     /**
      * Establece el observador que será notificado de los eventos del duelo.
      *
@@ -91,16 +155,25 @@ public class CampoDeDuelo {
         // Crear hilos para cada mago
         Thread hilo1 = new Thread(() -> ejecutarTurnos(mago1, mago2, true), "Hilo-" + mago1.getNombre());
         Thread hilo2 = new Thread(() -> ejecutarTurnos(mago2, mago1, false), "Hilo-" + mago2.getNombre());
+        this.hilo1 = hilo1;
+        this.hilo2 = hilo2;
 
         hilo1.start();
         hilo2.start();
+        if (cancelado) {
+            // detener() llegó antes de que existieran los hilos
+            detener();
+        }
 
         try {
             hilo1.join();
             hilo2.join();
         } catch (InterruptedException e) {
+            detener();
             Thread.currentThread().interrupt();
         }
+        this.hilo1 = null;
+        this.hilo2 = null;
 
         // Notificar fin del duelo
         if (observador != null) {
@@ -110,6 +183,23 @@ public class CampoDeDuelo {
         return resultado;
     }
 
+    /**
+     * Corta el duelo sin esperar a que alguien llegue a la meta: los hilos de
+     * los magos salen de su espera o de su pausa y {@link #iniciar()}
+     * devuelve un resultado sin ganador.
+     */
+    public void detener() {
+        cancelado = true;
+        dueloActivo = false;
+        synchronized (monitor) {
+            monitor.notifyAll();
+        }
+        Thread h1 = hilo1;
+        Thread h2 = hilo2;
+        if (h1 != null) h1.interrupt();
+        if (h2 != null) h2.interrupt();
+    }
+
     /**
      * Ejecuta los turnos de lanzamiento de hechizos para un mago específico.
      * <p>
@@ -122,7 +212,7 @@ public class CampoDeDuelo {
      * @param esMago1 indica si el atacante es el mago1 (true) o mago2 (false)
      */
     private void ejecutarTurnos(Mago atacante, Mago rival, boolean esMago1) {
-        List<Hechizo> lista = libro.getHechizos();
+        List<Hechizo> lista = hechizos;
 
         while (dueloActivo) {
             synchronized (monitor) {
@@ -158,6 +248,10 @@ public class CampoDeDuelo {
                 // Seleccionar hechizo aleatorio
                 Hechizo elegido = lista.get(random.nextInt(lista.size()));
                 atacante.lanzarHechizo(elegido);
+
+                // Efecto del hechizo (incluye la probabilidad de aturdir)
+                boolean rivalAturdido = rival.estaAturdido();
+                elegido.getEfecto().aplicar(atacante, rival, random);
                 int puntosActuales = atacante.getPuntosAcumulados();
 
                 // Notificar lanzamiento de hechizo
@@ -173,13 +267,8 @@ public class CampoDeDuelo {
                     break;
                 }
 
-                // Simular probabilidad de aturdir al rival (10%)
-                if (random.nextDouble() < PROBABILIDAD_ATURDIR) {
-                    rival.aturdir();
-                    
-                    if (observador != null) {
-                        observador.onMagoAturdido(rival);
-                    }
+                if (!rivalAturdido && rival.estaAturdido() && observador != null) {
+                    observador.onMagoAturdido(rival);
                 }
 
                 // Cambiar turno
@@ -187,9 +276,14 @@ public class CampoDeDuelo {
                 monitor.notifyAll();
             }
 
-            // Pausa aleatoria entre 250 y 500 ms (fuera del bloque sincronizado)
+            if (turbo) {
+                continue;
+            }
+
+            // Pausa aleatoria entre 250 y 500 ms (fuera del bloque sincronizado).
+            // No usa el generador sembrado: se consulta fuera del turno.
             try {
-                int pausa = TIEMPO_MIN + random.nextInt(TIEMPO_MAX - TIEMPO_MIN + 1);
+                int pausa = TIEMPO_MIN + ThreadLocalRandom.current().nextInt(TIEMPO_MAX - TIEMPO_MIN + 1);
                 Thread.sleep(pausa);
             } catch (InterruptedException e) {
                 Thread.currentThread().interrupt();
@@ -202,14 +296,21 @@ public class CampoDeDuelo {
      * Determina el ganador y registra los datos finales del duelo.
      */
     private void definirResultado() {
-        Mago ganador = (mago1.getPuntosAcumulados() >= META_PUNTOS) ? mago1 : mago2;
-        Mago perdedor = (ganador == mago1) ? mago2 : mago1;
+        // Una lectura por mago: puntos y hechizos del mismo instante
+        long marcador1 = mago1.getMarcador();
+        long marcador2 = mago2.getMarcador();
+        boolean ganaMago1 = Mago.puntosDe(marcador1) >= META_PUNTOS;
+        Mago ganador = ganaMago1 ? mago1 : mago2;
+        Mago perdedor = ganaMago1 ? mago2 : mago1;
+        long marcadorGanador = ganaMago1 ? marcador1 : marcador2;
+        long marcadorPerdedor = ganaMago1 ? marcador2 : marcador1;
 
         resultado.setGanador(ganador);
         resultado.setPerdedor(perdedor);
-        resultado.setPuntosGanador(ganador.getPuntosAcumulados());
-        resultado.setPuntosPerdedor(perdedor.getPuntosAcumulados());
-        resultado.setHechizosLanzadosGanador(ganador.getHechizosLanzados());
+        resultado.setPuntosGanador(Mago.puntosDe(marcadorGanador));
+        resultado.setPuntosPerdedor(Mago.puntosDe(marcadorPerdedor));
+        resultado.setHechizosLanzadosGanador(Mago.hechizosDe(marcadorGanador));
+        resultado.setHechizosLanzadosPerdedor(Mago.hechizosDe(marcadorPerdedor));
     }
 
     /**
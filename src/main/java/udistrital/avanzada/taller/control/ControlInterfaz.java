@@ -2,9 +2,24 @@ package udistrital.avanzada.taller.control;
 
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
 import javax.swing.JOptionPane;
-import javax.swing.SwingUtilities;
+import javax.swing.SwingWorker;
+import javax.swing.WindowConstants;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
 import udistrital.avanzada.taller.modelo.*;
+import udistrital.avanzada.taller.modelo.persistencia.ProgresoCarga;
 import udistrital.avanzada.taller.vista.*;
 
 /**
@@ -30,6 +45,19 @@ public class ControlInterfaz implements ActionListener {
     private boolean magosReady = false;
     private boolean hechizosReady = false;
 
+    /**
+     * Intervalo mínimo entre dos actualizaciones de progreso en pantalla
+     * (~60 por segundo).
+     */
+    private static final long INTERVALO_PROGRESO_NS = 16_000_000L;
+
+    /** Máximo de hechizos que muestra el filtro del panel de carga. */
+    private static final int LIMITE_FILTRO_HECHIZOS = 50;
+
+    /** Cargas en segundo plano en curso ({@code null} si no hay). */
+    private TareaCarga cargaMagos;
+    private TareaCarga cargaHechizos;
+
     public ControlInterfaz(ControlLogica cLogica) {
         this.cLogica = cLogica;
         iniciarPrograma();
@@ -37,20 +65,53 @@ public class ControlInterfaz implements ActionListener {
 
     private void iniciarPrograma() {
         this.vPrincipal = new VentanaPrincipal(this);
+        vPrincipal.getPanelMain().getPanelCombate().setDesbordeLog(cLogica.getDesbordeLog());
         vPrincipal.setVisible(true);
         vPrincipal.setLocationRelativeTo(null);
         conectarEventos();
     }
 
     private void conectarEventos() {
+        // Cerrar con la X pasa por la misma limpieza que el botón Salir
+        vPrincipal.setDefaultCloseOperation(WindowConstants.DO_NOTHING_ON_CLOSE);
+        vPrincipal.addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowClosing(WindowEvent e) {
+                cerrarAplicacion();
+            }
+        });
         // Inicio
         vPrincipal.getPanelMain().getPanelInicio().getBotonJugar().addActionListener(this);
         vPrincipal.getPanelMain().getPanelInicio().getBotonSalir().addActionListener(this);
+        vPrincipal.getPanelMain().getPanelInicio().getBotonRepeticiones().addActionListener(this);
         // Cargar
         vPrincipal.getPanelMain().getPanelCargar().getBotonSalir().addActionListener(this);
         vPrincipal.getPanelMain().getPanelCargar().getBotonJugar().addActionListener(this);
         vPrincipal.getPanelMain().getPanelCargar().getBotonCargarMagos().addActionListener(this);
         vPrincipal.getPanelMain().getPanelCargar().getBotonCargarHechizos().addActionListener(this);
+        vPrincipal.getPanelMain().getPanelCargar().getBotonCancelar().addActionListener(this);
+        vPrincipal.getPanelMain().getPanelCargar().getBotonExhibicion().addActionListener(this);
+        vPrincipal.getPanelMain().getPanelCargar().getCampoFiltroHechizos().getDocument()
+                .addDocumentListener(new DocumentListener() {
+                    @Override
+                    public void insertUpdate(DocumentEvent e) {
+                        filtrarHechizos();
+                    }
+
+                    @Override
+                    public void removeUpdate(DocumentEvent e) {
+                        filtrarHechizos();
+                    }
+
+                    @Override
+                    public void changedUpdate(DocumentEvent e) {
+                        filtrarHechizos();
+                    }
+                });
+        // Tablero
+        vPrincipal.getPanelMain().getPanelTablero().getBotonVolver().addActionListener(this);
+        // Repeticiones
+        vPrincipal.getPanelMain().getPanelRepeticion().getBotonVolver().addActionListener(this);
         // Combate
         vPrincipal.getPanelMain().getPanelCombate().getBotonVolver().addActionListener(this);
     }
@@ -62,8 +123,7 @@ public class ControlInterfaz implements ActionListener {
         // Salir
         if (src == vPrincipal.getPanelMain().getPanelInicio().getBotonSalir()
                 || src == vPrincipal.getPanelMain().getPanelCargar().getBotonSalir()) {
-            vPrincipal.dispose();
-            System.exit(0);
+            cerrarAplicacion();
             return;
         }
 
@@ -73,42 +133,201 @@ public class ControlInterfaz implements ActionListener {
             return;
         }
 
-        // Cargar magos
+        // Ver duelos grabados
+        if (src == vPrincipal.getPanelMain().getPanelInicio().getBotonRepeticiones()) {
+            mostrarRepeticiones();
+            return;
+        }
+
+        // Salir de las repeticiones
+        if (src == vPrincipal.getPanelMain().getPanelRepeticion().getBotonVolver()) {
+            vPrincipal.getPanelMain().getPanelRepeticion().detener();
+            vPrincipal.getPanelMain().mostrarPanelInicio();
+            return;
+        }
+
+        // Cargar magos (en segundo plano)
         if (src == vPrincipal.getPanelMain().getPanelCargar().getBotonCargarMagos()) {
             String ruta = vPrincipal.getPanelMain().getPanelCargar().cargarProperties("Magos");
-            if (ruta != null && cLogica.cargarMagos(ruta)) {
-                magosReady = true;
-                JOptionPane.showMessageDialog(vPrincipal, "Magos cargados exitosamente.",
-                        "Éxito", JOptionPane.INFORMATION_MESSAGE);
-                verificarDatosCompletos();
+            if (ruta != null && cargaMagos == null) {
+                cargaMagos = new TareaCarga(true, ruta);
+                vPrincipal.getPanelMain().getPanelCargar().setCargandoMagos(true, null);
+                cargaMagos.execute();
             }
             return;
         }
 
-        // Cargar hechizos
+        // Cargar hechizos (en segundo plano, puede correr junto a la de magos)
         if (src == vPrincipal.getPanelMain().getPanelCargar().getBotonCargarHechizos()) {
             String ruta = vPrincipal.getPanelMain().getPanelCargar().cargarProperties("Hechizos");
-            if (ruta != null && cLogica.cargarHechizos(ruta)) {
-                hechizosReady = true;
-                JOptionPane.showMessageDialog(vPrincipal, "Hechizos cargados exitosamente.",
-                        "Éxito", JOptionPane.INFORMATION_MESSAGE);
-                verificarDatosCompletos();
+            if (ruta != null && cargaHechizos == null) {
+                cargaHechizos = new TareaCarga(false, ruta);
+                vPrincipal.getPanelMain().getPanelCargar().setCargandoHechizos(true, null);
+                cargaHechizos.execute();
             }
             return;
         }
 
+        // Cancelar cargas en curso
+        if (src == vPrincipal.getPanelMain().getPanelCargar().getBotonCancelar()) {
+            if (cargaMagos != null) cargaMagos.cancel(true);
+            if (cargaHechizos != null) cargaHechizos.cancel(true);
+            return;
+        }
+
         // Jugar torneo
         if (src == vPrincipal.getPanelMain().getPanelCargar().getBotonJugar()) {
             iniciarTorneo();
             return;
         }
 
+        // Exhibición de duelos en paralelo
+        if (src == vPrincipal.getPanelMain().getPanelCargar().getBotonExhibicion()) {
+            iniciarExhibicion();
+            return;
+        }
+
+        // Salir del tablero
+        if (src == vPrincipal.getPanelMain().getPanelTablero().getBotonVolver()) {
+            vPrincipal.getPanelMain().getPanelTablero().detener();
+            cLogica.detenerExhibicion();
+            vPrincipal.getPanelMain().mostrarPanelCargar();
+            return;
+        }
+
         // Volver al inicio
         if (src == vPrincipal.getPanelMain().getPanelCombate().getBotonVolver()) {
             mostrarOpcionesDespuesDuelo();
         }
     }
 
+    /**
+     * Carga de un archivo de magos o de hechizos fuera del hilo de eventos.
+     * <p>
+     * La lectura corre en el ejecutor de {@link SwingWorker}; el avance se
+     * publica como mucho cada {@link #INTERVALO_PROGRESO_NS} y en
+     * {@link #process} solo se pinta el último, así la ventana sigue
+     * respondiendo aunque el archivo tenga millones de entradas. Cancelar la
+     * tarea interrumpe el hilo y el lector corta la lectura.
+     * </p>
+     */
+    private final class TareaCarga extends SwingWorker<Void, long[]> {
+
+        private final boolean magos;
+        private final String ruta;
+        private long ultimoAviso;
+        /**
+         * El modelo ya recibió los datos. Un {@code cancel} que llegue
+         * después no los deshace, así que la carga cuenta como completa.
+         */
+        private volatile boolean publicada;
+
+        TareaCarga(boolean magos, String ruta) {
+            this.magos = magos;
+            this.ruta = ruta;
+        }
+
+        @Override
+        protected Void doInBackground() throws IOException {
+            ProgresoCarga progreso = (bytes, total, entradas) -> {
+                long ahora = System.nanoTime();
+                if (ahora - ultimoAviso >= INTERVALO_PROGRESO_NS || bytes == total) {
+                    ultimoAviso = ahora;
+                    publish(new long[]{bytes, total, entradas});
+                }
+            };
+            if (magos) {
+                cLogica.cargarMagos(ruta, progreso);
+            } else {
+                cLogica.cargarHechizos(ruta, progreso);
+            }
+            publicada = true;
+            return null;
+        }
+
+        @Override
+        protected void process(List<long[]> avances) {
+            long[] a = avances.get(avances.size() - 1);
+            PanelCargar panel = vPrincipal.getPanelMain().getPanelCargar();
+            if (magos) {
+                panel.mostrarProgresoMagos(a[0], a[1], a[2]);
+            } else {
+                panel.mostrarProgresoHechizos(a[0], a[1], a[2]);
+            }
+        }
+
+        @Override
+        protected void done() {
+            String tipo = magos ? "magos" : "hechizos";
+            if (magos) {
+                cargaMagos = null;
+            } else {
+                cargaHechizos = null;
+            }
+
+            String estado;
+            boolean completa = false;
+            try {
+                if (publicada) {
+                    completa = true;
+                    estado = "Carga completa";
+                    if (magos) {
+                        magosReady = true;
+                    } else {
+                        hechizosReady = true;
+                    }
+                } else if (isCancelled()) {
+                    estado = "Carga cancelada";
+                } else {
+                    // Terminó sin publicar: get() relanza el error de la carga
+                    get();
+                    estado = "Carga cancelada";
+                }
+            } catch (ExecutionException e) {
+                estado = "Error al cargar";
+                String detalle = e.getCause() == null ? e.getMessage() : e.getCause().getMessage();
+                System.err.println("Error al cargar " + tipo + ": " + detalle);
+                JOptionPane.showMessageDialog(vPrincipal, "No se pudo cargar el archivo de " + tipo + ".\n" + detalle,
+                        "Error", JOptionPane.ERROR_MESSAGE);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                estado = "Carga cancelada";
+            }
+
+            PanelCargar panel = vPrincipal.getPanelMain().getPanelCargar();
+            if (magos) {
+                panel.setCargandoMagos(false, estado);
+            } else {
+                panel.setCargandoHechizos(false, estado);
+            }
+
+            if (completa) {
+                JOptionPane.showMessageDialog(vPrincipal,
+                        (magos ? "Magos" : "Hechizos") + " cargados exitosamente.",
+                        "Éxito", JOptionPane.INFORMATION_MESSAGE);
+                if (!magos) {
+                    filtrarHechizos();
+                }
+                verificarDatosCompletos();
+            }
+        }
+    }
+
+    /**
+     * Muestra en el panel de carga los hechizos cuyo nombre empieza con el
+     * texto del filtro. Cada tecla hace una búsqueda binaria en el libro, así
+     * que no hace falta esperar a que el usuario termine de escribir.
+     */
+    private void filtrarHechizos() {
+        PanelCargar panel = vPrincipal.getPanelMain().getPanelCargar();
+        String prefijo = panel.getCampoFiltroHechizos().getText().trim();
+        List<InfoHechizoVista> encontrados = new ArrayList<>();
+        for (Hechizo h : cLogica.buscarHechizos(prefijo, LIMITE_FILTRO_HECHIZOS)) {
+            encontrados.add(adaptarHechizo(h));
+        }
+        panel.mostrarHechizos(encontrados);
+    }
+
     private void verificarDatosCompletos() {
         if (magosReady && hechizosReady) {
             JOptionPane.showMessageDialog(vPrincipal,
@@ -133,6 +352,75 @@ public class ControlInterfaz implements ActionListener {
         ejecutarSiguienteDuelo();
     }
 
+    private void iniciarExhibicion() {
+        if (!cLogica.datosListos()) {
+            JOptionPane.showMessageDialog(vPrincipal,
+                    "Debes cargar primero los archivos de magos y hechizos.",
+                    "Datos incompletos", JOptionPane.WARNING_MESSAGE);
+            return;
+        }
+        ExhibicionDuelos exhibicion;
+        try {
+            exhibicion = cLogica.iniciarExhibicion();
+        } catch (IllegalStateException e) {
+            JOptionPane.showMessageDialog(vPrincipal, e.getMessage(),
+                    "Error", JOptionPane.ERROR_MESSAGE);
+            return;
+        }
+        // El tablero lee los marcadores en cada cuadro, sin eventos por duelo
+        vPrincipal.getPanelMain().getPanelTablero().mostrarDuelos(exhibicion::muestrear);
+        vPrincipal.getPanelMain().mostrarPanelTablero();
+    }
+
+    /**
+     * Termina la aplicación por cualquier vía (botón Salir o la X de la
+     * ventana): detiene lo que corre en segundo plano y cierra los archivos
+     * antes de salir, para que las filas aún en cola lleguen completas al
+     * disco.
+     */
+    private void cerrarAplicacion() {
+        cLogica.detenerExhibicion();
+        cLogica.detenerExportacion();
+        // Confirma el grupo en curso y lo que quede en la cola del escritor
+        cLogica.desactivarBaseDatos();
+        // Las líneas aún en pantalla también pasan al archivo de log
+        vPrincipal.getPanelMain().getPanelCombate().limpiar();
+        cLogica.detenerLogCombate();
+        exportarMonitorEdt();
+        vPrincipal.dispose();
+        System.exit(0);
+    }
+
+    /**
+     * Guarda los histogramas de {@link MonitorEdt} si la propiedad del
+     * sistema {@code conjuros.monitorEdt} trae la ruta del CSV.
+     */
+    private void exportarMonitorEdt() {
+        String ruta = System.getProperty("conjuros.monitorEdt");
+        if (ruta == null || ruta.isBlank()) return;
+        try (Writer salida = Files.newBufferedWriter(Path.of(ruta), StandardCharsets.UTF_8)) {
+            MonitorEdt.compartido().escribirCsv(salida);
+        } catch (IOException | InvalidPathException e) {
+            System.err.println("Error al exportar el monitor del EDT: " + e.getMessage());
+        }
+    }
+
+    private void mostrarRepeticiones() {
+        List<GrabacionDuelo> grabaciones = cLogica.getRepeticiones();
+        if (grabaciones.isEmpty()) {
+            JOptionPane.showMessageDialog(vPrincipal,
+                    "Aún no hay duelos grabados. Juega al menos un duelo del torneo.",
+                    "Repeticiones", JOptionPane.INFORMATION_MESSAGE);
+            return;
+        }
+        List<RepeticionVista> repeticiones = new ArrayList<>(grabaciones.size());
+        for (GrabacionDuelo g : grabaciones) {
+            repeticiones.add(adaptarGrabacion(g));
+        }
+        vPrincipal.getPanelMain().getPanelRepeticion().setRepeticiones(repeticiones);
+        vPrincipal.getPanelMain().mostrarPanelRepeticion();
+    }
+
     private void ejecutarSiguienteDuelo() {
         vPrincipal.getPanelMain().mostrarPanelCombate();
 
@@ -167,7 +455,7 @@ public class ControlInterfaz implements ActionListener {
 
             @Override
             public void onFinDuelo(ResultadoDuelo r) {
-                SwingUtilities.invokeLater(() -> {
+                MonitorEdt.compartido().invokeLater(MonitorEdt.OBSERVADOR, () -> {
                     // Convertir ResultadoDuelo del modelo a InfoResultadoDueloVista
                     InfoResultadoDueloVista infoResultado = adaptarResultado(r);
                     mostrarResultadoDuelo(infoResultado);
@@ -308,4 +596,61 @@ public class ControlInterfaz implements ActionListener {
             }
         };
     }
+
+    /**
+     * Adapta una GrabacionDuelo del modelo a RepeticionVista para la vista.
+     */
+    private RepeticionVista adaptarGrabacion(GrabacionDuelo grabacion) {
+        return new RepeticionVista() {
+            // Un solo arreglo del modelo: el visor consulta un turno a la vez en el EDT
+            private final int[] estadoModelo = new int[GrabacionDuelo.TAMANO_ESTADO];
+
+            @Override
+            public String getNombreMago(int lado) {
+                return grabacion.getNombre(lado);
+            }
+
+            @Override
+            public int getRonda() {
+                return grabacion.getRonda();
+            }
+
+            @Override
+            public int getGanador() {
+                return grabacion.getGanador();
+            }
+
+            @Override
+            public int getMeta() {
+                return CampoDeDuelo.META_PUNTOS;
+            }
+
+            @Override
+            public int getTurnos() {
+                return grabacion.getEventos();
+            }
+
+            @Override
+            public void estadoEn(int turno, int[] estado) {
+                grabacion.estadoEn(turno, estadoModelo);
+                estado[PUNTOS_1] = estadoModelo[GrabacionDuelo.PUNTOS_1];
+                estado[PUNTOS_2] = estadoModelo[GrabacionDuelo.PUNTOS_2];
+                estado[HECHIZOS_1] = estadoModelo[GrabacionDuelo.HECHIZOS_1];
+                estado[HECHIZOS_2] = estadoModelo[GrabacionDuelo.HECHIZOS_2];
+                estado[ATURDIDO_1] = estadoModelo[GrabacionDuelo.ATURDIDO_1];
+                estado[ATURDIDO_2] = estadoModelo[GrabacionDuelo.ATURDIDO_2];
+            }
+
+            @Override
+            public String describirTurno(int turno) {
+                int i = turno - 1;
+                String mago = grabacion.getNombre(grabacion.ladoEvento(i));
+                return switch (grabacion.tipoEvento(i)) {
+                    case GrabacionDuelo.HECHIZO -> mago + " lanzó " + grabacion.hechizoEvento(i);
+                    case GrabacionDuelo.ATURDIDO -> mago + " quedó aturdido";
+                    default -> mago + " se recupera y pierde su turno";
+                };
+            }
+        };
+    }
 }
\ No newline at end of file
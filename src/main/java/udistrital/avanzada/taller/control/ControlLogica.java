@@ -1,9 +1,21 @@
 package udistrital.avanzada.taller.control;
 
 import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 import javax.swing.SwingWorker;
 import udistrital.avanzada.taller.modelo.*;
+import udistrital.avanzada.taller.modelo.persistencia.ArchivoLog;
 import udistrital.avanzada.taller.modelo.persistencia.CargadorPropiedades;
+import udistrital.avanzada.taller.modelo.persistencia.ExportadorResultados;
+import udistrital.avanzada.taller.modelo.persistencia.RepositorioTorneos;
+import udistrital.avanzada.taller.modelo.persistencia.ProgresoCarga;
 
 /**
  * Controlador principal de la lógica del programa <b>ConjurosConHilos</b>.
@@ -27,9 +39,62 @@ public class ControlLogica {
     private final CargadorPropiedades cargador;
     private ControlInterfaz cInterfaz;
 
-    private LibroHechizos libro;
-    private ListadoMagos listado;
-    private GestorTorneo gestorTorneo;
+    private volatile LibroHechizos libro;
+    private volatile ListadoMagos listado;
+    private volatile GestorTorneo gestorTorneo;
+
+    /**
+     * Vigilante del archivo de hechizos en modo de recarga en caliente, o
+     * {@code null} si el modo está apagado.
+     */
+    private VigilanteHechizos vigilanteHechizos;
+
+    /**
+     * Exportador de resultados activo, o {@code null} si no se está
+     * exportando.
+     */
+    private ExportadorResultados exportador;
+
+    /**
+     * Base de datos donde se guarda el historial de torneos, o {@code null}
+     * si la persistencia está apagada.
+     */
+    private RepositorioTorneos repositorio;
+
+    /**
+     * Archivo donde se guardan las líneas viejas del log de combate, o
+     * {@code null} si solo se conservan las que caben en pantalla.
+     */
+    private ArchivoLog archivoLog;
+
+    /**
+     * Exhibición de duelos en paralelo en curso, o {@code null} si no hay.
+     */
+    private ExhibicionDuelos exhibicion;
+
+    /**
+     * Máximo de duelos simultáneos de una exhibición; se puede cambiar con la
+     * propiedad del sistema {@code conjuros.duelosExhibicion}.
+     */
+    private static final int MAX_DUELOS_EXHIBICION = Integer.getInteger("conjuros.duelosExhibicion", 200);
+
+    /**
+     * Eventos entre dos claves de cada grabación: saltar a un turno aplica a
+     * lo sumo esta cantidad de eventos.
+     */
+    private static final int TURNOS_POR_CLAVE = 16;
+
+    /**
+     * Duelos grabados que se conservan para volver a verlos.
+     */
+    private static final int MAX_REPETICIONES = 1_000;
+
+    /**
+     * Grabaciones de los últimos duelos del torneo, de la más vieja a la más
+     * nueva. Se llena desde el hilo del duelo; se protege con su propio
+     * monitor.
+     */
+    private final Deque<GrabacionDuelo> repeticiones = new ArrayDeque<>();
 
     /**
      * Constructor principal. Inicializa la capa lógica y vincula la interfaz.
@@ -38,6 +103,18 @@ public class ControlLogica {
         this.cargador = new CargadorPropiedades();
         this.libro = new LibroHechizos();
         this.listado = new ListadoMagos();
+        String rutaExportacion = System.getProperty("conjuros.exportarResultados");
+        if (rutaExportacion != null && !rutaExportacion.isBlank()) {
+            exportarResultados(rutaExportacion);
+        }
+        String urlBaseDatos = System.getProperty("conjuros.bd");
+        if (urlBaseDatos != null && !urlBaseDatos.isBlank()) {
+            activarBaseDatos(urlBaseDatos);
+        }
+        String rutaLog = System.getProperty("conjuros.logCombate");
+        if (rutaLog != null && !rutaLog.isBlank()) {
+            activarLogCombate(rutaLog);
+        }
         this.cInterfaz = new ControlInterfaz(this);
     }
 
@@ -60,8 +137,7 @@ public class ControlLogica {
      */
     public boolean cargarMagos(String rutaArchivo) {
         try {
-            this.listado = cargador.cargarMagos(rutaArchivo);
-            if (datosListos()) inicializarTorneo();
+            publicarListado(cargador.cargarMagos(rutaArchivo));
             return true;
         } catch (IOException e) {
             System.err.println("Error al cargar magos: " + e.getMessage());
@@ -71,8 +147,7 @@ public class ControlLogica {
 
     public boolean cargarHechizos(String rutaArchivo) {
         try {
-            this.libro = cargador.cargarHechizos(rutaArchivo);
-            if (datosListos()) inicializarTorneo();
+            publicarLibro(cargador.cargarHechizos(rutaArchivo), rutaArchivo);
             return true;
         } catch (IOException e) {
             System.err.println("Error al cargar hechizos: " + e.getMessage());
@@ -80,9 +155,287 @@ public class ControlLogica {
         }
     }
 
-    private void inicializarTorneo() {
-        if (listado != null && libro != null)
+    /**
+     * Carga los magos informando el avance. Puede llamarse desde un hilo en
+     * segundo plano, a la vez que {@link #cargarHechizos(String, ProgresoCarga)};
+     * la lectura corre sin bloqueos y solo la publicación del resultado se
+     * sincroniza. Interrumpir el hilo cancela la carga; si la interrupción
+     * llega con el archivo ya leído, no se publica nada.
+     *
+     * @param rutaArchivo ruta del archivo de magos
+     * @param progreso receptor del avance (se invoca desde el hilo que carga)
+     * @throws java.io.InterruptedIOException si la carga fue cancelada
+     * @throws IOException si el archivo no se pudo cargar
+     */
+    public void cargarMagos(String rutaArchivo, ProgresoCarga progreso) throws IOException {
+        ListadoMagos nuevo = cargador.cargarMagos(rutaArchivo, progreso);
+        verificarNoCancelada();
+        publicarListado(nuevo);
+    }
+
+    /**
+     * Carga los hechizos informando el avance (ver
+     * {@link #cargarMagos(String, ProgresoCarga)}).
+     *
+     * @param rutaArchivo ruta del archivo de hechizos
+     * @param progreso receptor del avance (se invoca desde el hilo que carga)
+     * @throws java.io.InterruptedIOException si la carga fue cancelada
+     * @throws IOException si el archivo no se pudo cargar
+     */
+    public void cargarHechizos(String rutaArchivo, ProgresoCarga progreso) throws IOException {
+        LibroHechizos nuevo = cargador.cargarHechizos(rutaArchivo, progreso);
+        verificarNoCancelada();
+        publicarLibro(nuevo, rutaArchivo);
+    }
+
+    private static void verificarNoCancelada() throws InterruptedIOException {
+        if (Thread.currentThread().isInterrupted()) {
+            throw new InterruptedIOException("Carga cancelada");
+        }
+    }
+
+    private synchronized void publicarListado(ListadoMagos nuevo) {
+        this.listado = nuevo;
+        if (datosListos()) inicializarTorneo();
+    }
+
+    private synchronized void publicarLibro(LibroHechizos nuevo, String rutaArchivo) {
+        this.libro = nuevo;
+        if (datosListos()) inicializarTorneo();
+        if (rutaArchivo != null && Boolean.getBoolean("conjuros.recargaHechizos")) {
+            activarRecargaHechizos(rutaArchivo);
+        }
+    }
+
+    /**
+     * Activa el modo de recarga en caliente del archivo de hechizos.
+     * <p>
+     * Cada vez que el archivo cambia se carga un libro nuevo y se publica en
+     * el torneo en curso sin reiniciarlo: los duelos ya iniciados terminan con
+     * el libro anterior y los siguientes usan el nuevo. También se activa
+     * automáticamente al cargar hechizos si la propiedad del sistema
+     * {@code conjuros.recargaHechizos} vale {@code true}.
+     * </p>
+     *
+     * @param rutaArchivo archivo de hechizos a vigilar
+     * @return {@code true} si la vigilancia quedó activa
+     */
+    public synchronized boolean activarRecargaHechizos(String rutaArchivo) {
+        desactivarRecargaHechizos();
+        try {
+            vigilanteHechizos = new VigilanteHechizos(rutaArchivo, cargador, this::publicarHechizos);
+            vigilanteHechizos.iniciar();
+            return true;
+        } catch (IOException | IllegalArgumentException e) {
+            System.err.println("Error al vigilar hechizos: " + e.getMessage());
+            vigilanteHechizos = null;
+            return false;
+        }
+    }
+
+    /**
+     * Apaga el modo de recarga en caliente, si estaba activo.
+     */
+    public synchronized void desactivarRecargaHechizos() {
+        if (vigilanteHechizos != null) {
+            vigilanteHechizos.close();
+            vigilanteHechizos = null;
+        }
+    }
+
+    /**
+     * Publica un libro recargado: reemplaza el libro vigente y, si hay un
+     * torneo, se lo entrega sin reconstruirlo (también a la base de datos).
+     * Se sincroniza con las cargas para que un torneo recién armado no se
+     * quede con el libro anterior.
+     *
+     * @param nuevo libro de hechizos recargado
+     */
+    private synchronized void publicarHechizos(LibroHechizos nuevo) {
+        this.libro = nuevo;
+        if (gestorTorneo == null) {
+            if (datosListos()) inicializarTorneo();
+            return;
+        }
+        gestorTorneo.publicarLibro(nuevo);
+        if (repositorio != null) repositorio.cambiarHechizos(nuevo);
+    }
+
+    private synchronized void inicializarTorneo() {
+        if (listado != null && libro != null) {
             gestorTorneo = new GestorTorneo(listado, libro);
+            if (exportador != null) gestorTorneo.agregarOyenteResultados(exportador);
+            if (repositorio != null) {
+                repositorio.iniciarTorneo(listado, libro);
+                gestorTorneo.agregarOyenteResultados(repositorio);
+            }
+        }
+    }
+
+    /**
+     * Activa la persistencia del historial en una base de datos embebida en
+     * archivo (por ejemplo {@code jdbc:h2:file:./conjuros-torneos}). También
+     * se activa al arrancar si la propiedad del sistema {@code conjuros.bd}
+     * trae la URL. El controlador JDBC debe estar en el classpath.
+     *
+     * @param url URL JDBC de la base
+     * @return {@code true} si la base quedó abierta
+     */
+    public synchronized boolean activarBaseDatos(String url) {
+        desactivarBaseDatos();
+        try {
+            repositorio = new RepositorioTorneos(url);
+        } catch (IOException | IllegalArgumentException e) {
+            System.err.println("Error al abrir la base de datos: " + e.getMessage());
+            return false;
+        }
+        if (gestorTorneo != null) {
+            repositorio.iniciarTorneo(listado, libro);
+            gestorTorneo.agregarOyenteResultados(repositorio);
+        }
+        return true;
+    }
+
+    /**
+     * Guarda lo pendiente y cierra la base de datos, si estaba abierta.
+     */
+    public synchronized void desactivarBaseDatos() {
+        if (repositorio == null) return;
+        if (gestorTorneo != null) gestorTorneo.quitarOyenteResultados(repositorio);
+        try {
+            repositorio.close();
+        } catch (IOException e) {
+            System.err.println("Error al cerrar la base de datos: " + e.getMessage());
+        }
+        repositorio = null;
+    }
+
+    /**
+     * Historial de victorias por mago guardado en la base de datos.
+     *
+     * @param limite máximo de magos a devolver
+     * @return victorias por mago, de mayor a menor; vacío si la base está
+     * apagada o la consulta falla
+     */
+    public synchronized Map<String, Integer> getVictoriasHistoricas(int limite) {
+        if (repositorio == null) return Map.of();
+        try {
+            return repositorio.victoriasHistoricas(limite);
+        } catch (IOException e) {
+            System.err.println("Error al consultar la base de datos: " + e.getMessage());
+            return Map.of();
+        }
+    }
+
+    /**
+     * Empieza a exportar cada resultado del torneo al archivo indicado, en
+     * CSV o en JSONL según su extensión ({@code .jsonl} o {@code .json}). Si
+     * ya había una exportación activa, se cierra primero.
+     * También se activa al arrancar si la propiedad del sistema
+     * {@code conjuros.exportarResultados} trae la ruta.
+     *
+     * @param rutaArchivo archivo de salida
+     * @return {@code true} si la exportación quedó activa
+     */
+    public synchronized boolean exportarResultados(String rutaArchivo) {
+        detenerExportacion();
+        try {
+            exportador = new ExportadorResultados(Path.of(rutaArchivo));
+        } catch (IOException | IllegalArgumentException e) {
+            System.err.println("Error al exportar resultados: " + e.getMessage());
+            return false;
+        }
+        if (gestorTorneo != null) gestorTorneo.agregarOyenteResultados(exportador);
+        return true;
+    }
+
+    /**
+     * Cierra la exportación de resultados, si estaba activa, escribiendo lo
+     * que quedara pendiente.
+     */
+    public synchronized void detenerExportacion() {
+        if (exportador == null) return;
+        if (gestorTorneo != null) gestorTorneo.quitarOyenteResultados(exportador);
+        try {
+            exportador.close();
+        } catch (IOException e) {
+            System.err.println("Error al exportar resultados: " + e.getMessage());
+        }
+        exportador = null;
+    }
+
+    /**
+     * Empieza a guardar en un archivo (al final, si ya existe) las líneas que
+     * salen del log de combate en pantalla. También se activa al arrancar si
+     * la propiedad del sistema {@code conjuros.logCombate} trae la ruta.
+     *
+     * @param rutaArchivo archivo de texto de salida
+     * @return {@code true} si el archivo quedó abierto
+     */
+    public synchronized boolean activarLogCombate(String rutaArchivo) {
+        detenerLogCombate();
+        try {
+            archivoLog = new ArchivoLog(Path.of(rutaArchivo));
+        } catch (IOException | IllegalArgumentException e) {
+            System.err.println("Error al abrir el log de combate: " + e.getMessage());
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Destino de las líneas viejas del log de combate.
+     *
+     * @return archivo de log activo, o {@code null} si no hay
+     */
+    public synchronized Consumer<String> getDesbordeLog() {
+        return archivoLog;
+    }
+
+    /**
+     * Escribe lo pendiente y cierra el archivo del log de combate, si estaba
+     * abierto.
+     */
+    public synchronized void detenerLogCombate() {
+        if (archivoLog == null) return;
+        try {
+            archivoLog.close();
+        } catch (IOException e) {
+            System.err.println("Error al cerrar el log de combate: " + e.getMessage());
+        }
+        if (archivoLog.getLineasDescartadas() > 0) {
+            System.err.println("Error al guardar el log de combate: se descartaron "
+                    + archivoLog.getLineasDescartadas() + " líneas");
+        }
+        archivoLog = null;
+    }
+
+    /**
+     * Arranca una exhibición con los magos cargados: hasta
+     * {@code conjuros.duelosExhibicion} duelos a la vez, sin afectar el
+     * torneo. Si había otra exhibición, se detiene.
+     *
+     * @return exhibición en curso
+     * @throws IllegalStateException si faltan datos o magos
+     */
+    public synchronized ExhibicionDuelos iniciarExhibicion() {
+        detenerExhibicion();
+        try {
+            exhibicion = new ExhibicionDuelos(listado, libro, MAX_DUELOS_EXHIBICION);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalStateException(e.getMessage(), e);
+        }
+        exhibicion.iniciar();
+        return exhibicion;
+    }
+
+    /**
+     * Corta la exhibición en curso, si hay.
+     */
+    public synchronized void detenerExhibicion() {
+        if (exhibicion == null) return;
+        exhibicion.detener();
+        exhibicion = null;
     }
 
     /**
@@ -117,10 +470,13 @@ public class ControlLogica {
         if (!gestorTorneo.hayDueloDisponible())
             throw new IllegalStateException("No hay más duelos disponibles");
 
+        GestorTorneo gestor = gestorTorneo;
+        CampoDeDuelo.ObservadorDuelo grabador = new GrabadorDuelo(observador, TURNOS_POR_CLAVE,
+                gestor::getNumeroRonda, this::guardarRepeticion);
         SwingWorker<ResultadoDuelo, Void> worker = new SwingWorker<>() {
             @Override
             protected ResultadoDuelo doInBackground() {
-                return gestorTorneo.ejecutarSiguienteDueloConObservador(observador);
+                return gestor.ejecutarSiguienteDueloConObservador(grabador);
             }
 
             @Override
@@ -132,6 +488,26 @@ public class ControlLogica {
     }
 
 
+    private void guardarRepeticion(GrabacionDuelo grabacion) {
+        synchronized (repeticiones) {
+            if (repeticiones.size() == MAX_REPETICIONES) {
+                repeticiones.removeFirst();
+            }
+            repeticiones.addLast(grabacion);
+        }
+    }
+
+    /**
+     * Obtiene las grabaciones de los últimos duelos del torneo, ya cerradas.
+     *
+     * @return copia de las grabaciones, de la más vieja a la más nueva
+     */
+    public List<GrabacionDuelo> getRepeticiones() {
+        synchronized (repeticiones) {
+            return new ArrayList<>(repeticiones);
+        }
+    }
+
     /**
      * Metodos para la revisión del estado del torneo y pueda ejecutarse.
      * @return 
@@ -146,9 +522,12 @@ public class ControlLogica {
         return gestorTorneo != null && gestorTorneo.hayDueloDisponible();
     }
 
-    public void reiniciarTorneo() {
-        if (listado != null && libro != null)
-            gestorTorneo = new GestorTorneo(listado, libro);
+    public synchronized void reiniciarTorneo() {
+        if (gestorTorneo != null && listado != null) {
+            gestorTorneo.reiniciarTorneo(listado); // reutiliza la siembra en caché
+            if (repositorio != null) repositorio.iniciarTorneo(listado, libro);
+        } else
+            inicializarTorneo();
     }
 
     /**
@@ -180,6 +559,18 @@ public class ControlLogica {
     public GestorTorneo getGestorTorneo() {
         return gestorTorneo;
     }
+    /**
+     * Filtra los hechizos del libro vigente por el comienzo del nombre, para
+     * el buscador del panel de carga.
+     *
+     * @param prefijo texto escrito por el usuario
+     * @param limite máximo de resultados
+     * @return hechizos encontrados, en orden alfabético
+     */
+    public List<Hechizo> buscarHechizos(String prefijo, int limite) {
+        return libro.buscarPorPrefijo(prefijo, limite);
+    }
+
     /**
      * Getters para la información
      * @return libro
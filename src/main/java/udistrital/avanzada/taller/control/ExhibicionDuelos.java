@@ -0,0 +1,200 @@
+package udistrital.avanzada.taller.control;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import udistrital.avanzada.taller.modelo.*;
+import udistrital.avanzada.taller.vista.InstantaneaDuelos;
+
+/**
+ * Exhibición: muchos duelos jugados a la vez, fuera del torneo.
+ * <p>
+ * Los magos del listado se emparejan por posición (0 contra 1, 2 contra 3,
+ * ...) hasta {@code maxDuelos} duelos, y las parejas juegan su
+ * {@link CampoDeDuelo} en paralelo, hasta {@code paralelismo} a la vez. No
+ * hay observador por duelo: la vista lee el marcador de cada mago cuando lo
+ * necesita con {@link #muestrear(InstantaneaDuelos)}, así que el costo de
+ * mostrar la exhibición no crece con la cantidad de hechizos lanzados.
+ * </p>
+ *
+ * <p>
+ * Los resultados no se registran en el {@link GestorTorneo}.
+ * </p>
+ *
+ * @author Juan Sebastián Bravo Rojas
+ * @version 1.0
+ * @since 2026-10-19
+ */
+public class ExhibicionDuelos {
+
+    private final Mago[] magos1;
+    private final Mago[] magos2;
+    /** Nombres leídos una sola vez, para no tocarlos en cada muestra. */
+    private final String[] nombres1;
+    private final String[] nombres2;
+    private final CampoDeDuelo[] campos;
+    /** Estado de cada duelo, con las constantes de {@link InstantaneaDuelos}. */
+    private final AtomicIntegerArray estados;
+    private final ResultadoDuelo[] resultados;
+    private final ExecutorService ejecutor;
+    private volatile boolean detenida;
+
+    /**
+     * Prepara una exhibición con todos los duelos a la vez, al azar y en
+     * tiempo real; los duelos empiezan con {@link #iniciar()}.
+     *
+     * @param listado magos participantes
+     * @param libro libro de hechizos de todos los duelos
+     * @param maxDuelos máximo de duelos
+     * @throws IllegalArgumentException si faltan datos o no alcanza para un
+     * duelo
+     */
+    public ExhibicionDuelos(ListadoMagos listado, LibroHechizos libro, int maxDuelos) {
+        this(listado, libro, maxDuelos, maxDuelos, System.nanoTime(), false);
+    }
+
+    /**
+     * Prepara la exhibición; los duelos empiezan con {@link #iniciar()}.
+     *
+     * @param listado magos participantes
+     * @param libro libro de hechizos de todos los duelos
+     * @param maxDuelos máximo de duelos
+     * @param paralelismo máximo de duelos jugándose a la vez
+     * @param semilla semilla base; el duelo {@code i} usa
+     * {@link CampoDeDuelo#derivarSemilla(long, long)} con {@code i}
+     * @param turbo {@code true} para jugar sin pausas
+     * @throws IllegalArgumentException si faltan datos o no alcanza para un
+     * duelo
+     */
+    public ExhibicionDuelos(ListadoMagos listado, LibroHechizos libro, int maxDuelos,
+            int paralelismo, long semilla, boolean turbo) {
+        if (listado == null || libro == null || libro.getHechizos().isEmpty()) {
+            throw new IllegalArgumentException("Faltan magos o hechizos para la exhibición");
+        }
+        AlmacenMagos almacen = listado.getAlmacen();
+        int n = Math.min(almacen.tamano() / 2, Math.max(maxDuelos, 0));
+        if (n == 0) {
+            throw new IllegalArgumentException("No hay suficientes magos para la exhibición");
+        }
+        this.magos1 = new Mago[n];
+        this.magos2 = new Mago[n];
+        this.nombres1 = new String[n];
+        this.nombres2 = new String[n];
+        this.campos = new CampoDeDuelo[n];
+        this.estados = new AtomicIntegerArray(n);
+        this.resultados = new ResultadoDuelo[n];
+        for (int i = 0; i < n; i++) {
+            magos1[i] = almacen.crearMago(2 * i);
+            magos2[i] = almacen.crearMago(2 * i + 1);
+            nombres1[i] = magos1[i].getNombre();
+            nombres2[i] = magos2[i].getNombre();
+            campos[i] = new CampoDeDuelo(magos1[i], magos2[i], libro,
+                    CampoDeDuelo.derivarSemilla(semilla, i), turbo);
+        }
+        // Cada duelo bloquea su hilo mientras espera a los dos magos
+        AtomicInteger numero = new AtomicInteger();
+        this.ejecutor = Executors.newFixedThreadPool(Math.max(1, Math.min(n, paralelismo)), r -> {
+            Thread t = new Thread(r, "Exhibicion-" + numero.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /**
+     * Arranca todos los duelos; no espera a que terminen.
+     */
+    public void iniciar() {
+        for (int i = 0; i < campos.length; i++) {
+            final int duelo = i;
+            ejecutor.execute(() -> jugar(duelo));
+        }
+        ejecutor.shutdown();
+    }
+
+    private void jugar(int i) {
+        if (detenida) {
+            estados.set(i, InstantaneaDuelos.DETENIDO);
+            return;
+        }
+        ResultadoDuelo resultado;
+        try {
+            resultado = campos[i].iniciar();
+        } catch (RuntimeException e) {
+            System.err.println("Error en el duelo de exhibición: " + e.getMessage());
+            estados.set(i, InstantaneaDuelos.DETENIDO);
+            return;
+        }
+        Mago ganador = resultado.getGanador();
+        resultado.setRonda(i + 1);
+        resultados[i] = resultado;
+        estados.set(i, ganador == null ? InstantaneaDuelos.DETENIDO
+                : ganador == magos1[i] ? InstantaneaDuelos.GANA_1 : InstantaneaDuelos.GANA_2);
+    }
+
+    /**
+     * Corta los duelos que sigan en curso; quedan sin ganador.
+     */
+    public void detener() {
+        detenida = true;
+        for (CampoDeDuelo campo : campos) {
+            campo.detener();
+        }
+    }
+
+    /**
+     * Copia el estado de todos los duelos. Cada mago se lee con una sola
+     * lectura de su marcador, así que puntos y estado son coherentes por
+     * mago; no bloquea a los hilos de los duelos.
+     *
+     * @param destino instantánea a llenar
+     */
+    public void muestrear(InstantaneaDuelos destino) {
+        int n = campos.length;
+        destino.preparar(n, CampoDeDuelo.META_PUNTOS);
+        for (int i = 0; i < n; i++) {
+            Mago m1 = magos1[i];
+            Mago m2 = magos2[i];
+            destino.setDuelo(i, nombres1[i], nombres2[i],
+                    Mago.puntosDe(m1.getMarcador()), Mago.puntosDe(m2.getMarcador()),
+                    m1.estaAturdido(), m2.estaAturdido(), estados.get(i));
+        }
+    }
+
+    /**
+     * Espera a que terminen todos los duelos.
+     *
+     * @return resultados con ganador, en orden de duelo (la ronda de cada uno
+     * es su número de duelo)
+     * @throws InterruptedException si se interrumpe la espera
+     */
+    public List<ResultadoDuelo> esperar() throws InterruptedException {
+        while (!ejecutor.awaitTermination(1, TimeUnit.MINUTES)) {
+            // sigue esperando
+        }
+        List<ResultadoDuelo> lista = new ArrayList<>(resultados.length);
+        for (ResultadoDuelo r : resultados) {
+            if (r != null && r.getGanador() != null) {
+                lista.add(r);
+            }
+        }
+        return lista;
+    }
+
+    /**
+     * @return cantidad de duelos de la exhibición
+     */
+    public int getCantidadDuelos() {
+        return campos.length;
+    }
+
+    /**
+     * @return {@code true} si ya no queda ningún duelo en curso
+     */
+    public boolean terminada() {
+        return ejecutor.isTerminated();
+    }
+}
@@ -5,9 +5,11 @@
 package udistrital.avanzada.taller.control;
 
 import java.util.ArrayList;
-import java.util.LinkedList;
+import java.util.Arrays;
 import java.util.List;
-import java.util.Queue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
 import udistrital.avanzada.taller.modelo.*;
 
 /**
@@ -39,6 +41,13 @@ import udistrital.avanzada.taller.modelo.*;
  * </p>
  *
  * <p>
+ * Los magos se manejan por su posición en el {@link AlmacenMagos} del listado:
+ * la cola y el registro de parejas son arreglos de enteros, y solo los dos
+ * magos del duelo en curso existen como objetos {@link Mago} (con su estado
+ * de combate).
+ * </p>
+ *
+ * <p>
  * Creada por Juan Ariza y modificada por Paula Martínez.
  * </p>
  *
@@ -49,9 +58,15 @@ import udistrital.avanzada.taller.modelo.*;
 public class GestorTorneo {
 
     /**
-     * Cola de magos que esperan su turno para participar en un duelo.
+     * Cola de magos (posiciones en el almacén) que esperan su turno para
+     * participar en un duelo.
      */
-    private final Queue<Mago> colaMagos;
+    private final ColaIndices colaMagos;
+
+    /**
+     * Magos del listado en juego, en columnas.
+     */
+    private AlmacenMagos almacen;
 
     /**
      * Lista con el historial completo de duelos realizados.
@@ -59,9 +74,10 @@ public class GestorTorneo {
     private final List<ResultadoDuelo> historialDuelos;
 
     /**
-     * Libro de hechizos que se utiliza en cada duelo.
+     * Libro de hechizos vigente. Cada duelo toma el libro al crearse, así que
+     * publicar uno nuevo no afecta a los duelos en curso.
      */
-    private final LibroHechizos libro;
+    private final AtomicReference<LibroHechizos> libro;
 
     /**
      * Mago que actualmente ostenta el título de campeón.
@@ -76,27 +92,83 @@ public class GestorTorneo {
     /**
      * Registro de las parejas de magos que ya se han enfrentado.
      */
-    private final java.util.Set<String> parejasJugadas = new java.util.HashSet<>();
+    private final ConjuntoParejas parejasJugadas = new ConjuntoParejas();
+
+    /**
+     * Etapa de siembra que ordena la cola por rating (con caché entre
+     * reinicios).
+     */
+    private final SembradorTorneo sembrador = new SembradorTorneo();
+
+    /**
+     * Cantidad de cupos del torneo; {@code 0} significa que entran todos los
+     * magos del listado.
+     */
+    private final int cupos;
+
+    /**
+     * Oyentes que reciben cada resultado registrado.
+     */
+    private final List<Consumer<ResultadoDuelo>> oyentesResultados = new CopyOnWriteArrayList<>();
+
+    /**
+     * Diccionario de casas del listado en juego.
+     */
+    private TablaCasas tablaCasas;
+
+    /**
+     * Duelos ganados por cada casa, indexados por código de casa.
+     */
+    private int[] victoriasPorCasa;
+
+    /**
+     * Semilla base de los duelos; cada duelo usa una derivada de esta y de su
+     * número de ronda (ver {@link CampoDeDuelo#derivarSemilla(long, long)}).
+     */
+    private volatile long semilla = System.nanoTime();
+
+    /**
+     * Duelos sin pausas entre lanzamientos.
+     */
+    private volatile boolean turbo;
 
     /**
      * Crea un nuevo gestor de torneo con un listado de magos y un libro de
-     * hechizos.
+     * hechizos. Entran todos los magos, sembrados por rating.
      *
      * @param listadoMagos lista de magos participantes
      * @param libro libro de hechizos disponible para los duelos
      * @throws IllegalArgumentException si alguno de los parámetros es nulo
      */
     public GestorTorneo(ListadoMagos listadoMagos, LibroHechizos libro) {
-        if (listadoMagos == null || listadoMagos.getMagos() == null) {
+        this(listadoMagos, libro, 0);
+    }
+
+    /**
+     * Crea un nuevo gestor de torneo en el que solo entran los {@code cupos}
+     * magos con mayor rating.
+     *
+     * @param listadoMagos lista de magos participantes
+     * @param libro libro de hechizos disponible para los duelos
+     * @param cupos cantidad de magos que entran al torneo ({@code <= 0} para
+     * todos)
+     * @throws IllegalArgumentException si alguno de los parámetros es nulo
+     */
+    public GestorTorneo(ListadoMagos listadoMagos, LibroHechizos libro, int cupos) {
+        if (listadoMagos == null) {
             throw new IllegalArgumentException("El listado de magos no puede ser nulo");
         }
         if (libro == null) {
             throw new IllegalArgumentException("El libro de hechizos no puede ser nulo");
         }
 
-        this.colaMagos = new LinkedList<>(listadoMagos.getMagos());
+        this.cupos = Math.max(cupos, 0);
+        this.colaMagos = new ColaIndices(sembrador.sembrarIndices(listadoMagos, this.cupos));
+        this.almacen = listadoMagos.getAlmacen();
+        this.tablaCasas = almacen.getTablaCasas();
+        this.victoriasPorCasa = new int[tablaCasas.tamano()];
         this.historialDuelos = new ArrayList<>();
-        this.libro = libro;
+        this.libro = new AtomicReference<>(libro);
         this.campeonActual = null;
         this.numeroRonda = 0;
     }
@@ -137,17 +209,18 @@ public class GestorTorneo {
         Mago mago2;
 
         if (campeonActual == null) {
-            mago1 = colaMagos.poll();
-            mago2 = colaMagos.poll();
+            mago1 = almacen.crearMago(colaMagos.poll());
+            mago2 = almacen.crearMago(colaMagos.poll());
             numeroRonda = 1;
         } else {
             mago1 = campeonActual;
-            mago2 = seleccionarRivalNoRepetido(mago1);
+            int rival = seleccionarRivalNoRepetido(mago1.getIndice());
 
-            if (mago2 == null) {
+            if (rival < 0) {
                 // Política de fallback: si no hay rivales nuevos, se permite repetición
-                mago2 = colaMagos.poll();
+                rival = colaMagos.poll();
             }
+            mago2 = almacen.crearMago(rival);
             numeroRonda++;
         }
 
@@ -158,16 +231,17 @@ public class GestorTorneo {
      * Selecciona el siguiente rival del campeón actual que aún no haya sido
      * enfrentado.
      *
-     * @param campeon mago que mantiene el título actual
-     * @return un nuevo rival, o {@code null} si todos ya fueron enfrentados
+     * @param campeon posición del mago que mantiene el título actual
+     * @return posición del nuevo rival, o {@code -1} si todos ya fueron
+     * enfrentados
      */
-    private Mago seleccionarRivalNoRepetido(Mago campeon) {
+    private int seleccionarRivalNoRepetido(int campeon) {
         if (colaMagos.isEmpty()) {
-            return null;
+            return -1;
         }
         int n = colaMagos.size();
         for (int i = 0; i < n; i++) {
-            Mago cand = colaMagos.poll(); // saca el primero
+            int cand = colaMagos.poll(); // saca el primero
             if (!yaJugaron(campeon, cand)) {
                 //Este no ha jugado contra el campeón: lo usamos
                 return cand;
@@ -176,41 +250,41 @@ public class GestorTorneo {
                 colaMagos.offer(cand);
             }
         }
-        return null; // no hay opción sin repetición
+        return -1; // no hay opción sin repetición
     }
 
     /**
      * Verifica si dos magos ya se han enfrentado previamente.
      *
-     * @param a primer mago
-     * @param b segundo mago
+     * @param a posición del primer mago
+     * @param b posición del segundo mago
      * @return {@code true} si la pareja ya aparece registrada, {@code false} si
      * no
      */
-    private boolean yaJugaron(Mago a, Mago b) {
+    private boolean yaJugaron(int a, int b) {
         return parejasJugadas.contains(llave(a, b));
     }
 
     /**
      * Registra una pareja de magos como enfrentada.
      *
-     * @param a primer mago
-     * @param b segundo mago
+     * @param a posición del primer mago
+     * @param b posición del segundo mago
      */
-    private void registrarPareja(Mago a, Mago b) {
+    private void registrarPareja(int a, int b) {
         parejasJugadas.add(llave(a, b));
     }
 
     /**
      * Crea una clave única y simétrica que representa un enfrentamiento.
      *
-     * @param a primer mago
-     * @param b segundo mago
-     * @return cadena única en formato “nombre1 vs nombre2”
+     * @param a posición del primer mago
+     * @param b posición del segundo mago
+     * @return la posición menor en los 32 bits altos y la mayor en los bajos
      */
-    private String llave(Mago a, Mago b) {
-        String n1 = a.getNombre(), n2 = b.getNombre();
-        return (n1.compareTo(n2) < 0) ? (n1 + " vs " + n2) : (n2 + " vs " + n1);
+    private static long llave(int a, int b) {
+        int menor = Math.min(a, b), mayor = Math.max(a, b);
+        return ((long) menor << 32) | (mayor & 0xFFFFFFFFL);
     }
 
     /**
@@ -220,10 +294,62 @@ public class GestorTorneo {
      * @param resultado resultado final del duelo a registrar
      */
     private void registrarResultado(ResultadoDuelo resultado) {
+        resultado.setRonda(numeroRonda);
         historialDuelos.add(resultado);
         campeonActual = resultado.getGanador();
+        contarVictoria(campeonActual);
         // ✅ registra la pareja jugada
-        registrarPareja(resultado.getGanador(), resultado.getPerdedor());
+        registrarPareja(resultado.getGanador().getIndice(), resultado.getPerdedor().getIndice());
+
+        for (Consumer<ResultadoDuelo> oyente : oyentesResultados) {
+            try {
+                oyente.accept(resultado);
+            } catch (RuntimeException e) {
+                // Un exportador caído no debe detener el torneo.
+                System.err.println("Error al notificar resultado: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Registra un oyente que recibe cada resultado apenas se registra (por
+     * ejemplo, un exportador). Se invoca en el hilo del duelo, así que debe
+     * ser rápido y no bloquear.
+     *
+     * @param oyente receptor de los resultados
+     * @throws IllegalArgumentException si el oyente es nulo
+     */
+    public void agregarOyenteResultados(Consumer<ResultadoDuelo> oyente) {
+        if (oyente == null) {
+            throw new IllegalArgumentException("El oyente no puede ser nulo");
+        }
+        oyentesResultados.add(oyente);
+    }
+
+    /**
+     * Quita un oyente registrado con {@link #agregarOyenteResultados}.
+     *
+     * @param oyente receptor a quitar
+     */
+    public void quitarOyenteResultados(Consumer<ResultadoDuelo> oyente) {
+        oyentesResultados.remove(oyente);
+    }
+
+    /**
+     * Suma una victoria a la casa del ganador, usando su código como índice.
+     *
+     * @param ganador mago que ganó el duelo
+     */
+    private void contarVictoria(Mago ganador) {
+        int indice = ganador.getIndice();
+        if (indice < 0 || indice >= almacen.tamano()) {
+            return; // mago fuera del listado en juego
+        }
+        int codigo = almacen.codigoCasa(indice);
+        if (codigo >= victoriasPorCasa.length) {
+            victoriasPorCasa = Arrays.copyOf(victoriasPorCasa, tablaCasas.tamano());
+        }
+        victoriasPorCasa[codigo]++;
     }
 
     /**
@@ -235,7 +361,7 @@ public class GestorTorneo {
     public ResultadoDuelo ejecutarSiguienteDuelo() {
         Mago[] contendientes = obtenerSiguienteDuelo();
 
-        CampoDeDuelo duelo = new CampoDeDuelo(contendientes[0], contendientes[1], libro);
+        CampoDeDuelo duelo = crearDuelo(contendientes);
         ResultadoDuelo resultado = duelo.iniciar();
 
         registrarResultado(resultado);
@@ -253,7 +379,7 @@ public class GestorTorneo {
     public ResultadoDuelo ejecutarSiguienteDueloConObservador(CampoDeDuelo.ObservadorDuelo observador) {
         Mago[] contendientes = obtenerSiguienteDuelo();
 
-        CampoDeDuelo duelo = new CampoDeDuelo(contendientes[0], contendientes[1], libro);
+        CampoDeDuelo duelo = crearDuelo(contendientes);
         duelo.setObservador(observador);
         ResultadoDuelo resultado = duelo.iniciar();
 
@@ -262,6 +388,76 @@ public class GestorTorneo {
         return resultado;
     }
 
+    private CampoDeDuelo crearDuelo(Mago[] contendientes) {
+        return new CampoDeDuelo(contendientes[0], contendientes[1], libro.get(),
+                CampoDeDuelo.derivarSemilla(semilla, numeroRonda), turbo);
+    }
+
+    /**
+     * Fija la semilla de los duelos: con la misma semilla, listado y libro,
+     * el torneo se repite igual.
+     *
+     * @param semilla semilla base del torneo
+     */
+    public void setSemilla(long semilla) {
+        this.semilla = semilla;
+    }
+
+    /**
+     * Activa o desactiva el modo turbo: los duelos siguientes se juegan sin
+     * pausas entre lanzamientos.
+     *
+     * @param turbo {@code true} para simular sin pausas
+     */
+    public void setTurbo(boolean turbo) {
+        this.turbo = turbo;
+    }
+
+    /**
+     * Publica un nuevo libro de hechizos sin detener el torneo.
+     * <p>
+     * El cambio es atómico: los duelos en curso terminan con el libro con el
+     * que empezaron y los siguientes usan el nuevo.
+     * </p>
+     *
+     * @param nuevo libro de hechizos a usar desde el próximo duelo
+     * @throws IllegalArgumentException si el libro es nulo o no tiene
+     * hechizos
+     */
+    public void publicarLibro(LibroHechizos nuevo) {
+        if (nuevo == null || nuevo.getHechizos() == null || nuevo.getHechizos().isEmpty()) {
+            throw new IllegalArgumentException("El libro de hechizos no puede ser nulo ni estar vacío");
+        }
+        libro.set(nuevo);
+    }
+
+    /**
+     * Obtiene el libro de hechizos vigente.
+     *
+     * @return libro que usará el próximo duelo
+     */
+    public LibroHechizos getLibro() {
+        return libro.get();
+    }
+
+    /**
+     * Obtiene los duelos ganados por cada casa.
+     *
+     * @return arreglo indexado por código de casa (ver {@link #getTablaCasas()})
+     */
+    public int[] getVictoriasPorCasa() {
+        return victoriasPorCasa.clone();
+    }
+
+    /**
+     * Obtiene el diccionario de casas del listado en juego.
+     *
+     * @return tabla de casas del torneo
+     */
+    public TablaCasas getTablaCasas() {
+        return tablaCasas;
+    }
+
     /**
      * Obtiene el campeón actual del torneo.
      *
@@ -315,21 +511,148 @@ public class GestorTorneo {
 
     /**
      * Reinicia el torneo con una nueva lista de magos.
+     * <p>
+     * Si el listado es el mismo que se sembró antes, la siembra se toma de la
+     * caché del {@link SembradorTorneo} sin volver a ordenar.
+     * </p>
      *
      * @param listadoMagos nueva lista de magos participantes
      */
     public void reiniciarTorneo(ListadoMagos listadoMagos) {
-        if (listadoMagos == null || listadoMagos.getMagos() == null) {
+        if (listadoMagos == null) {
             throw new IllegalArgumentException("El listado de magos no puede ser nulo");
         }
 
-        colaMagos.clear();
-        colaMagos.addAll(listadoMagos.getMagos());
+        colaMagos.reiniciar(sembrador.sembrarIndices(listadoMagos, cupos));
         historialDuelos.clear();
+        parejasJugadas.clear();
+        almacen = listadoMagos.getAlmacen();
+        tablaCasas = almacen.getTablaCasas();
+        victoriasPorCasa = new int[tablaCasas.tamano()];
         campeonActual = null;
         numeroRonda = 0;
     }
 
+    // ------------------------------------------------------------
+    //   CLASES INTERNAS: cola y parejas por posición
+    // ------------------------------------------------------------
+    /**
+     * Cola circular de posiciones de magos, sin objetos por elemento.
+     */
+    private static final class ColaIndices {
+
+        private int[] datos;
+        private int cabeza;
+        private int tamano;
+
+        ColaIndices(int[] iniciales) {
+            this.datos = new int[Math.max(iniciales.length, 2)];
+            reiniciar(iniciales);
+        }
+
+        void reiniciar(int[] iniciales) {
+            if (datos.length < iniciales.length) {
+                datos = new int[iniciales.length];
+            }
+            System.arraycopy(iniciales, 0, datos, 0, iniciales.length);
+            cabeza = 0;
+            tamano = iniciales.length;
+        }
+
+        int poll() {
+            if (tamano == 0) {
+                throw new IllegalStateException("No hay magos en la cola");
+            }
+            int valor = datos[cabeza];
+            cabeza = (cabeza + 1) % datos.length;
+            tamano--;
+            return valor;
+        }
+
+        void offer(int valor) {
+            if (tamano == datos.length) {
+                int[] nuevos = new int[datos.length * 2];
+                for (int i = 0; i < tamano; i++) {
+                    nuevos[i] = datos[(cabeza + i) % datos.length];
+                }
+                datos = nuevos;
+                cabeza = 0;
+            }
+            datos[(cabeza + tamano) % datos.length] = valor;
+            tamano++;
+        }
+
+        int size() {
+            return tamano;
+        }
+
+        boolean isEmpty() {
+            return tamano == 0;
+        }
+    }
+
+    /**
+     * Conjunto de parejas ya jugadas con direccionamiento abierto sobre un
+     * arreglo de {@code long}.
+     */
+    private static final class ConjuntoParejas {
+
+        private static final long VACIO = -1L;
+
+        private long[] tabla = nuevaTabla(64);
+        private int tamano;
+
+        private static long[] nuevaTabla(int capacidad) {
+            long[] t = new long[capacidad];
+            Arrays.fill(t, VACIO);
+            return t;
+        }
+
+        private static int ranura(long llave, int mascara) {
+            long h = llave * 0x9E3779B97F4A7C15L;
+            return (int) (h >>> 32) & mascara;
+        }
+
+        boolean contains(long llave) {
+            int mascara = tabla.length - 1;
+            for (int i = ranura(llave, mascara); ; i = (i + 1) & mascara) {
+                long actual = tabla[i];
+                if (actual == llave) return true;
+                if (actual == VACIO) return false;
+            }
+        }
+
+        void add(long llave) {
+            if ((tamano + 1) * 2 > tabla.length) {
+                long[] vieja = tabla;
+                tabla = nuevaTabla(vieja.length * 2);
+                tamano = 0;
+                for (long l : vieja) {
+                    if (l != VACIO) insertar(l);
+                }
+            }
+            insertar(llave);
+        }
+
+        private void insertar(long llave) {
+            int mascara = tabla.length - 1;
+            for (int i = ranura(llave, mascara); ; i = (i + 1) & mascara) {
+                long actual = tabla[i];
+                if (actual == llave) return;
+                if (actual == VACIO) {
+                    tabla[i] = llave;
+                    tamano++;
+                    return;
+                }
+            }
+        }
+
+        void clear() {
+            tabla = nuevaTabla(64);
+            tamano = 0;
+        }
+    }
+
     // ------------------------------------------------------------
     //   CLASE INTERNA: Estadísticas del torneo
     // ------------------------------------------------------------
@@ -0,0 +1,86 @@
+package udistrital.avanzada.taller.control;
+
+import java.util.function.Consumer;
+import java.util.function.IntSupplier;
+import udistrital.avanzada.taller.modelo.*;
+
+/**
+ * Observador que graba un duelo en una {@link GrabacionDuelo} y reenvía cada
+ * evento a otro observador (normalmente, el que actualiza la vista).
+ * <p>
+ * Los eventos llegan con el monitor del {@link CampoDeDuelo} tomado, así que
+ * la grabación no necesita sincronización propia. Al terminar el duelo la
+ * grabación se cierra y se entrega al destino, que debe publicarla a los
+ * demás hilos (por ejemplo, en una colección sincronizada).
+ * </p>
+ *
+ * @author Juan Sebastián Bravo Rojas
+ * @version 1.0
+ * @since 2026-10-19
+ */
+class GrabadorDuelo implements CampoDeDuelo.ObservadorDuelo {
+
+    private final CampoDeDuelo.ObservadorDuelo siguiente;
+    private final int turnosPorClave;
+    private final IntSupplier ronda;
+    private final Consumer<GrabacionDuelo> destino;
+    private Mago mago1;
+    private Mago mago2;
+    private GrabacionDuelo grabacion;
+
+    /**
+     * @param siguiente observador al que se reenvían los eventos, o
+     * {@code null}
+     * @param turnosPorClave eventos entre dos claves de la grabación
+     * @param ronda ronda del duelo (el resultado la recibe después de
+     * {@link #onFinDuelo})
+     * @param destino recibe la grabación cuando el duelo termina
+     */
+    GrabadorDuelo(CampoDeDuelo.ObservadorDuelo siguiente, int turnosPorClave, IntSupplier ronda,
+            Consumer<GrabacionDuelo> destino) {
+        this.siguiente = siguiente;
+        this.turnosPorClave = turnosPorClave;
+        this.ronda = ronda;
+        this.destino = destino;
+    }
+
+    private int lado(Mago mago) {
+        return mago == mago1 ? 0 : 1;
+    }
+
+    @Override
+    public void onInicioDuelo(Mago m1, Mago m2) {
+        this.mago1 = m1;
+        this.mago2 = m2;
+        this.grabacion = new GrabacionDuelo(m1.getNombre(), m2.getNombre(), turnosPorClave);
+        if (siguiente != null) siguiente.onInicioDuelo(m1, m2);
+    }
+
+    @Override
+    public void onHechizoLanzado(Mago mago, Hechizo hechizo, int puntosActuales) {
+        // El efecto pudo cambiar también los puntos del rival: se graban los dos
+        grabacion.registrarHechizo(lado(mago), hechizo.getNombre(),
+                mago1.getPuntosAcumulados(), mago2.getPuntosAcumulados());
+        if (siguiente != null) siguiente.onHechizoLanzado(mago, hechizo, puntosActuales);
+    }
+
+    @Override
+    public void onMagoAturdido(Mago mago) {
+        grabacion.registrarAturdido(lado(mago));
+        if (siguiente != null) siguiente.onMagoAturdido(mago);
+    }
+
+    @Override
+    public void onMagoRecupera(Mago mago) {
+        grabacion.registrarRecupera(lado(mago));
+        if (siguiente != null) siguiente.onMagoRecupera(mago);
+    }
+
+    @Override
+    public void onFinDuelo(ResultadoDuelo resultado) {
+        Mago ganador = resultado.getGanador();
+        grabacion.terminar(ronda.getAsInt(), ganador == null ? -1 : lado(ganador));
+        destino.accept(grabacion);
+        if (siguiente != null) siguiente.onFinDuelo(resultado);
+    }
+}
@@ -1,5 +1,7 @@
 package udistrital.avanzada.taller.control;
 
+import udistrital.avanzada.taller.vista.CacheImagenes;
+
 /**
  * Clase principal del proyecto <b>ConjurosConHilos</b>.
  * <p>
@@ -24,12 +26,25 @@ public class Launcher {
      * Método principal que inicia la aplicación.
      * <p>
      * Crea una nueva instancia de {@code ControlLogica}, que gestiona la lógica
-     * central del programa y el flujo de ejecución inicial del simulador.
+     * central del programa y el flujo de ejecución inicial del simulador. Antes
+     * deja decodificando las imágenes en segundo plano para que estén listas
+     * cuando se muestre la ventana.
+     * </p>
+     *
+     * <p>
+     * Si se pasan argumentos, se corre en cambio el torneo sin interfaz de
+     * {@link LauncherConsola} (por ejemplo en un servidor).
      * </p>
      *
-     * @param args argumentos de línea de comandos (no utilizados)
+     * @param args argumentos de {@link LauncherConsola}, o ninguno para abrir
+     * la interfaz gráfica
      */
     public static void main(String[] args) {
+        if (args.length > 0) {
+            LauncherConsola.main(args);
+            return;
+        }
+        CacheImagenes.precargarInterfaz();
         new ControlLogica();
     }
 }
@@ -0,0 +1,302 @@
+package udistrital.avanzada.taller.control;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.function.Consumer;
+import udistrital.avanzada.taller.modelo.*;
+import udistrital.avanzada.taller.modelo.persistencia.CargadorPropiedades;
+import udistrital.avanzada.taller.modelo.persistencia.ExportadorResultados;
+
+/**
+ * Punto de entrada sin interfaz gráfica, para correr torneos en servidores.
+ * <p>
+ * Carga los archivos indicados con {@link CargadorPropiedades}, juega el
+ * torneo con {@link GestorTorneo} (o una {@link ExhibicionDuelos}) y escribe
+ * los resultados en la salida estándar y, si se pide, en un archivo CSV o
+ * JSONL con {@link ExportadorResultados}. No pasa por {@link ControlLogica}
+ * ni por la vista, así que no carga clases de AWT ni de Swing y funciona con
+ * {@code -Djava.awt.headless=true}.
+ * </p>
+ *
+ * <p>
+ * <b>Ejemplo:</b></p>
+ * <pre>
+ * java -cp conjuros.jar udistrital.avanzada.taller.control.LauncherConsola \
+ *     --magos magos.properties --hechizos hechizos.properties \
+ *     --modo torneo --semilla 42 --exportar resultados.csv
+ * </pre>
+ *
+ * <p>
+ * Por defecto los duelos se juegan en modo turbo (sin pausas entre
+ * lanzamientos); {@code --pausas} conserva el ritmo de la interfaz. Con
+ * {@code --semilla} el torneo completo es reproducible.
+ * </p>
+ *
+ * @author Paula Martínez
+ * @version 1.0
+ * @since 2026-10-19
+ */
+public final class LauncherConsola {
+
+    /** Código de salida cuando todo salió bien. */
+    static final int SALIDA_OK = 0;
+    /** Código de salida cuando no se pudieron cargar o exportar los datos. */
+    static final int SALIDA_ERROR = 1;
+    /** Código de salida cuando los argumentos no son válidos. */
+    static final int SALIDA_USO = 2;
+
+    private static final String USO = String.join(System.lineSeparator(),
+            "Uso: LauncherConsola --magos <ruta> --hechizos <ruta> [opciones]",
+            "",
+            "  --modo torneo|exhibicion  torneo del campeón (por defecto) o duelos en paralelo",
+            "  --semilla <n>             semilla para repetir exactamente el mismo torneo",
+            "  --paralelo <n>            hilos de carga y duelos simultáneos en exhibición",
+            "                            (por defecto, los núcleos disponibles)",
+            "  --cupos <n>               torneo: solo entran los n magos con mayor rating",
+            "  --duelos <n>              exhibición: máximo de duelos (por defecto, todos)",
+            "  --exportar <ruta>         guarda los resultados (.csv, o .jsonl para JSONL)",
+            "  --pausas                  juega con las pausas de la interfaz (sin turbo)",
+            "  --silencioso              solo imprime el resumen final",
+            "  --ayuda                   muestra este mensaje");
+
+    private LauncherConsola() {
+    }
+
+    /**
+     * Corre el torneo descrito por los argumentos y termina la JVM con el
+     * código de salida correspondiente.
+     *
+     * @param args argumentos de línea de comandos (ver {@code --ayuda})
+     */
+    public static void main(String[] args) {
+        System.exit(ejecutar(args, System.out, System.err));
+    }
+
+    /**
+     * Corre el torneo descrito por los argumentos.
+     *
+     * @param args argumentos de línea de comandos
+     * @param salida destino de los resultados
+     * @param errores destino de los mensajes de error
+     * @return {@link #SALIDA_OK}, {@link #SALIDA_ERROR} o {@link #SALIDA_USO}
+     */
+    static int ejecutar(String[] args, PrintStream salida, PrintStream errores) {
+        Opciones op;
+        try {
+            op = Opciones.leer(args);
+        } catch (IllegalArgumentException e) {
+            errores.println("Error en los argumentos: " + e.getMessage());
+            errores.println(USO);
+            return SALIDA_USO;
+        }
+        if (op.ayuda) {
+            salida.println(USO);
+            return SALIDA_OK;
+        }
+
+        CargadorPropiedades cargador = new CargadorPropiedades();
+        ListadoMagos listado;
+        LibroHechizos libro;
+        long inicio = System.nanoTime();
+        try {
+            listado = cargador.cargarMagosParalelo(op.magos, op.paralelo);
+            libro = cargador.cargarHechizos(op.hechizos);
+        } catch (IOException e) {
+            errores.println("Error al cargar los datos: " + e.getMessage());
+            return SALIDA_ERROR;
+        }
+        if (!op.silencioso) {
+            salida.printf("Cargados %,d magos y %,d hechizos en %d ms%n", listado.getAlmacen().tamano(),
+                    libro.getHechizos().size(), (System.nanoTime() - inicio) / 1_000_000L);
+        }
+
+        ExportadorResultados exportador = null;
+        if (op.exportar != null) {
+            try {
+                exportador = new ExportadorResultados(Path.of(op.exportar));
+            } catch (IOException | IllegalArgumentException e) {
+                errores.println("Error al abrir el archivo de resultados: " + e.getMessage());
+                return SALIDA_ERROR;
+            }
+        }
+
+        int codigo;
+        try {
+            codigo = "exhibicion".equals(op.modo)
+                    ? jugarExhibicion(op, listado, libro, exportador, salida, errores)
+                    : jugarTorneo(op, listado, libro, exportador, salida, errores);
+        } finally {
+            if (exportador != null) {
+                try {
+                    exportador.close();
+                } catch (IOException e) {
+                    errores.println("Error al cerrar el archivo de resultados: " + e.getMessage());
+                    codigo = SALIDA_ERROR;
+                }
+            }
+        }
+        if (exportador != null && codigo == SALIDA_OK && !op.silencioso) {
+            salida.printf("Resultados exportados a %s (%,d filas)%n", exportador.getRuta(),
+                    exportador.getFilasEscritas());
+        }
+        return codigo;
+    }
+
+    private static int jugarTorneo(Opciones op, ListadoMagos listado, LibroHechizos libro,
+            ExportadorResultados exportador, PrintStream salida, PrintStream errores) {
+        GestorTorneo gestor;
+        try {
+            gestor = new GestorTorneo(listado, libro, op.cupos);
+        } catch (IllegalArgumentException e) {
+            errores.println("Error al crear el torneo: " + e.getMessage());
+            return SALIDA_ERROR;
+        }
+        gestor.setSemilla(op.semilla);
+        gestor.setTurbo(op.turbo);
+        if (exportador != null) {
+            gestor.agregarOyenteResultados(exportador);
+        }
+        if (!gestor.hayDueloDisponible()) {
+            errores.println("Error al crear el torneo: no hay suficientes magos para un duelo");
+            return SALIDA_ERROR;
+        }
+
+        long inicio = System.nanoTime();
+        while (gestor.hayDueloDisponible()) {
+            ResultadoDuelo r = gestor.ejecutarSiguienteDuelo();
+            if (!op.silencioso) {
+                imprimir(salida, r);
+            }
+        }
+        long ms = (System.nanoTime() - inicio) / 1_000_000L;
+
+        Mago campeon = gestor.getCampeonActual();
+        salida.printf("Campeón: %s (%s) tras %,d duelos en %d ms · semilla %d%n",
+                campeon.getNombre(), campeon.getCasa(), gestor.getHistorialDuelos().size(), ms, op.semilla);
+        int[] victorias = gestor.getVictoriasPorCasa();
+        TablaCasas casas = gestor.getTablaCasas();
+        for (int codigo = 0; codigo < victorias.length; codigo++) {
+            if (victorias[codigo] > 0) {
+                salida.printf("  %-12s %,d victorias%n", casas.obtener(codigo).getNombre(), victorias[codigo]);
+            }
+        }
+        return SALIDA_OK;
+    }
+
+    private static int jugarExhibicion(Opciones op, ListadoMagos listado, LibroHechizos libro,
+            ExportadorResultados exportador, PrintStream salida, PrintStream errores) {
+        ExhibicionDuelos exhibicion;
+        try {
+            exhibicion = new ExhibicionDuelos(listado, libro, op.duelos, op.paralelo, op.semilla, op.turbo);
+        } catch (IllegalArgumentException e) {
+            errores.println("Error al crear la exhibición: " + e.getMessage());
+            return SALIDA_ERROR;
+        }
+
+        long inicio = System.nanoTime();
+        exhibicion.iniciar();
+        List<ResultadoDuelo> resultados;
+        try {
+            resultados = exhibicion.esperar();
+        } catch (InterruptedException e) {
+            exhibicion.detener();
+            Thread.currentThread().interrupt();
+            errores.println("Error en la exhibición: interrumpida");
+            return SALIDA_ERROR;
+        }
+        long ms = (System.nanoTime() - inicio) / 1_000_000L;
+
+        Consumer<ResultadoDuelo> destino = exportador;
+        for (ResultadoDuelo r : resultados) {
+            if (!op.silencioso) {
+                imprimir(salida, r);
+            }
+            if (destino != null) {
+                destino.accept(r);
+            }
+        }
+        salida.printf("Exhibición: %,d duelos en %d ms con %d en paralelo · semilla %d%n",
+                resultados.size(), ms, Math.min(op.paralelo, exhibicion.getCantidadDuelos()), op.semilla);
+        return SALIDA_OK;
+    }
+
+    private static void imprimir(PrintStream salida, ResultadoDuelo r) {
+        salida.printf("Duelo %d: %s (%s) %d - %d %s (%s) · %d hechizos%n", r.getRonda(),
+                r.getGanador().getNombre(), r.getGanador().getCasa(), r.getPuntosGanador(),
+                r.getPuntosPerdedor(), r.getPerdedor().getNombre(), r.getPerdedor().getCasa(),
+                r.getHechizosLanzadosGanador());
+    }
+
+    /**
+     * Opciones leídas de la línea de comandos.
+     */
+    private static final class Opciones {
+
+        String magos;
+        String hechizos;
+        String modo = "torneo";
+        long semilla = System.nanoTime();
+        int paralelo = Runtime.getRuntime().availableProcessors();
+        int cupos;
+        int duelos = Integer.MAX_VALUE;
+        String exportar;
+        boolean turbo = true;
+        boolean silencioso;
+        boolean ayuda;
+
+        static Opciones leer(String[] args) {
+            Opciones op = new Opciones();
+            for (int i = 0; i < args.length; i++) {
+                String arg = args[i];
+                switch (arg) {
+                    case "--magos" -> op.magos = valor(args, ++i, arg);
+                    case "--hechizos" -> op.hechizos = valor(args, ++i, arg);
+                    case "--modo" -> {
+                        op.modo = valor(args, ++i, arg);
+                        if (!op.modo.equals("torneo") && !op.modo.equals("exhibicion")) {
+                            throw new IllegalArgumentException("modo desconocido: " + op.modo);
+                        }
+                    }
+                    case "--semilla" -> op.semilla = numero(valor(args, ++i, arg), arg);
+                    case "--paralelo" -> op.paralelo = positivo(valor(args, ++i, arg), arg);
+                    case "--cupos" -> op.cupos = positivo(valor(args, ++i, arg), arg);
+                    case "--duelos" -> op.duelos = positivo(valor(args, ++i, arg), arg);
+                    case "--exportar" -> op.exportar = valor(args, ++i, arg);
+                    case "--pausas" -> op.turbo = false;
+                    case "--silencioso" -> op.silencioso = true;
+                    case "--ayuda", "-h", "--help" -> op.ayuda = true;
+                    default -> throw new IllegalArgumentException("opción desconocida: " + arg);
+                }
+            }
+            if (!op.ayuda && (op.magos == null || op.hechizos == null)) {
+                throw new IllegalArgumentException("faltan --magos o --hechizos");
+            }
+            return op;
+        }
+
+        private static String valor(String[] args, int i, String opcion) {
+            if (i >= args.length) {
+                throw new IllegalArgumentException(opcion + " necesita un valor");
+            }
+            return args[i];
+        }
+
+        private static long numero(String texto, String opcion) {
+            try {
+                return Long.parseLong(texto);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException(opcion + " no es un número: " + texto);
+            }
+        }
+
+        private static int positivo(String texto, String opcion) {
+            long n = numero(texto, opcion);
+            if (n <= 0 || n > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException(opcion + " debe ser un entero positivo: " + texto);
+            }
+            return (int) n;
+        }
+    }
+}
@@ -0,0 +1,227 @@
+package udistrital.avanzada.taller.control;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+import udistrital.avanzada.taller.modelo.AlmacenMagos;
+import udistrital.avanzada.taller.modelo.ListadoMagos;
+import udistrital.avanzada.taller.modelo.Mago;
+
+/**
+ * Etapa de siembra (seeding) del torneo basada en el rating de cada
+ * {@link Mago}.
+ *
+ * <p>
+ * Ordena a los participantes de mayor a menor rating usando un montículo
+ * (heap) acotado: para quedarse con los {@code k} mejores basta con mantener
+ * un montículo mínimo de tamaño {@code k}, lo que da un costo
+ * {@code O(n log k)}. Los empates se resuelven por el orden original del
+ * archivo, de modo que un listado sin ratings conserva su orden.
+ * </p>
+ *
+ * <p>
+ * Trabaja sobre la columna de ratings del {@link AlmacenMagos} y devuelve
+ * posiciones, no objetos: cada semilla es un {@code long} con el rating
+ * invertido en la parte alta y la posición en la baja, de modo que ordenar
+ * los números de menor a mayor da la siembra, sin objetos intermedios.
+ * </p>
+ *
+ * <p>
+ * La última siembra calculada se guarda en caché junto con el almacén y el
+ * número de cupos que la originaron; si {@link GestorTorneo#reiniciarTorneo}
+ * vuelve a pedir la misma siembra, se reutiliza sin recalcular.
+ * </p>
+ *
+ * @author Juan Estevan Ariza Ortiz
+ * @version 1.0
+ * @since 2026-10-19
+ */
+public class SembradorTorneo {
+
+    /**
+     * Almacén a partir del cual se calculó la siembra en caché.
+     */
+    private AlmacenMagos almacenCache;
+
+    /**
+     * Cupos solicitados en la siembra en caché.
+     */
+    private int cuposCache = -1;
+
+    /**
+     * Siembra calculada, como posiciones en el almacén de mejor a peor
+     * rating. No se modifica: quien la recibe debe copiarla si la altera.
+     */
+    private int[] semillasCache;
+
+    /**
+     * Siembra completa del listado: todos los magos ordenados por rating.
+     *
+     * @param listado listado de magos a sembrar
+     * @return lista inmutable de magos de mayor a menor rating
+     */
+    public List<Mago> sembrar(ListadoMagos listado) {
+        return sembrarTopK(listado, 0);
+    }
+
+    /**
+     * Siembra de los {@code k} magos con mayor rating. Los magos de la lista
+     * son los mismos de {@link ListadoMagos#getMagos()} (ver
+     * {@link AlmacenMagos#mago(int)}).
+     *
+     * @param listado listado de magos a sembrar
+     * @param k cantidad de cupos; si es {@code <= 0} o mayor que el listado,
+     * se siembran todos los magos
+     * @return lista inmutable con los mejores {@code k} magos, de mayor a
+     * menor rating
+     * @throws IllegalArgumentException si el listado es nulo
+     */
+    public synchronized List<Mago> sembrarTopK(ListadoMagos listado, int k) {
+        int[] indices = sembrarIndices(listado, k);
+        return new Siembra(almacenCache, indices);
+    }
+
+    /**
+     * Siembra de los {@code k} magos con mayor rating, como posiciones en el
+     * almacén del listado.
+     *
+     * @param listado listado de magos a sembrar
+     * @param k cantidad de cupos; si es {@code <= 0} o mayor que el listado,
+     * se siembran todos los magos
+     * @return posiciones de mayor a menor rating (compartidas con la caché:
+     * no deben modificarse)
+     * @throws IllegalArgumentException si el listado es nulo
+     */
+    public synchronized int[] sembrarIndices(ListadoMagos listado, int k) {
+        if (listado == null) {
+            throw new IllegalArgumentException("El listado de magos no puede ser nulo");
+        }
+        AlmacenMagos almacen = listado.getAlmacen();
+        int n = almacen.tamano();
+        int cupos = (k <= 0 || k > n) ? n : k;
+
+        if (almacen == almacenCache && cupos == cuposCache) {
+            return semillasCache;
+        }
+
+        semillasCache = seleccionar(almacen, cupos);
+        almacenCache = almacen;
+        cuposCache = cupos;
+        return semillasCache;
+    }
+
+    /**
+     * Descarta la siembra en caché.
+     */
+    public synchronized void invalidar() {
+        almacenCache = null;
+        semillasCache = null;
+        cuposCache = -1;
+    }
+
+    /**
+     * Selecciona los {@code k} mejores magos. Si entran todos se ordenan las
+     * claves de una vez; si no, se mantiene un montículo máximo de tamaño
+     * {@code k} cuya cima es la peor semilla retenida.
+     *
+     * @param almacen magos en el orden original del archivo
+     * @param k cupos a llenar (entre 0 y {@code almacen.tamano()})
+     * @return posiciones de mayor a menor rating
+     */
+    private int[] seleccionar(AlmacenMagos almacen, int k) {
+        int n = almacen.tamano();
+        long[] claves;
+        if (k == n) {
+            claves = new long[n];
+            for (int i = 0; i < n; i++) {
+                claves[i] = clave(almacen.rating(i), i);
+            }
+        } else {
+            claves = new long[k];
+            for (int i = 0; i < k; i++) {
+                claves[i] = clave(almacen.rating(i), i);
+                subir(claves, i);
+            }
+            for (int i = k; i < n; i++) {
+                long candidata = clave(almacen.rating(i), i);
+                if (k > 0 && candidata < claves[0]) {
+                    claves[0] = candidata;
+                    bajar(claves, k);
+                }
+            }
+        }
+        Arrays.sort(claves);
+
+        int[] orden = new int[claves.length];
+        for (int i = 0; i < orden.length; i++) {
+            orden[i] = (int) claves[i];
+        }
+        return orden;
+    }
+
+    /**
+     * Clave de una semilla: menor es mejor (más rating o, a igual rating,
+     * antes en el archivo).
+     */
+    private static long clave(int rating, int posicion) {
+        return ((long) ~rating << 32) | posicion;
+    }
+
+    private static void subir(long[] monticulo, int i) {
+        long valor = monticulo[i];
+        while (i > 0) {
+            int padre = (i - 1) >>> 1;
+            if (monticulo[padre] >= valor) {
+                break;
+            }
+            monticulo[i] = monticulo[padre];
+            i = padre;
+        }
+        monticulo[i] = valor;
+    }
+
+    private static void bajar(long[] monticulo, int tamano) {
+        long valor = monticulo[0];
+        int i = 0;
+        while (true) {
+            int hijo = 2 * i + 1;
+            if (hijo >= tamano) {
+                break;
+            }
+            if (hijo + 1 < tamano && monticulo[hijo + 1] > monticulo[hijo]) {
+                hijo++;
+            }
+            if (monticulo[hijo] <= valor) {
+                break;
+            }
+            monticulo[i] = monticulo[hijo];
+            i = hijo;
+        }
+        monticulo[i] = valor;
+    }
+
+    /**
+     * Vista de solo lectura de una siembra sobre los magos del almacén.
+     */
+    private static final class Siembra extends AbstractList<Mago> implements RandomAccess {
+
+        private final AlmacenMagos almacen;
+        private final int[] indices;
+
+        Siembra(AlmacenMagos almacen, int[] indices) {
+            this.almacen = almacen;
+            this.indices = indices;
+        }
+
+        @Override
+        public Mago get(int i) {
+            return almacen.mago(indices[i]);
+        }
+
+        @Override
+        public int size() {
+            return indices.length;
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package udistrital.avanzada.taller.control;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import udistrital.avanzada.taller.modelo.LibroHechizos;
+import udistrital.avanzada.taller.modelo.persistencia.CargadorPropiedades;
+
+/**
+ * Vigila un archivo de hechizos y vuelve a cargarlo cuando se modifica.
+ * <p>
+ * Usa un {@link WatchService} sobre la carpeta del archivo, en un hilo daemon
+ * propio. Los editores suelen generar varios eventos por guardado (truncar,
+ * escribir, renombrar), así que tras el primer evento se espera a que el
+ * archivo quede quieto {@value #ESPERA_MS} ms antes de recargar.
+ * </p>
+ *
+ * <p>
+ * Cada recarga construye un {@link LibroHechizos} nuevo y lo entrega al
+ * consumidor de publicación; el libro anterior no se modifica, por lo que los
+ * duelos en curso terminan con él. Si el archivo quedó inválido (por ejemplo,
+ * a medio guardar), el error se informa y se conserva el libro publicado.
+ * </p>
+ *
+ * @author Juan Sebastián Bravo Rojas
+ * @version 1.0
+ * @since 2026-10-19
+ */
+public class VigilanteHechizos implements AutoCloseable {
+
+    /**
+     * Tiempo sin eventos que se espera antes de recargar.
+     */
+    private static final long ESPERA_MS = 200;
+
+    private final Path archivo;
+    private final CargadorPropiedades cargador;
+    private final Consumer<LibroHechizos> publicar;
+    private final WatchService servicio;
+    private final Thread hilo;
+
+    /**
+     * Último libro publicado, para no republicar si la caché devolvió el
+     * mismo (contenido sin cambios).
+     */
+    private LibroHechizos ultimo;
+
+    /**
+     * Crea un vigilante para el archivo indicado. La vigilancia empieza con
+     * {@link #iniciar()}.
+     *
+     * @param ruta archivo de hechizos a vigilar
+     * @param cargador cargador usado para releer el archivo
+     * @param publicar recibe cada libro nuevo ya validado
+     * @throws IOException si no se puede registrar la carpeta del archivo
+     * @throws IllegalArgumentException si algún parámetro es nulo
+     */
+    public VigilanteHechizos(String ruta, CargadorPropiedades cargador, Consumer<LibroHechizos> publicar)
+            throws IOException {
+        if (ruta == null || cargador == null || publicar == null) {
+            throw new IllegalArgumentException("La ruta, el cargador y el destino no pueden ser nulos");
+        }
+        this.archivo = Path.of(ruta).toAbsolutePath().normalize();
+        this.cargador = cargador;
+        this.publicar = publicar;
+        this.servicio = FileSystems.getDefault().newWatchService();
+        try {
+            archivo.getParent().register(servicio,
+                    StandardWatchEventKinds.ENTRY_CREATE,
+                    StandardWatchEventKinds.ENTRY_MODIFY);
+        } catch (IOException | RuntimeException e) {
+            servicio.close();
+            throw e;
+        }
+        this.hilo = new Thread(this::vigilar, "VigilanteHechizos");
+        this.hilo.setDaemon(true);
+    }
+
+    /**
+     * Inicia la vigilancia en segundo plano.
+     */
+    public void iniciar() {
+        hilo.start();
+    }
+
+    /**
+     * Detiene la vigilancia y libera el {@link WatchService}.
+     */
+    @Override
+    public void close() {
+        hilo.interrupt();
+        try {
+            servicio.close();
+        } catch (IOException e) {
+            System.err.println("Error al detener la vigilancia de hechizos: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Bucle del hilo vigilante.
+     */
+    private void vigilar() {
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                if (!afectaArchivo(servicio.take())) {
+                    continue;
+                }
+                // Se agrupan los eventos del mismo guardado
+                WatchKey siguiente;
+                while ((siguiente = servicio.poll(ESPERA_MS, TimeUnit.MILLISECONDS)) != null) {
+                    afectaArchivo(siguiente);
+                }
+                recargar();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ClosedWatchServiceException e) {
+            // vigilancia detenida con close()
+        }
+    }
+
+    /**
+     * Consume los eventos de la clave e indica si alguno toca el archivo.
+     */
+    private boolean afectaArchivo(WatchKey clave) {
+        boolean afecta = false;
+        for (WatchEvent<?> evento : clave.pollEvents()) {
+            if (evento.kind() == StandardWatchEventKinds.OVERFLOW) {
+                afecta = true; // se perdieron eventos: mejor recargar
+            } else if (archivo.getFileName().equals(evento.context())) {
+                afecta = true;
+            }
+        }
+        clave.reset();
+        return afecta;
+    }
+
+    /**
+     * Relee el archivo y publica el libro si es válido y distinto del
+     * anterior.
+     */
+    private void recargar() {
+        try {
+            LibroHechizos nuevo = cargador.cargarHechizos(archivo.toString());
+            if (nuevo == ultimo) {
+                return;
+            }
+            publicar.accept(nuevo);
+            ultimo = nuevo;
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Error al recargar hechizos: " + e.getMessage());
+        }
+    }
+}
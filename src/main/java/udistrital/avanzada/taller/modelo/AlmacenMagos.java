@@ -0,0 +1,354 @@
+package udistrital.avanzada.taller.modelo;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Almacén columnar e inmutable de un listado de magos.
+ * <p>
+ * En vez de un objeto {@link Mago} por participante, guarda cada atributo en
+ * su propio arreglo primitivo: la posición {@code i} es el identificador del
+ * mago y sirve de índice en todas las columnas (inicio y largo del nombre,
+ * código de casa y rating). Los nombres viven en una sola tabla de bytes UTF-8
+ * compartida, donde los repetidos se guardan una vez. Así un mago ocupa unos
+ * 16 bytes más su nombre, y recorrer una columna (por ejemplo, los ratings al
+ * sembrar) lee memoria contigua.
+ * </p>
+ *
+ * <p>
+ * Los objetos {@link Mago} se crean solo cuando hacen falta. El torneo pide
+ * con {@link #crearMago(int)} una copia nueva, con el estado de combate en
+ * cero, únicamente para los dos magos del duelo en curso. Las vistas como
+ * lista usan {@link #mago(int)}, que arma todos los magos una sola vez por
+ * almacén (con los nombres repetidos compartidos) y devuelve siempre la
+ * misma instancia.
+ * </p>
+ *
+ * @author Paula Martínez
+ * @version 1.0
+ * @since 2026-10-19
+ */
+public final class AlmacenMagos {
+
+    /**
+     * Almacén sin magos.
+     */
+    public static final AlmacenMagos VACIO = new AlmacenMagos(new byte[0], new int[0], new int[0],
+            new int[0], new int[0], new TablaCasas());
+
+    private final byte[] cadenas;
+    private final int[] iniciosNombre;
+    private final int[] largosNombre;
+    private final int[] casas;
+    private final int[] ratings;
+    private final TablaCasas tablaCasas;
+    /** Casas por código, copiadas de la tabla para leerlas sin bloqueo. */
+    private final Casa[] casasPorCodigo;
+    /** Magos de {@link #mago(int)}; {@code null} hasta la primera consulta. */
+    private volatile Mago[] magos;
+
+    private AlmacenMagos(byte[] cadenas, int[] iniciosNombre, int[] largosNombre, int[] casas,
+            int[] ratings, TablaCasas tablaCasas) {
+        this.cadenas = cadenas;
+        this.iniciosNombre = iniciosNombre;
+        this.largosNombre = largosNombre;
+        this.casas = casas;
+        this.ratings = ratings;
+        this.tablaCasas = tablaCasas;
+        this.casasPorCodigo = tablaCasas.getCasas().toArray(new Casa[0]);
+    }
+
+    /**
+     * Crea un almacén a partir de columnas ya armadas (por ejemplo, leídas de
+     * un archivo binario). Los arreglos pasan a ser del almacén y no deben
+     * modificarse después.
+     *
+     * @param cadenas tabla de nombres en UTF-8
+     * @param iniciosNombre inicio de cada nombre en la tabla
+     * @param largosNombre largo en bytes de cada nombre
+     * @param casas código de casa de cada mago en {@code tablaCasas}
+     * @param ratings rating de cada mago
+     * @param tablaCasas diccionario de casas
+     * @return almacén con esas columnas
+     * @throws IllegalArgumentException si las columnas no tienen el mismo
+     * largo, si un nombre cae fuera de la tabla o si un código de casa no
+     * existe
+     */
+    public static AlmacenMagos desdeColumnas(byte[] cadenas, int[] iniciosNombre, int[] largosNombre,
+            int[] casas, int[] ratings, TablaCasas tablaCasas) {
+        int n = iniciosNombre.length;
+        if (largosNombre.length != n || casas.length != n || ratings.length != n) {
+            throw new IllegalArgumentException("Las columnas del almacén deben tener el mismo largo");
+        }
+        int totalCasas = tablaCasas.tamano();
+        for (int i = 0; i < n; i++) {
+            int inicio = iniciosNombre[i];
+            int largo = largosNombre[i];
+            if (inicio < 0 || largo < 0 || inicio > cadenas.length - largo) {
+                throw new IllegalArgumentException("Nombre fuera de la tabla en el mago " + (i + 1));
+            }
+            if (casas[i] < 0 || casas[i] >= totalCasas) {
+                throw new IllegalArgumentException("Casa fuera de rango en el mago " + (i + 1));
+            }
+        }
+        return new AlmacenMagos(cadenas, iniciosNombre, largosNombre, casas, ratings, tablaCasas);
+    }
+
+    /**
+     * Crea un constructor incremental.
+     *
+     * @param capacidad cantidad estimada de magos
+     * @param tablaCasas diccionario donde se registran las casas
+     * @return constructor vacío
+     */
+    public static Constructor constructor(int capacidad, TablaCasas tablaCasas) {
+        return new Constructor(capacidad, tablaCasas);
+    }
+
+    /**
+     * Crea un almacén con los datos de una lista de magos (nombre, casa y
+     * rating). Las casas se registran en {@code tablaCasas}.
+     *
+     * @param magos magos a copiar
+     * @param tablaCasas diccionario de casas
+     * @return almacén con esos magos
+     */
+    public static AlmacenMagos desdeLista(List<Mago> magos, TablaCasas tablaCasas) {
+        Constructor c = new Constructor(magos.size(), tablaCasas);
+        for (Mago m : magos) {
+            c.agregar(m.getNombre() == null ? "" : m.getNombre(),
+                    m.getCasa() == null ? "" : m.getCasa(), m.getRating());
+        }
+        return c.construir();
+    }
+
+    /**
+     * Copia el almacén codificando las casas en otra tabla (por nombre).
+     *
+     * @param otra tabla de casas destino
+     * @return almacén con los mismos magos y códigos de {@code otra}
+     */
+    public AlmacenMagos conTabla(TablaCasas otra) {
+        if (otra == tablaCasas) {
+            return this;
+        }
+        int[] recodificar = new int[casasPorCodigo.length];
+        for (int c = 0; c < casasPorCodigo.length; c++) {
+            recodificar[c] = otra.registrar(casasPorCodigo[c].getNombre()).getCodigo();
+        }
+        int[] nuevas = new int[casas.length];
+        for (int i = 0; i < casas.length; i++) {
+            nuevas[i] = recodificar[casas[i]];
+        }
+        return new AlmacenMagos(cadenas, iniciosNombre, largosNombre, nuevas, ratings, otra);
+    }
+
+    /** @return cantidad de magos */
+    public int tamano() {
+        return casas.length;
+    }
+
+    /**
+     * @param i posición del mago
+     * @return nombre del mago
+     */
+    public String nombre(int i) {
+        return new String(cadenas, iniciosNombre[i], largosNombre[i], StandardCharsets.UTF_8);
+    }
+
+    /**
+     * @param i posición del mago
+     * @return código de su casa en {@link #getTablaCasas()}
+     */
+    public int codigoCasa(int i) {
+        return casas[i];
+    }
+
+    /**
+     * @param i posición del mago
+     * @return casa del mago
+     */
+    public Casa casa(int i) {
+        return casasPorCodigo[casas[i]];
+    }
+
+    /**
+     * @param i posición del mago
+     * @return rating del mago
+     */
+    public int rating(int i) {
+        return ratings[i];
+    }
+
+    /**
+     * @param i posición del mago
+     * @return inicio de su nombre en {@link #copiarCadenas()}
+     */
+    public int inicioNombre(int i) {
+        return iniciosNombre[i];
+    }
+
+    /**
+     * @param i posición del mago
+     * @return largo en bytes de su nombre
+     */
+    public int largoNombre(int i) {
+        return largosNombre[i];
+    }
+
+    /**
+     * @return copia de la tabla de nombres en UTF-8
+     */
+    public byte[] copiarCadenas() {
+        return cadenas.clone();
+    }
+
+    /**
+     * Crea un objeto {@link Mago} para el participante {@code i}, con el
+     * estado de combate en cero. Cada llamada devuelve una instancia nueva.
+     *
+     * @param i posición del mago
+     * @return mago con su nombre, casa, rating e índice
+     */
+    public Mago crearMago(int i) {
+        Mago mago = new Mago(nombre(i), casa(i));
+        mago.setRating(ratings[i]);
+        mago.setIndice(i);
+        return mago;
+    }
+
+    /**
+     * Devuelve el {@link Mago} compartido del participante {@code i}. La
+     * primera llamada arma los magos de todo el almacén, decodificando cada
+     * nombre distinto una sola vez; las siguientes no crean objetos. Los
+     * cambios en el mago devuelto quedan en esa instancia pero no en las
+     * columnas.
+     *
+     * @param i posición del mago
+     * @return el mismo mago en cada llamada con esa posición
+     */
+    public Mago mago(int i) {
+        Mago[] m = magos;
+        return (m != null ? m : materializar())[i];
+    }
+
+    private synchronized Mago[] materializar() {
+        if (magos == null) {
+            Mago[] m = new Mago[casas.length];
+            Map<Long, String> nombres = new HashMap<>();
+            for (int i = 0; i < m.length; i++) {
+                Long clave = ((long) iniciosNombre[i] << 32) | largosNombre[i];
+                String nombre = nombres.get(clave);
+                if (nombre == null) {
+                    nombre = nombre(i);
+                    nombres.put(clave, nombre);
+                }
+                m[i] = new Mago(nombre, casa(i));
+                m[i].setRating(ratings[i]);
+                m[i].setIndice(i);
+            }
+            magos = m;
+        }
+        return magos;
+    }
+
+    /**
+     * Cuenta los magos de cada casa recorriendo solo la columna de casas.
+     *
+     * @return arreglo indexado por código de casa
+     */
+    public int[] contarPorCasa() {
+        int[] conteo = new int[casasPorCodigo.length];
+        for (int codigo : casas) {
+            conteo[codigo]++;
+        }
+        return conteo;
+    }
+
+    /** @return diccionario de casas del almacén */
+    public TablaCasas getTablaCasas() {
+        return tablaCasas;
+    }
+
+    /**
+     * Construye un {@link AlmacenMagos} agregando un mago a la vez. Los
+     * nombres repetidos se guardan una sola vez en la tabla de cadenas.
+     */
+    public static final class Constructor {
+
+        private final TablaCasas tablaCasas;
+        private final Map<String, Integer> posiciones;
+        private byte[] cadenas;
+        private int bytesUsados;
+        private int[] iniciosNombre;
+        private int[] largosNombre;
+        private int[] casas;
+        private int[] ratings;
+        private int tamano;
+
+        private Constructor(int capacidad, TablaCasas tablaCasas) {
+            int c = Math.max(capacidad, 16);
+            this.tablaCasas = tablaCasas == null ? new TablaCasas() : tablaCasas;
+            this.posiciones = new HashMap<>(Math.min(c, 1 << 20));
+            this.cadenas = new byte[Math.min(c, 1 << 20) * 8];
+            this.iniciosNombre = new int[c];
+            this.largosNombre = new int[c];
+            this.casas = new int[c];
+            this.ratings = new int[c];
+        }
+
+        /**
+         * Agrega un mago al final.
+         *
+         * @param nombre nombre del mago
+         * @param casa nombre de su casa
+         * @param rating rating del mago
+         * @return este constructor
+         */
+        public Constructor agregar(String nombre, String casa, int rating) {
+            if (tamano == casas.length) {
+                int nueva = casas.length + (casas.length >> 1);
+                iniciosNombre = Arrays.copyOf(iniciosNombre, nueva);
+                largosNombre = Arrays.copyOf(largosNombre, nueva);
+                casas = Arrays.copyOf(casas, nueva);
+                ratings = Arrays.copyOf(ratings, nueva);
+            }
+            Integer inicio = posiciones.get(nombre);
+            byte[] utf8 = nombre.getBytes(StandardCharsets.UTF_8);
+            if (inicio == null) {
+                if (bytesUsados + utf8.length > cadenas.length) {
+                    cadenas = Arrays.copyOf(cadenas, Math.max(cadenas.length * 2, bytesUsados + utf8.length));
+                }
+                System.arraycopy(utf8, 0, cadenas, bytesUsados, utf8.length);
+                inicio = bytesUsados;
+                bytesUsados += utf8.length;
+                posiciones.put(nombre, inicio);
+            }
+            iniciosNombre[tamano] = inicio;
+            largosNombre[tamano] = utf8.length;
+            casas[tamano] = tablaCasas.registrar(casa).getCodigo();
+            ratings[tamano] = rating;
+            tamano++;
+            return this;
+        }
+
+        /** @return cantidad de magos agregados */
+        public int tamano() {
+            return tamano;
+        }
+
+        /**
+         * Recorta las columnas y crea el almacén.
+         *
+         * @return almacén inmutable con los magos agregados
+         */
+        public AlmacenMagos construir() {
+            return new AlmacenMagos(Arrays.copyOf(cadenas, bytesUsados),
+                    Arrays.copyOf(iniciosNombre, tamano), Arrays.copyOf(largosNombre, tamano),
+                    Arrays.copyOf(casas, tamano), Arrays.copyOf(ratings, tamano), tablaCasas);
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package udistrital.avanzada.taller.modelo;
+
+/**
+ * Casa a la que pertenece un {@link Mago}, codificada como una entrada de
+ * {@link TablaCasas}.
+ * <p>
+ * Un listado tiene muy pocas casas distintas, así que todos los magos de una
+ * misma casa comparten la misma instancia. El {@link #getCodigo() código} es
+ * un índice denso (0..n-1) que permite agregar por casa con arreglos en lugar
+ * de mapas.
+ * </p>
+ *
+ * @author Paula Martínez
+ * @version 1.0
+ * @since 2026-10-19
+ */
+public final class Casa {
+
+    /**
+     * Código de una casa que no pertenece a ninguna tabla.
+     */
+    public static final int SIN_CODIGO = -1;
+
+    /**
+     * Índice de la casa en su tabla, o {@link #SIN_CODIGO}.
+     */
+    private final int codigo;
+
+    /**
+     * Nombre de la casa.
+     */
+    private final String nombre;
+
+    /**
+     * Crea una casa. Solo {@link TablaCasas} asigna códigos.
+     *
+     * @param codigo índice en la tabla
+     * @param nombre nombre de la casa
+     */
+    Casa(int codigo, String nombre) {
+        this.codigo = codigo;
+        this.nombre = nombre;
+    }
+
+    /**
+     * Crea una casa fuera de cualquier tabla (por ejemplo, al asignar la casa
+     * de un mago a mano).
+     *
+     * @param nombre nombre de la casa
+     * @return casa sin código
+     */
+    static Casa suelta(String nombre) {
+        return new Casa(SIN_CODIGO, nombre);
+    }
+
+    /**
+     * Obtiene el código de la casa dentro de su tabla.
+     *
+     * @return índice de la casa, o {@link #SIN_CODIGO} si no pertenece a una
+     * tabla
+     */
+    public int getCodigo() {
+        return codigo;
+    }
+
+    /**
+     * Obtiene el nombre de la casa.
+     *
+     * @return nombre de la casa
+     */
+    public String getNombre() {
+        return nombre;
+    }
+
+    @Override
+    public String toString() {
+        return nombre;
+    }
+}
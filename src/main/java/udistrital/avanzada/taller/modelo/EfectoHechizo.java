@@ -0,0 +1,296 @@
+package udistrital.avanzada.taller.modelo;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * Efecto que se aplica cada vez que un {@link Mago} lanza un {@link Hechizo}.
+ * <p>
+ * Se escribe en {@code hechizos.properties} con un lenguaje declarativo
+ * pequeño: una lista de cláusulas separadas por {@code ;}, cada una con una
+ * acción, un valor opcional entre paréntesis y una probabilidad opcional
+ * precedida de {@code @} (en porcentaje, 100 si se omite):
+ * </p>
+ * <pre>
+ * hechizo.4.efecto=aturdir@25; bonus(5)
+ * hechizo.9.efecto=drenar(10)@50
+ * </pre>
+ * <ul>
+ * <li>{@code bonus(n)}: el atacante suma {@code n} puntos extra.</li>
+ * <li>{@code drenar(n)}: el atacante le quita hasta {@code n} puntos al rival
+ * y se los suma.</li>
+ * <li>{@code curar(n)}: el atacante recupera hasta {@code n} puntos de la
+ * ventaja que le lleva el rival (no lo hace pasar adelante).</li>
+ * <li>{@code aturdir}: el rival pierde su próximo turno.</li>
+ * </ul>
+ *
+ * <p>
+ * Las cláusulas se aplican en el orden escrito. Si el efecto no menciona
+ * {@code aturdir}, conserva la regla general del duelo: 10% de probabilidad
+ * de aturdir al rival ({@code aturdir@0} la desactiva).
+ * </p>
+ *
+ * <p>
+ * El texto se compila una sola vez, al cargar el libro, en una cadena de
+ * {@link MethodHandle} ({@code guardWithTest} para las probabilidades y
+ * {@code foldArguments} para encadenar cláusulas). En cada turno solo se
+ * invoca esa cadena: no se vuelve a interpretar el texto ni se crean
+ * objetos.
+ * </p>
+ *
+ * @author Paula Martínez
+ * @version 1.0
+ * @since 2026-10-19
+ */
+public final class EfectoHechizo {
+
+    /**
+     * Probabilidad de aturdir al rival cuando el efecto no indica otra.
+     */
+    public static final double PROBABILIDAD_ATURDIR = 0.10;
+
+    /**
+     * Tipo de todas las cadenas compiladas:
+     * {@code (Mago atacante, Mago rival, Random azar) -> void}.
+     */
+    private static final MethodType TIPO = MethodType.methodType(void.class, Mago.class, Mago.class, Random.class);
+
+    private static final MethodHandle BONUS;
+    private static final MethodHandle DRENAR;
+    private static final MethodHandle CURAR;
+    private static final MethodHandle ATURDIR;
+    private static final MethodHandle SORTEO;
+
+    static {
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        MethodType accion = TIPO.insertParameterTypes(0, int.class);
+        try {
+            BONUS = lookup.findStatic(EfectoHechizo.class, "bonus", accion);
+            DRENAR = lookup.findStatic(EfectoHechizo.class, "drenar", accion);
+            CURAR = lookup.findStatic(EfectoHechizo.class, "curar", accion);
+            ATURDIR = lookup.findStatic(EfectoHechizo.class, "aturdir", TIPO);
+            SORTEO = lookup.findStatic(EfectoHechizo.class, "sorteo",
+                    MethodType.methodType(boolean.class, double.class, Mago.class, Mago.class, Random.class));
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    /**
+     * Efecto de los hechizos que no declaran uno: solo la regla general de
+     * aturdimiento.
+     */
+    public static final EfectoHechizo PREDETERMINADO = new EfectoHechizo("", sortear(PROBABILIDAD_ATURDIR, ATURDIR));
+
+    /**
+     * Texto original del efecto (vacío en {@link #PREDETERMINADO}).
+     */
+    private final String texto;
+
+    /**
+     * Cadena compilada, de tipo {@link #TIPO}.
+     */
+    private final MethodHandle cadena;
+
+    private EfectoHechizo(String texto, MethodHandle cadena) {
+        this.texto = texto;
+        this.cadena = cadena;
+    }
+
+    /**
+     * Compila el texto de un efecto.
+     *
+     * @param texto efecto en el lenguaje descrito en la clase ({@code null}
+     * o vacío equivale a {@link #PREDETERMINADO})
+     * @return efecto compilado
+     * @throws IllegalArgumentException si el texto no es válido; el mensaje
+     * indica la cláusula con problemas
+     */
+    public static EfectoHechizo compilar(String texto) {
+        if (texto == null || texto.isBlank()) {
+            return PREDETERMINADO;
+        }
+        String limpio = texto.trim();
+        MethodHandle cadena = null;
+        boolean aturde = false;
+        for (String clausula : limpio.split(";")) {
+            String c = clausula.trim();
+            if (c.isEmpty()) {
+                continue;
+            }
+            MethodHandle paso = compilarClausula(c);
+            aturde |= c.toLowerCase(Locale.ROOT).startsWith("aturdir");
+            cadena = encadenar(cadena, paso);
+        }
+        if (!aturde) {
+            cadena = encadenar(cadena, sortear(PROBABILIDAD_ATURDIR, ATURDIR));
+        }
+        return new EfectoHechizo(limpio, cadena);
+    }
+
+    /**
+     * Aplica el efecto después de que el atacante lanzó el hechizo.
+     *
+     * @param atacante mago que lanzó el hechizo
+     * @param rival mago que lo recibe
+     * @param azar generador usado para las probabilidades
+     */
+    public void aplicar(Mago atacante, Mago rival, Random azar) {
+        try {
+            cadena.invokeExact(atacante, rival, azar);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            // Las acciones no declaran excepciones comprobadas
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * @return texto del efecto tal como se escribió (vacío si es el
+     * predeterminado)
+     */
+    public String getTexto() {
+        return texto;
+    }
+
+    /**
+     * @return {@code true} si es el efecto de los hechizos sin efecto propio
+     */
+    public boolean esPredeterminado() {
+        return this == PREDETERMINADO;
+    }
+
+    @Override
+    public String toString() {
+        return texto.isEmpty() ? "aturdir@10" : texto;
+    }
+
+    // =========================
+    //   Compilación
+    // =========================
+    private static MethodHandle compilarClausula(String clausula) {
+        String accion = clausula;
+        double probabilidad = 1.0;
+
+        int arroba = clausula.indexOf('@');
+        if (arroba >= 0) {
+            accion = clausula.substring(0, arroba).trim();
+            String p = clausula.substring(arroba + 1).trim();
+            if (p.endsWith("%")) {
+                p = p.substring(0, p.length() - 1).trim();
+            }
+            try {
+                probabilidad = Double.parseDouble(p) / 100.0;
+            } catch (NumberFormatException e) {
+                throw invalido(clausula, "probabilidad no numérica");
+            }
+            if (!(probabilidad >= 0.0 && probabilidad <= 1.0)) {
+                throw invalido(clausula, "la probabilidad debe estar entre 0 y 100");
+            }
+        }
+
+        String nombre = accion;
+        Integer valor = null;
+        int abre = accion.indexOf('(');
+        if (abre >= 0) {
+            if (!accion.endsWith(")")) {
+                throw invalido(clausula, "falta ')'");
+            }
+            nombre = accion.substring(0, abre).trim();
+            try {
+                valor = Integer.parseInt(accion.substring(abre + 1, accion.length() - 1).trim());
+            } catch (NumberFormatException e) {
+                throw invalido(clausula, "valor no entero");
+            }
+            if (valor < 0) {
+                throw invalido(clausula, "el valor no puede ser negativo");
+            }
+        }
+
+        MethodHandle paso;
+        switch (nombre.toLowerCase(Locale.ROOT)) {
+            case "bonus":
+                paso = conValor(BONUS, valor, clausula);
+                break;
+            case "drenar":
+                paso = conValor(DRENAR, valor, clausula);
+                break;
+            case "curar":
+                paso = conValor(CURAR, valor, clausula);
+                break;
+            case "aturdir":
+                if (valor != null) {
+                    throw invalido(clausula, "aturdir no lleva valor");
+                }
+                paso = ATURDIR;
+                break;
+            default:
+                throw invalido(clausula, "acción desconocida '" + nombre + "'");
+        }
+        return sortear(probabilidad, paso);
+    }
+
+    private static MethodHandle conValor(MethodHandle accion, Integer valor, String clausula) {
+        if (valor == null) {
+            throw invalido(clausula, "falta el valor entre paréntesis");
+        }
+        return MethodHandles.insertArguments(accion, 0, valor.intValue());
+    }
+
+    /**
+     * Envuelve un paso en un sorteo; con probabilidad 0 o 1 no hace falta
+     * sortear.
+     */
+    private static MethodHandle sortear(double probabilidad, MethodHandle paso) {
+        if (probabilidad >= 1.0) {
+            return paso;
+        }
+        if (probabilidad <= 0.0) {
+            return MethodHandles.empty(TIPO);
+        }
+        return MethodHandles.guardWithTest(MethodHandles.insertArguments(SORTEO, 0, probabilidad),
+                paso, MethodHandles.empty(TIPO));
+    }
+
+    /**
+     * Ejecuta {@code anterior} y luego {@code siguiente} con los mismos
+     * argumentos.
+     */
+    private static MethodHandle encadenar(MethodHandle anterior, MethodHandle siguiente) {
+        return anterior == null ? siguiente : MethodHandles.foldArguments(siguiente, anterior);
+    }
+
+    private static IllegalArgumentException invalido(String clausula, String detalle) {
+        return new IllegalArgumentException("Efecto inválido en '" + clausula + "': " + detalle);
+    }
+
+    // =========================
+    //   Acciones
+    // =========================
+    private static void bonus(int puntos, Mago atacante, Mago rival, Random azar) {
+        atacante.sumarPuntos(puntos);
+    }
+
+    private static void drenar(int puntos, Mago atacante, Mago rival, Random azar) {
+        atacante.sumarPuntos(rival.quitarPuntos(puntos));
+    }
+
+    private static void curar(int puntos, Mago atacante, Mago rival, Random azar) {
+        int desventaja = rival.getPuntosAcumulados() - atacante.getPuntosAcumulados();
+        if (desventaja > 0) {
+            atacante.sumarPuntos(Math.min(puntos, desventaja));
+        }
+    }
+
+    private static void aturdir(Mago atacante, Mago rival, Random azar) {
+        rival.aturdir();
+    }
+
+    private static boolean sorteo(double probabilidad, Mago atacante, Mago rival, Random azar) {
+        return azar.nextDouble() < probabilidad;
+    }
+}
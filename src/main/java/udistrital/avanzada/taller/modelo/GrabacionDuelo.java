@@ -0,0 +1,297 @@
+package udistrital.avanzada.taller.modelo;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Grabación compacta de un duelo, para volver a verlo y saltar a cualquier
+ * turno sin simularlo de nuevo.
+ * <p>
+ * Cada evento (hechizo, aturdimiento, recuperación) ocupa un {@code long}:
+ * </p>
+ * <pre>
+ * bits 62-63  tipo ({@link #HECHIZO}, {@link #ATURDIDO}, {@link #RECUPERA})
+ * bit  61     lado (0 = mago 1, 1 = mago 2)
+ * bits 40-60  hechizo (posición en el diccionario de la grabación)
+ * bits 20-39  puntos del mago 1 después del evento
+ * bits  0-19  puntos del mago 2 después del evento
+ * </pre>
+ * <p>
+ * Cada {@code turnosPorClave} eventos se guarda además una clave con el
+ * estado completo (puntos, hechizos lanzados y aturdimiento de los dos). Para
+ * llegar a un turno se copia la clave anterior y se aplican a lo sumo
+ * {@code turnosPorClave - 1} eventos: el costo no depende de la duración del
+ * duelo.
+ * </p>
+ *
+ * <p>
+ * La grabación se llena desde los hilos del duelo, que ya se turnan con el
+ * monitor del {@link udistrital.avanzada.taller.control.CampoDeDuelo
+ * CampoDeDuelo}; solo debe leerse después de {@link #terminar(int, int)} y de
+ * publicarla con una sincronización (por ejemplo, una colección
+ * sincronizada).
+ * </p>
+ *
+ * @author Paula Martínez
+ * @version 1.0
+ * @since 2026-10-19
+ */
+public final class GrabacionDuelo {
+
+    /** Un mago lanzó un hechizo. */
+    public static final int HECHIZO = 0;
+    /** Un mago quedó aturdido. */
+    public static final int ATURDIDO = 1;
+    /** Un mago se recuperó del aturdimiento (y perdió su turno). */
+    public static final int RECUPERA = 2;
+
+    /** Posición de los puntos del mago 1 en el arreglo de estado. */
+    public static final int PUNTOS_1 = 0;
+    /** Posición de los puntos del mago 2 en el arreglo de estado. */
+    public static final int PUNTOS_2 = 1;
+    /** Posición de los hechizos lanzados por el mago 1. */
+    public static final int HECHIZOS_1 = 2;
+    /** Posición de los hechizos lanzados por el mago 2. */
+    public static final int HECHIZOS_2 = 3;
+    /** Posición del aturdimiento del mago 1 (1 = aturdido). */
+    public static final int ATURDIDO_1 = 4;
+    /** Posición del aturdimiento del mago 2 (1 = aturdido). */
+    public static final int ATURDIDO_2 = 5;
+    /** Tamaño del arreglo de estado. */
+    public static final int TAMANO_ESTADO = 6;
+
+    private static final int BITS_PUNTOS = 20;
+    private static final int MAX_PUNTOS = (1 << BITS_PUNTOS) - 1;
+    private static final int BITS_HECHIZO = 21;
+    private static final int MAX_HECHIZO = (1 << BITS_HECHIZO) - 1;
+
+    private final String nombre1;
+    private final String nombre2;
+    private final int turnosPorClave;
+
+    private long[] eventos = new long[64];
+    private int cantidad;
+    /**
+     * Claves de {@link #TAMANO_ESTADO} enteros; la {@code k} es el estado tras
+     * los primeros {@code k * turnosPorClave} eventos.
+     */
+    private int[] claves;
+    /** Estado después del último evento grabado. */
+    private final int[] actual = new int[TAMANO_ESTADO];
+
+    private final Map<String, Integer> indiceHechizos = new HashMap<>();
+    private final List<String> hechizos = new ArrayList<>();
+
+    private int ronda;
+    private int ganador = -1;
+
+    /**
+     * Empieza una grabación vacía.
+     *
+     * @param nombre1 nombre del mago 1
+     * @param nombre2 nombre del mago 2
+     * @param turnosPorClave eventos entre dos claves (mayor que cero)
+     * @throws IllegalArgumentException si {@code turnosPorClave <= 0}
+     */
+    public GrabacionDuelo(String nombre1, String nombre2, int turnosPorClave) {
+        if (turnosPorClave <= 0) {
+            throw new IllegalArgumentException("Los turnos entre claves deben ser positivos");
+        }
+        this.nombre1 = nombre1;
+        this.nombre2 = nombre2;
+        this.turnosPorClave = turnosPorClave;
+        this.claves = new int[TAMANO_ESTADO * 8];
+        // Clave 0: estado inicial, todo en cero
+    }
+
+    // =========================
+    //   Grabación
+    // =========================
+    /**
+     * Graba un lanzamiento.
+     *
+     * @param lado 0 para el mago 1, 1 para el mago 2
+     * @param hechizo nombre del hechizo
+     * @param puntos1 puntos del mago 1 después del lanzamiento y su efecto
+     * @param puntos2 puntos del mago 2 después del lanzamiento y su efecto
+     */
+    public void registrarHechizo(int lado, String hechizo, int puntos1, int puntos2) {
+        Integer indice = indiceHechizos.get(hechizo);
+        if (indice == null) {
+            indice = Math.min(hechizos.size(), MAX_HECHIZO);
+            indiceHechizos.put(hechizo, indice);
+            hechizos.add(hechizo);
+        }
+        agregar(((long) HECHIZO << 62) | ((long) (lado & 1) << 61) | ((long) indice << 40)
+                | ((long) acotar(puntos1) << BITS_PUNTOS) | acotar(puntos2));
+    }
+
+    /**
+     * Graba que un mago quedó aturdido.
+     *
+     * @param lado 0 para el mago 1, 1 para el mago 2
+     */
+    public void registrarAturdido(int lado) {
+        agregar(conPuntosActuales(ATURDIDO, lado));
+    }
+
+    /**
+     * Graba que un mago se recuperó.
+     *
+     * @param lado 0 para el mago 1, 1 para el mago 2
+     */
+    public void registrarRecupera(int lado) {
+        agregar(conPuntosActuales(RECUPERA, lado));
+    }
+
+    /**
+     * Cierra la grabación.
+     *
+     * @param ronda ronda del duelo en el torneo
+     * @param ganador 0 o 1 según el lado ganador, o {@code -1} si no hubo
+     */
+    public void terminar(int ronda, int ganador) {
+        this.ronda = ronda;
+        this.ganador = ganador;
+        indiceHechizos.clear();
+    }
+
+    private long conPuntosActuales(int tipo, int lado) {
+        return ((long) tipo << 62) | ((long) (lado & 1) << 61)
+                | ((long) actual[PUNTOS_1] << BITS_PUNTOS) | actual[PUNTOS_2];
+    }
+
+    private static int acotar(int puntos) {
+        return Math.max(0, Math.min(puntos, MAX_PUNTOS));
+    }
+
+    private void agregar(long evento) {
+        if (cantidad == eventos.length) {
+            eventos = Arrays.copyOf(eventos, cantidad * 2);
+        }
+        eventos[cantidad++] = evento;
+        aplicar(evento, actual);
+        if (cantidad % turnosPorClave == 0) {
+            int k = cantidad / turnosPorClave;
+            if ((k + 1) * TAMANO_ESTADO > claves.length) {
+                claves = Arrays.copyOf(claves, claves.length * 2);
+            }
+            System.arraycopy(actual, 0, claves, k * TAMANO_ESTADO, TAMANO_ESTADO);
+        }
+    }
+
+    private static void aplicar(long evento, int[] estado) {
+        int lado = ladoDe(evento);
+        switch (tipoDe(evento)) {
+            case HECHIZO -> {
+                estado[PUNTOS_1] = (int) (evento >>> BITS_PUNTOS) & MAX_PUNTOS;
+                estado[PUNTOS_2] = (int) evento & MAX_PUNTOS;
+                estado[HECHIZOS_1 + lado]++;
+            }
+            case ATURDIDO -> estado[ATURDIDO_1 + lado] = 1;
+            case RECUPERA -> estado[ATURDIDO_1 + lado] = 0;
+            default -> {
+                // tipo reservado: no cambia el estado
+            }
+        }
+    }
+
+    private static int tipoDe(long evento) {
+        return (int) (evento >>> 62);
+    }
+
+    private static int ladoDe(long evento) {
+        return (int) (evento >>> 61) & 1;
+    }
+
+    // =========================
+    //   Lectura
+    // =========================
+    /**
+     * Reconstruye el estado después de los primeros {@code turno} eventos,
+     * partiendo de la clave anterior.
+     *
+     * @param turno cantidad de eventos aplicados ({@code 0..getEventos()})
+     * @param estado arreglo de {@link #TAMANO_ESTADO} enteros a llenar
+     * @throws IndexOutOfBoundsException si el turno está fuera de rango
+     */
+    public void estadoEn(int turno, int[] estado) {
+        if (turno < 0 || turno > cantidad) {
+            throw new IndexOutOfBoundsException("Turno fuera de la grabación: " + turno);
+        }
+        int k = turno / turnosPorClave;
+        System.arraycopy(claves, k * TAMANO_ESTADO, estado, 0, TAMANO_ESTADO);
+        for (int i = k * turnosPorClave; i < turno; i++) {
+            aplicar(eventos[i], estado);
+        }
+    }
+
+    /**
+     * @return cantidad de eventos grabados
+     */
+    public int getEventos() {
+        return cantidad;
+    }
+
+    /**
+     * @param i posición del evento
+     * @return {@link #HECHIZO}, {@link #ATURDIDO} o {@link #RECUPERA}
+     */
+    public int tipoEvento(int i) {
+        return tipoDe(eventos[i]);
+    }
+
+    /**
+     * @param i posición del evento
+     * @return 0 si el evento es del mago 1, 1 si es del mago 2
+     */
+    public int ladoEvento(int i) {
+        return ladoDe(eventos[i]);
+    }
+
+    /**
+     * @param i posición del evento
+     * @return nombre del hechizo, o {@code null} si el evento no es un
+     * lanzamiento
+     */
+    public String hechizoEvento(int i) {
+        long evento = eventos[i];
+        if (tipoDe(evento) != HECHIZO) {
+            return null;
+        }
+        return hechizos.get((int) (evento >>> 40) & MAX_HECHIZO);
+    }
+
+    /**
+     * @param lado 0 para el mago 1, 1 para el mago 2
+     * @return nombre del mago
+     */
+    public String getNombre(int lado) {
+        return lado == 0 ? nombre1 : nombre2;
+    }
+
+    /**
+     * @return ronda del duelo en el torneo
+     */
+    public int getRonda() {
+        return ronda;
+    }
+
+    /**
+     * @return lado ganador (0 o 1), o {@code -1} si el duelo no terminó
+     */
+    public int getGanador() {
+        return ganador;
+    }
+
+    /**
+     * @return bytes que ocupan los eventos y las claves
+     */
+    public long getBytes() {
+        return (long) cantidad * Long.BYTES
+                + (long) (cantidad / turnosPorClave + 1) * TAMANO_ESTADO * Integer.BYTES;
+    }
+}
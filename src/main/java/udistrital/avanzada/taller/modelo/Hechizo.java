@@ -2,8 +2,8 @@ package udistrital.avanzada.taller.modelo;
 
 /**
  * Representa un hechizo mágico que puede ser lanzado por un mago durante un
- * duelo. Cada hechizo tiene un nombre y una cantidad de puntos que aporta al
- * mago que lo utiliza.
+ * duelo. Cada hechizo tiene un nombre, una cantidad de puntos que aporta al
+ * mago que lo utiliza y un {@link EfectoHechizo} que se aplica al lanzarlo.
  *
  * <p>
  * Originalmente creada por Paula Martínez.<br>
@@ -27,15 +27,34 @@ public class Hechizo {
     private final int puntos;
 
     /**
-     * Crea un nuevo hechizo con el nombre y puntos indicados.
+     * Efecto compilado que se aplica al lanzar el hechizo.
+     */
+    private final EfectoHechizo efecto;
+
+    /**
+     * Crea un nuevo hechizo con el nombre y puntos indicados y el efecto
+     * predeterminado.
      *
      * @param nombre nombre del hechizo
      * @param puntos cantidad de puntos que otorga
      * @throws IllegalArgumentException si los puntos están fuera del rango permitido
      */
     public Hechizo(String nombre, int puntos) {
+        this(nombre, puntos, EfectoHechizo.PREDETERMINADO);
+    }
+
+    /**
+     * Crea un nuevo hechizo con un efecto propio.
+     *
+     * @param nombre nombre del hechizo
+     * @param puntos cantidad de puntos que otorga
+     * @param efecto efecto ya compilado ({@code null} equivale a
+     * {@link EfectoHechizo#PREDETERMINADO})
+     */
+    public Hechizo(String nombre, int puntos, EfectoHechizo efecto) {
         this.nombre = nombre;
         this.puntos = puntos;
+        this.efecto = efecto == null ? EfectoHechizo.PREDETERMINADO : efecto;
     }
 
     /**
@@ -56,4 +75,13 @@ public class Hechizo {
         return puntos;
     }
 
+    /**
+     * Devuelve el efecto que se aplica al lanzar este hechizo.
+     *
+     * @return efecto compilado (nunca null)
+     */
+    public EfectoHechizo getEfecto() {
+        return efecto;
+    }
+
 }
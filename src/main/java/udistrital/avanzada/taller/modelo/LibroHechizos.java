@@ -1,6 +1,11 @@
 package udistrital.avanzada.taller.modelo;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 
 /**
  * Clase de modelo que agrupa los hechizos disponibles del torneo.
@@ -11,6 +16,12 @@ import java.util.List;
  * </p>
  *
  * <p>
+ * Al asignar los hechizos se arman dos índices por nombre: una tabla hash
+ * para {@link #buscarPorNombre(String)} y un arreglo ordenado para
+ * {@link #buscarPorPrefijo(String, int)}.
+ * </p>
+ *
+ * <p>
  * Originalmente creada por Paula Martínez.<br>
  * Modificada por Juan Sebastián Bravo Rojas
  * </p>
@@ -22,23 +33,117 @@ import java.util.List;
 public class LibroHechizos {
 
     /**
-     * Lista de todos los hechizos disponibles.
+     * Hechizos publicados junto con sus índices por nombre. Se reemplaza
+     * entero en cada {@link #setHechizos}; al ser {@code volatile}, quien lo
+     * lea desde otro hilo (por ejemplo, un duelo) lo ve completo.
      */
-    private List<Hechizo> hechizos;
+    private volatile Indice indice = Indice.VACIO;
 
     /**
-     * @return lista completa de hechizos
+     * Devuelve la lista publicada en el último {@link #setHechizos}, sin
+     * copiarla.
+     *
+     * @return lista completa de hechizos, inmutable (nunca null)
      */
     public List<Hechizo> getHechizos() {
-        return List.copyOf(hechizos);
+        return indice.hechizos;
     }
 
 
     /**
-     * @param hechizos lista de hechizos a asignar
+     * Publica una copia inmutable de los hechizos y arma sus índices por
+     * nombre; cambios posteriores en la lista recibida no afectan al libro.
+     *
+     * @param hechizos lista de hechizos a asignar ({@code null} equivale a
+     * vacía)
      */
     public void setHechizos(List<Hechizo> hechizos) {
-        this.hechizos = hechizos;
+        this.indice = hechizos == null || hechizos.isEmpty() ? Indice.VACIO : new Indice(List.copyOf(hechizos));
+    }
+
+    /**
+     * Busca un hechizo por su nombre exacto (distingue mayúsculas). Si hay
+     * nombres repetidos, devuelve el primero del libro.
+     *
+     * @param nombre nombre del hechizo
+     * @return hechizo con ese nombre, o {@code null} si no existe
+     */
+    public Hechizo buscarPorNombre(String nombre) {
+        return nombre == null ? null : indice.porNombre.get(nombre);
+    }
+
+    /**
+     * Busca los hechizos cuyo nombre empieza con el prefijo, sin distinguir
+     * mayúsculas, en orden alfabético. Sirve para autocompletar y filtrar.
+     *
+     * @param prefijo comienzo del nombre (vacío devuelve los primeros en
+     * orden alfabético)
+     * @param limite máximo de resultados
+     * @return hechizos encontrados (lista nueva, posiblemente vacía)
+     */
+    public List<Hechizo> buscarPorPrefijo(String prefijo, int limite) {
+        Indice actual = indice;
+        if (prefijo == null || limite <= 0) {
+            return List.of();
+        }
+        String clave = prefijo.toLowerCase(Locale.ROOT);
+        String[] claves = actual.clavesOrdenadas;
+        int desde = Arrays.binarySearch(claves, clave);
+        if (desde < 0) {
+            desde = -desde - 1;
+        } else {
+            // Con claves repetidas, retrocede hasta la primera
+            while (desde > 0 && claves[desde - 1].equals(clave)) {
+                desde--;
+            }
+        }
+        List<Hechizo> encontrados = new ArrayList<>(Math.min(limite, 16));
+        for (int i = desde; i < claves.length && encontrados.size() < limite
+                && claves[i].startsWith(clave); i++) {
+            encontrados.add(actual.hechizos.get(actual.posicionesOrdenadas[i]));
+        }
+        return encontrados;
     }
 
+    /**
+     * Instantánea inmutable del libro: la lista, una tabla hash para búsqueda
+     * exacta y los nombres en minúsculas ordenados (con la posición de cada
+     * uno en la lista) para búsqueda por prefijo.
+     */
+    private static final class Indice {
+
+        static final Indice VACIO = new Indice(List.of());
+
+        final List<Hechizo> hechizos;
+        final Map<String, Hechizo> porNombre;
+        final String[] clavesOrdenadas;
+        final int[] posicionesOrdenadas;
+
+        Indice(List<Hechizo> hechizos) {
+            int n = hechizos.size();
+            this.hechizos = hechizos;
+            this.porNombre = new HashMap<>(Math.max(16, (int) (n / 0.75f) + 1));
+
+            String[] claves = new String[n];
+            for (int i = 0; i < n; i++) {
+                Hechizo h = hechizos.get(i);
+                String nombre = h.getNombre() == null ? "" : h.getNombre();
+                porNombre.putIfAbsent(nombre, h);
+                claves[i] = nombre.toLowerCase(Locale.ROOT);
+            }
+            // Orden estable por clave: se ordenan las posiciones y luego se
+            // reacomodan las claves
+            Integer[] posiciones = new Integer[n];
+            for (int i = 0; i < n; i++) {
+                posiciones[i] = i;
+            }
+            Arrays.sort(posiciones, (x, y) -> claves[x].compareTo(claves[y]));
+            this.clavesOrdenadas = new String[n];
+            this.posicionesOrdenadas = new int[n];
+            for (int i = 0; i < n; i++) {
+                clavesOrdenadas[i] = claves[posiciones[i]];
+                posicionesOrdenadas[i] = posiciones[i];
+            }
+        }
+    }
 }
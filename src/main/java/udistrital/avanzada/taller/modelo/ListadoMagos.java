@@ -1,8 +1,9 @@
 package udistrital.avanzada.taller.modelo;
 
-import java.util.ArrayList;
-import java.util.Collections;
+import java.util.AbstractList;
 import java.util.List;
+import java.util.Objects;
+import java.util.RandomAccess;
 
 /**
  * Clase de modelo que almacena los magos participantes del torneo.
@@ -13,6 +14,12 @@ import java.util.List;
  * </p>
  *
  * <p>
+ * Los datos se guardan en columnas en un {@link AlmacenMagos}; el torneo
+ * trabaja con las posiciones de ese almacén y solo crea objetos {@link Mago}
+ * para los magos que están en duelo.
+ * </p>
+ *
+ * <p>
  * Originalmente creada por Paula Martínez.<br>
  * Modificada por Juan Sebastián Bravo Rojas
  * </p>
@@ -23,19 +30,113 @@ import java.util.List;
  */
 public class ListadoMagos {
 
-    /** Lista de magos participantes. */
-    private List<Mago> magos = new ArrayList<>(); //inicializa vacía por defecto
+    /**
+     * Magos participantes: el almacén inmutable y su vista como lista, que se
+     * publican juntos en cada {@code set*}. Al ser {@code volatile}, quien lo
+     * lea desde otro hilo ve el almacén completo.
+     */
+    private volatile VistaMagos vista = new VistaMagos(AlmacenMagos.VACIO);
 
-    /** @return lista de magos registrados (nunca null) */
-    public List<Mago> getMagos() {
-        // si aún no se asignó o es null, devuelve lista vacía
-        return magos == null ? Collections.emptyList() : List.copyOf(magos);
+    /**
+     * Crea un listado vacío.
+     */
+    public ListadoMagos() {
+    }
+
+    /**
+     * Crea un listado con los magos de un almacén.
+     *
+     * @param almacen magos en columnas
+     */
+    public ListadoMagos(AlmacenMagos almacen) {
+        setAlmacen(almacen);
     }
 
+    /**
+     * Devuelve los magos como lista de solo lectura. La lista y sus magos son
+     * los mismos mientras no se llame a un {@code set*}: el primer
+     * {@code get} arma todos los {@link Mago} del almacén (ver
+     * {@link AlmacenMagos#mago(int)}), así que para recorrer listados grandes
+     * sin crear objetos conviene usar {@link #getAlmacen()}. Los cambios en
+     * un mago de la lista (por ejemplo su rating) llegan al torneo solo
+     * después de volver a pasar la lista a {@link #setMagos(List)}.
+     *
+     * @return lista de magos registrados (nunca null)
+     */
+    public List<Mago> getMagos() {
+        return vista;
+    }
 
-    /** @param magos nueva lista de magos */
+    /**
+     * Reemplaza los magos del listado copiando su nombre, casa y rating al
+     * almacén. Las casas se registran en la tabla del listado.
+     *
+     * @param magos nueva lista de magos
+     */
     public void setMagos(List<Mago> magos) {
-        this.magos = magos;
+        if (magos == null || magos.isEmpty()) {
+            setAlmacen(AlmacenMagos.VACIO);
+            return;
+        }
+        // La tabla del almacén vacío es compartida: nunca se registra en ella
+        AlmacenMagos actual = vista.almacen;
+        TablaCasas tabla = actual == AlmacenMagos.VACIO ? new TablaCasas() : actual.getTablaCasas();
+        setAlmacen(AlmacenMagos.desdeLista(magos, tabla));
+    }
+
+    /** @return magos del listado en columnas (nunca null) */
+    public AlmacenMagos getAlmacen() {
+        return vista.almacen;
+    }
+
+    /** @param almacen magos del listado en columnas */
+    public void setAlmacen(AlmacenMagos almacen) {
+        this.vista = new VistaMagos(almacen == null ? AlmacenMagos.VACIO : almacen);
     }
 
+    /** @return diccionario de casas del listado (nunca null) */
+    public TablaCasas getTablaCasas() {
+        return vista.almacen.getTablaCasas();
+    }
+
+    /**
+     * Cambia el diccionario de casas, recodificando las casas de los magos
+     * por nombre.
+     *
+     * @param tablaCasas diccionario con el que se codifican las casas
+     */
+    public void setTablaCasas(TablaCasas tablaCasas) {
+        setAlmacen(vista.almacen.conTabla(tablaCasas == null ? new TablaCasas() : tablaCasas));
+    }
+
+    /**
+     * Cuenta los magos de cada casa usando el código de casa como índice.
+     *
+     * @return arreglo indexado por código de casa
+     */
+    public int[] contarPorCasa() {
+        return vista.almacen.contarPorCasa();
+    }
+
+    /**
+     * Lista de solo lectura sobre un almacén.
+     */
+    private static final class VistaMagos extends AbstractList<Mago> implements RandomAccess {
+
+        private final AlmacenMagos almacen;
+
+        VistaMagos(AlmacenMagos almacen) {
+            this.almacen = almacen;
+        }
+
+        @Override
+        public Mago get(int indice) {
+            return almacen.mago(Objects.checkIndex(indice, almacen.tamano()));
+        }
+
+        @Override
+        public int size() {
+            return almacen.tamano();
+        }
+    }
 }
@@ -1,5 +1,8 @@
 package udistrital.avanzada.taller.modelo;
 
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
 /**
  * Representa a un mago participante del torneo.
  * <p>
@@ -8,6 +11,24 @@ package udistrital.avanzada.taller.modelo;
  * </p>
  *
  * <p>
+ * El estado de combate se comparte entre hilos sin bloqueos: durante un
+ * duelo lo escriben los hilos de ambos magos (el rival aturde o drena) y lo
+ * leen la interfaz y las estadísticas. Reglas de publicación:
+ * </p>
+ * <ul>
+ * <li>Los puntos y los hechizos lanzados viven juntos en un solo
+ * {@code long} ({@link #getMarcador()}), que se modifica solo con
+ * operaciones atómicas de un {@link VarHandle} (suma o
+ * compara-e-intercambia). Una lectura devuelve siempre un par coherente:
+ * nunca los puntos de un lanzamiento con el contador del anterior.</li>
+ * <li>El marcador y {@code aturdido} son {@code volatile}: lo escrito antes
+ * de modificarlos (por ejemplo, el hechizo que se informa al observador) es
+ * visible para quien lea el valor nuevo.</li>
+ * <li>{@link #reiniciarPuntaje()} debe llamarse antes de arrancar los hilos
+ * del duelo; {@link Thread#start()} publica el estado inicial.</li>
+ * </ul>
+ *
+ * <p>
  * Originalmente creada por Paula Martínez.<br>
  * Modificada por Juan Sebastián Bravo Rojas
  * </p>
@@ -24,29 +45,49 @@ public class Mago {
     private String nombre;
 
     /**
-     * Casa a la que pertenece el mago.
+     * Casa a la que pertenece el mago (compartida con los demás magos de la
+     * misma casa, ver {@link TablaCasas}).
      */
-    private String casa;
+    private Casa casa;
 
     /**
-     * Puntos acumulados durante el duelo actual.
+     * Puntuación de clasificación (rating) usada para sembrar el torneo.
      */
-    private int puntosAcumulados;
+    private int rating;
 
     /**
-     * Cantidad de hechizos lanzados.
+     * Posición del mago en el {@link AlmacenMagos} del que salió, o
+     * {@code -1} si se creó suelto.
      */
-    private int hechizosLanzados;
+    private int indice = -1;
 
     /**
-     * Indica si el mago está aturdido.
+     * Puntos acumulados durante el duelo actual (32 bits altos, con signo) y
+     * cantidad de hechizos lanzados (32 bits bajos). Solo se modifica a
+     * través de {@link #MARCADOR}.
      */
-    private boolean aturdido;
+    private volatile long marcador;
 
     /**
-     * Referencia a su contrincante actual.
+     * Indica si el mago está aturdido.
      */
-    private Mago rival;
+    private volatile boolean aturdido;
+
+    private static final VarHandle MARCADOR;
+    private static final VarHandle ATURDIDO;
+
+    static {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            MARCADOR = lookup.findVarHandle(Mago.class, "marcador", long.class);
+            ATURDIDO = lookup.findVarHandle(Mago.class, "aturdido", boolean.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    /** Suma de un hechizo lanzado en el marcador. */
+    private static final long UN_HECHIZO = 1L;
 
     /**
      * Constructor vacio para mayor dinamismo
@@ -61,11 +102,19 @@ public class Mago {
      * @param casa casa a la que pertenece
      */
     public Mago(String nombre, String casa) {
+        this(nombre, casa == null ? null : Casa.suelta(casa));
+    }
+
+    /**
+     * Crea un mago con nombre y una casa ya codificada.
+     *
+     * @param nombre nombre del mago
+     * @param casa casa a la que pertenece (normalmente de una
+     * {@link TablaCasas})
+     */
+    public Mago(String nombre, Casa casa) {
         this.nombre = nombre;
         this.casa = casa;
-        this.puntosAcumulados = 0;
-        this.hechizosLanzados = 0;
-        this.aturdido = false;
     }
 
     /**
@@ -76,16 +125,46 @@ public class Mago {
      */
     public void lanzarHechizo(Hechizo hechizo) {
         if (hechizo != null && !aturdido) {
-            this.puntosAcumulados += hechizo.getPuntos();
-            this.hechizosLanzados++;
+            // Puntos y contador cambian en una sola operación atómica
+            MARCADOR.getAndAdd(this, ((long) hechizo.getPuntos() << 32) + UN_HECHIZO);
+        }
+    }
+
+    /**
+     * Suma puntos sin contar un hechizo lanzado (por ejemplo, un efecto).
+     *
+     * @param puntos puntos a sumar (puede ser negativo)
+     * @return puntos acumulados después de sumar
+     */
+    public int sumarPuntos(int puntos) {
+        long anterior = (long) MARCADOR.getAndAdd(this, (long) puntos << 32);
+        return puntosDe(anterior) + puntos;
+    }
+
+    /**
+     * Quita hasta {@code maximo} puntos sin dejar el puntaje en negativo.
+     *
+     * @param maximo puntos a quitar como máximo
+     * @return puntos quitados realmente (entre 0 y {@code maximo})
+     */
+    public int quitarPuntos(int maximo) {
+        while (true) {
+            long actual = marcador;
+            int quitados = Math.max(0, Math.min(maximo, puntosDe(actual)));
+            if (quitados == 0 || MARCADOR.compareAndSet(this, actual, actual - ((long) quitados << 32))) {
+                return quitados;
+            }
         }
     }
 
     /**
      * Marca al mago como aturdido.
+     *
+     * @return {@code true} si esta llamada lo aturdió, {@code false} si ya
+     * estaba aturdido
      */
-    public void aturdir() {
-        this.aturdido = true;
+    public boolean aturdir() {
+        return ATURDIDO.compareAndSet(this, false, true);
     }
 
     /**
@@ -99,11 +178,36 @@ public class Mago {
      * Reinicia los puntos y hechizos lanzados para un nuevo duelo.
      */
     public void reiniciarPuntaje() {
-        this.puntosAcumulados = 0;
-        this.hechizosLanzados = 0;
+        this.marcador = 0L;
         this.aturdido = false;
     }
 
+    /**
+     * Lee los puntos y los hechizos lanzados de una sola vez. Se separan con
+     * {@link #puntosDe(long)} y {@link #hechizosDe(long)}.
+     *
+     * @return marcador actual
+     */
+    public long getMarcador() {
+        return marcador;
+    }
+
+    /**
+     * @param marcador valor devuelto por {@link #getMarcador()}
+     * @return puntos acumulados en ese marcador
+     */
+    public static int puntosDe(long marcador) {
+        return (int) (marcador >> 32);
+    }
+
+    /**
+     * @param marcador valor devuelto por {@link #getMarcador()}
+     * @return hechizos lanzados en ese marcador
+     */
+    public static int hechizosDe(long marcador) {
+        return (int) marcador;
+    }
+
     /**
      * Indica si el mago está actualmente aturdido.
      *
@@ -120,7 +224,7 @@ public class Mago {
      * @return puntos acumulados
      */
     public int getPuntosAcumulados() {
-        return puntosAcumulados;
+        return puntosDe(marcador);
     }
 
     /**
@@ -129,7 +233,10 @@ public class Mago {
      * @param puntosAcumulados nuevos puntos del mago
      */
     public void setPuntosAcumulados(int puntosAcumulados) {
-        this.puntosAcumulados = puntosAcumulados;
+        long actual;
+        do {
+            actual = marcador;
+        } while (!MARCADOR.compareAndSet(this, actual, ((long) puntosAcumulados << 32) | (actual & 0xFFFFFFFFL)));
     }
 
 
@@ -139,7 +246,7 @@ public class Mago {
      * @return número de hechizos lanzados
      */
     public int getHechizosLanzados() {
-        return hechizosLanzados;
+        return hechizosDe(marcador);
     }
 
     /**
@@ -148,7 +255,10 @@ public class Mago {
      * @param hechizosLanzados nueva cantidad de hechizos lanzados
      */
     public void setHechizosLanzados(int hechizosLanzados) {
-        this.hechizosLanzados = hechizosLanzados;
+        long actual;
+        do {
+            actual = marcador;
+        } while (!MARCADOR.compareAndSet(this, actual, (actual & ~0xFFFFFFFFL) | (hechizosLanzados & 0xFFFFFFFFL)));
     }
 
     /**
@@ -176,35 +286,80 @@ public class Mago {
      * @return nombre de la casa
      */
     public String getCasa() {
-        return casa;
+        return casa == null ? null : casa.getNombre();
     }
 
     /**
-     * Establece la casa del mago.
+     * Establece la casa del mago. La casa queda sin código; para agregarla
+     * por casa debe asignarse una de la {@link TablaCasas} del listado.
      *
      * @param casa nueva casa del mago
      */
     public void setCasa(String casa) {
-        this.casa = casa.trim();
+        this.casa = Casa.suelta(casa.trim());
+    }
+
+    /**
+     * Devuelve la casa codificada del mago.
+     *
+     * @return casa del mago
+     */
+    public Casa getCasaCodificada() {
+        return casa;
     }
 
     /**
-     * Devuelve la referencia al rival actual del mago.
+     * Asigna una casa ya codificada.
      *
-     * @return rival del mago
+     * @param casa nueva casa del mago
      */
-    public Mago getRival() {
-        return rival;
+    public void setCasaCodificada(Casa casa) {
+        this.casa = casa;
     }
 
     /**
-     * Asigna un nuevo rival al mago.
+     * Devuelve el código de la casa del mago en su {@link TablaCasas}.
      *
-     * @param rival mago rival
+     * @return código de la casa, o {@link Casa#SIN_CODIGO} si no tiene
      */
-    public void setRival(Mago rival) {
-        this.rival = rival;
+    public int getCodigoCasa() {
+        return casa == null ? Casa.SIN_CODIGO : casa.getCodigo();
     }
 
+    /**
+     * Obtiene la puntuación de clasificación del mago.
+     *
+     * @return rating del mago (0 si no fue definido)
+     */
+    public int getRating() {
+        return rating;
+    }
+
+    /**
+     * Establece la puntuación de clasificación del mago.
+     *
+     * @param rating nuevo rating del mago
+     */
+    public void setRating(int rating) {
+        this.rating = rating;
+    }
+
+    /**
+     * Obtiene la posición del mago en su {@link AlmacenMagos}.
+     *
+     * @return índice del mago, o {@code -1} si no proviene de un almacén
+     */
+    public int getIndice() {
+        return indice;
+    }
+
+    /**
+     * Establece la posición del mago en su {@link AlmacenMagos}.
+     *
+     * @param indice índice del mago
+     */
+    public void setIndice(int indice) {
+        this.indice = indice;
+    }
 
 }
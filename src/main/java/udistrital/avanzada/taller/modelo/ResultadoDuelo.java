@@ -35,6 +35,12 @@ public class ResultadoDuelo {
     /** Cantidad de hechizos lanzados por el ganador. */
     private int hechizosLanzadosGanador;
 
+    /** Cantidad de hechizos lanzados por el perdedor. */
+    private int hechizosLanzadosPerdedor;
+
+    /** Ronda del torneo en que se jugó el duelo (0 si fue un duelo suelto). */
+    private int ronda;
+
     /**
      * Constructor vacío por defecto.
      * <p>
@@ -136,4 +142,32 @@ public class ResultadoDuelo {
     public void setHechizosLanzadosGanador(int hechizosLanzadosGanador) {
         this.hechizosLanzadosGanador = hechizosLanzadosGanador;
     }
+
+    /** @return cantidad de hechizos lanzados por el perdedor */
+    public int getHechizosLanzadosPerdedor() {
+        return hechizosLanzadosPerdedor;
+    }
+
+    /**
+     * Asigna la cantidad de hechizos lanzados por el perdedor.
+     *
+     * @param hechizosLanzadosPerdedor número de hechizos (>= 0)
+     */
+    public void setHechizosLanzadosPerdedor(int hechizosLanzadosPerdedor) {
+        this.hechizosLanzadosPerdedor = hechizosLanzadosPerdedor;
+    }
+
+    /** @return ronda del torneo en que se jugó el duelo (0 si fue suelto) */
+    public int getRonda() {
+        return ronda;
+    }
+
+    /**
+     * Asigna la ronda del torneo en que se jugó el duelo.
+     *
+     * @param ronda número de ronda (desde 1)
+     */
+    public void setRonda(int ronda) {
+        this.ronda = ronda;
+    }
 }
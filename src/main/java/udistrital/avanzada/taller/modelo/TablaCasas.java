@@ -0,0 +1,91 @@
+package udistrital.avanzada.taller.modelo;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Diccionario de casas de un listado de magos.
+ * <p>
+ * Se arma al cargar el listado: cada nombre de casa distinto recibe un código
+ * consecutivo desde 0, en orden de aparición, y una única instancia de
+ * {@link Casa} que comparten todos sus magos. Los códigos sirven como índice
+ * de arreglos para agregar por casa (ver
+ * {@link ListadoMagos#contarPorCasa()}).
+ * </p>
+ *
+ * @author Paula Martínez
+ * @version 1.0
+ * @since 2026-10-19
+ */
+public class TablaCasas {
+
+    /**
+     * Casas en orden de código.
+     */
+    private final List<Casa> casas = new ArrayList<>();
+
+    /**
+     * Casas por nombre, para registrar sin duplicar.
+     */
+    private final Map<String, Casa> porNombre = new HashMap<>();
+
+    /**
+     * Devuelve la casa con ese nombre, registrándola si aún no existe.
+     *
+     * @param nombre nombre de la casa
+     * @return casa compartida para ese nombre
+     * @throws IllegalArgumentException si el nombre es nulo
+     */
+    public synchronized Casa registrar(String nombre) {
+        if (nombre == null) {
+            throw new IllegalArgumentException("El nombre de la casa no puede ser nulo");
+        }
+        Casa casa = porNombre.get(nombre);
+        if (casa == null) {
+            casa = new Casa(casas.size(), nombre);
+            casas.add(casa);
+            porNombre.put(nombre, casa);
+        }
+        return casa;
+    }
+
+    /**
+     * Obtiene la casa de un código.
+     *
+     * @param codigo código de la casa (0..tamano-1)
+     * @return casa correspondiente
+     * @throws IndexOutOfBoundsException si el código no existe
+     */
+    public synchronized Casa obtener(int codigo) {
+        return casas.get(codigo);
+    }
+
+    /**
+     * Indica si la casa fue registrada en esta tabla.
+     *
+     * @param casa casa a verificar
+     * @return {@code true} si su código corresponde a esta misma instancia
+     */
+    public synchronized boolean contiene(Casa casa) {
+        int codigo = casa == null ? Casa.SIN_CODIGO : casa.getCodigo();
+        return codigo >= 0 && codigo < casas.size() && casas.get(codigo) == casa;
+    }
+
+    /**
+     * Cantidad de casas registradas.
+     *
+     * @return número de casas distintas
+     */
+    public synchronized int tamano() {
+        return casas.size();
+    }
+
+    /**
+     * @return casas registradas en orden de código
+     */
+    public synchronized List<Casa> getCasas() {
+        return List.copyOf(casas);
+    }
+}
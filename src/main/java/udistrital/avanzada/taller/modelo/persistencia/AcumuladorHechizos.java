@@ -0,0 +1,81 @@
+package udistrital.avanzada.taller.modelo.persistencia;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import udistrital.avanzada.taller.modelo.EfectoHechizo;
+import udistrital.avanzada.taller.modelo.Hechizo;
+import udistrital.avanzada.taller.modelo.LibroHechizos;
+
+/**
+ * Acumulador de las entradas de {@code hechizos.properties}
+ * ({@code hechizo.<i>.nombre}, {@code hechizo.<i>.puntos} y el opcional
+ * {@code hechizo.<i>.efecto}).
+ *
+ * @author Paula Martínez
+ * @version 1.0
+ * @since 2026-10-19
+ */
+final class AcumuladorHechizos extends AcumuladorIndexado {
+
+    private static final int NOMBRE = 0;
+    private static final int PUNTOS = 1;
+    private static final int EFECTO = 2;
+
+    AcumuladorHechizos() {
+        super("hechizo", "nombre", "puntos", "efecto");
+    }
+
+    /**
+     * Valida lo leído y construye el libro de hechizos en orden de índice.
+     *
+     * @return libro de hechizos cargado
+     * @throws IOException si falta algún valor obligatorio o es inválido
+     */
+    LibroHechizos construir() throws IOException {
+        int cantidad = leerCount("hechizos.properties: count");
+
+        List<Hechizo> hechizos = new ArrayList<>(cantidad);
+        // Cada texto de efecto distinto se compila una sola vez
+        Map<String, EfectoHechizo> efectos = new HashMap<>();
+        for (int i = 1; i <= cantidad; i++) {
+            if ((i & 0xFFFF) == 0) {
+                LectorPropiedades.comprobarCancelacion();
+            }
+            String nombre = texto(NOMBRE, i);
+            int puntos = entero(PUNTOS, i);
+
+            if (puntos < 1) {
+                throw new IOException("Valor inválido en " + etiqueta(PUNTOS, i) + ": " + puntos + ". Debe ser >= 1.");
+            }
+
+            hechizos.add(new Hechizo(nombre, puntos, efecto(efectos, i)));
+        }
+
+        LibroHechizos libro = new LibroHechizos();
+        libro.setHechizos(hechizos);
+        return libro;
+    }
+
+    /**
+     * Compila (o toma de {@code efectos}) el efecto de la posición {@code i}.
+     */
+    private EfectoHechizo efecto(Map<String, EfectoHechizo> efectos, int i) throws IOException {
+        String texto = valor(EFECTO, i);
+        if (texto == null || texto.isBlank()) {
+            return EfectoHechizo.PREDETERMINADO;
+        }
+        EfectoHechizo efecto = efectos.get(texto);
+        if (efecto == null) {
+            try {
+                efecto = EfectoHechizo.compilar(texto);
+            } catch (IllegalArgumentException e) {
+                throw new IOException("Valor inválido en " + etiqueta(EFECTO, i) + ": " + e.getMessage(), e);
+            }
+            efectos.put(texto, efecto);
+        }
+        return efecto;
+    }
+}
@@ -0,0 +1,438 @@
+package udistrital.avanzada.taller.modelo.persistencia;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Destino de {@link LectorPropiedades} para archivos con la forma
+ * {@code count} + {@code <prefijo>.<i>.<campo>}.
+ *
+ * <p>
+ * Cada valor se ubica directamente en la columna de su campo, en la posición
+ * {@code i - 1}, a medida que se lee: no se arma ninguna tabla de propiedades
+ * ni se concatenan claves para buscarlas después. Las subclases recorren las
+ * columnas una sola vez en {@code construir()} para crear los objetos de
+ * dominio, validando en el mismo orden (y con los mismos mensajes) que la
+ * versión basada en {@link java.util.Properties}.
+ * </p>
+ *
+ * <p>
+ * Las columnas solo crecen en proporción a los valores leídos: un índice muy
+ * lejos de los demás (por ejemplo {@code mago.2000000000.nombre} junto a
+ * {@code mago.1.nombre}, o cualquiera en un tramo de {@link LectorParalelo}
+ * que no vio {@code count}) va a un mapa aparte en vez de reservar millones
+ * de posiciones vacías.
+ * </p>
+ *
+ * @author Paula Martínez
+ * @version 1.0
+ * @since 2026-10-19
+ */
+abstract class AcumuladorIndexado implements LectorPropiedades.Destino {
+
+    /**
+     * Clave usada para indicar la cantidad de elementos en el archivo.
+     */
+    private static final char[] KEY_COUNT = "count".toCharArray();
+
+    /**
+     * Máximo de posiciones reservadas de antemano a partir de {@code count}.
+     */
+    private static final int RESERVA_MAXIMA = 1 << 22;
+
+    /**
+     * Tamaño de ventana que siempre se admite, aunque haya pocos valores.
+     */
+    private static final int VENTANA_MINIMA = 4096;
+
+    /**
+     * Posiciones de la ventana permitidas por cada valor leído: con menos
+     * densidad el valor va a {@link #dispersos}.
+     */
+    private static final int HUECOS_POR_VALOR = 4;
+
+    /**
+     * Prefijo de las claves indexadas, con el punto final (p. ej. "mago.").
+     */
+    private final char[] prefijo;
+
+    /**
+     * Nombres de los campos reconocidos, en el orden de las columnas.
+     */
+    private final char[][] campos;
+
+    /**
+     * Valores por campo; {@code columnas[campo][k]} corresponde a la posición
+     * {@code base + k} (es decir, al índice {@code base + k + 1}).
+     */
+    private String[][] columnas;
+
+    /**
+     * Primera posición (0-based) cubierta por las columnas, o {@code -1} si
+     * aún no se ubicó ningún valor. Permite que un acumulador que solo ve un
+     * tramo del archivo reserve espacio únicamente para ese tramo.
+     */
+    private int base = -1;
+
+    /**
+     * Valor crudo de la clave {@code count} (la última aparición gana).
+     */
+    private String count;
+
+    /**
+     * {@code count} ya interpretado, o {@code -1} si aún no aparece o no es
+     * numérico.
+     */
+    private int countDeclarado = -1;
+
+    /**
+     * Valores guardados (en columnas y en {@link #dispersos}); acota cuánto
+     * pueden crecer las columnas.
+     */
+    private long valores;
+
+    /**
+     * Valores cuya posición queda lejos de la ventana de las columnas, por
+     * clave {@code pos * campos + campo}. Casi siempre vacío.
+     */
+    private Map<Long, String> dispersos;
+
+    /**
+     * Crea un acumulador para el prefijo y los campos indicados.
+     *
+     * @param prefijo prefijo de las claves sin el punto (p. ej. "mago")
+     * @param campos nombres de los campos reconocidos
+     */
+    protected AcumuladorIndexado(String prefijo, String... campos) {
+        this.prefijo = (prefijo + ".").toCharArray();
+        this.campos = new char[campos.length][];
+        for (int c = 0; c < campos.length; c++) {
+            this.campos[c] = campos[c].toCharArray();
+        }
+        this.columnas = new String[campos.length][16];
+    }
+
+    @Override
+    public void entrada(char[] clave, int largoClave, String valor) {
+        if (igual(clave, 0, largoClave, KEY_COUNT)) {
+            count = valor;
+            // Con el total conocido se reserva de una vez el espacio necesario
+            // (acotado, por si el count declarado es desproporcionado)
+            countDeclarado = parsearPositivo(valor);
+            int previsto = Math.min(Math.max(countDeclarado, 0), RESERVA_MAXIMA);
+            if (base < 0) {
+                base = 0;
+            }
+            if (previsto - base > columnas[0].length) {
+                asegurarCapacidad(previsto - base);
+            }
+            return;
+        }
+        if (largoClave <= prefijo.length || !igual(clave, 0, prefijo.length, prefijo)) {
+            return;
+        }
+
+        // Índice decimal sin ceros a la izquierda, igual que ("" + i)
+        int p = prefijo.length;
+        int inicio = p;
+        long indice = 0;
+        while (p < largoClave && clave[p] >= '0' && clave[p] <= '9') {
+            indice = indice * 10 + (clave[p] - '0');
+            if (indice > Integer.MAX_VALUE) {
+                return;
+            }
+            p++;
+        }
+        int digitos = p - inicio;
+        if (digitos == 0 || (digitos > 1 && clave[inicio] == '0') || indice < 1
+                || p >= largoClave || clave[p] != '.') {
+            return;
+        }
+        p++;
+
+        if (countDeclarado >= 0 && indice > countDeclarado) {
+            return; // fuera de 1..count: nunca se leería
+        }
+
+        for (int c = 0; c < campos.length; c++) {
+            if (igual(clave, p, largoClave, campos[c])) {
+                colocar((int) indice - 1, c, valor);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Incorpora lo leído por otro acumulador del mismo tipo que procesó un
+     * tramo <em>posterior</em> del archivo: sus valores (y su {@code count},
+     * si lo vio) reemplazan a los actuales, igual que si ambos tramos se
+     * hubieran leído en secuencia.
+     *
+     * @param posterior acumulador del tramo siguiente
+     */
+    final void fusionar(AcumuladorIndexado posterior) {
+        if (posterior.count != null) {
+            count = posterior.count;
+            countDeclarado = posterior.countDeclarado;
+        }
+        if (posterior.dispersos != null) {
+            int n = campos.length;
+            for (Map.Entry<Long, String> e : posterior.dispersos.entrySet()) {
+                int pos = (int) (e.getKey() / n);
+                if (countDeclarado < 0 || pos < countDeclarado) {
+                    colocar(pos, (int) (e.getKey() % n), e.getValue());
+                }
+            }
+        }
+        if (posterior.base < 0) {
+            return;
+        }
+        for (int c = 0; c < columnas.length; c++) {
+            String[] origen = posterior.columnas[c];
+            for (int k = 0; k < origen.length; k++) {
+                String v = origen[k];
+                if (v == null) {
+                    continue;
+                }
+                int pos = posterior.base + k;
+                if (countDeclarado >= 0 && pos >= countDeclarado) {
+                    break;
+                }
+                colocar(pos, c, v);
+            }
+        }
+    }
+
+    /**
+     * Guarda un valor en la columna del campo, ampliando la ventana cubierta
+     * si hace falta, o en {@link #dispersos} si ampliarla dejaría la ventana
+     * casi vacía.
+     */
+    private void colocar(int pos, int campo, String valor) {
+        valores++;
+        if (base >= 0 && (pos < base || pos - base >= columnas[campo].length)) {
+            long ventana = Math.max(pos, base + (long) columnas[campo].length)
+                    - Math.min(pos, base) + 1;
+            if (ventana > Math.max(VENTANA_MINIMA, valores * HUECOS_POR_VALOR)) {
+                if (dispersos == null) {
+                    dispersos = new HashMap<>();
+                }
+                dispersos.put((long) pos * campos.length + campo, valor);
+                return;
+            }
+        }
+        if (base < 0) {
+            base = pos;
+        } else if (pos < base) {
+            // Se amplía hacia atrás de forma geométrica (archivos en orden inverso)
+            moverBase(Math.max(0, Math.min(pos, base - columnas[0].length)));
+        }
+        if (pos - base >= columnas[campo].length) {
+            asegurarCapacidad(pos - base + 1);
+        }
+        columnas[campo][pos - base] = valor;
+    }
+
+    /**
+     * Valor leído para un campo en la posición {@code i} (1..count).
+     *
+     * @param campo índice de la columna
+     * @param i posición 1-based
+     * @return valor crudo o {@code null} si no apareció en el archivo
+     */
+    protected final String valor(int campo, int i) {
+        String[] columna = columnas[campo];
+        int k = i - 1 - base;
+        String v = (base >= 0 && k >= 0 && k < columna.length) ? columna[k] : null;
+        if (v == null && dispersos != null) {
+            // Lo escrito en las columnas es siempre posterior a lo disperso
+            v = dispersos.get((long) (i - 1) * campos.length + campo);
+        }
+        return v;
+    }
+
+    /**
+     * Campo de texto obligatorio en la posición {@code i}.
+     *
+     * @param campo índice de la columna
+     * @param i posición 1-based
+     * @return valor no vacío (con {@code trim()})
+     * @throws IOException si la clave no existe o el valor está vacío
+     */
+    protected final String texto(int campo, int i) throws IOException {
+        String v = valor(campo, i);
+        if (v == null || v.isBlank()) {
+            // La etiqueta solo se arma si hay error
+            return leerTextoObligatorio(v, etiqueta(campo, i));
+        }
+        return v.trim();
+    }
+
+    /**
+     * Campo entero obligatorio en la posición {@code i}.
+     *
+     * @param campo índice de la columna
+     * @param i posición 1-based
+     * @return valor entero parseado
+     * @throws IOException si la clave no existe, está vacía o no es numérica
+     */
+    protected final int entero(int campo, int i) throws IOException {
+        String v = valor(campo, i);
+        if (v != null) {
+            try {
+                return Integer.parseInt(v.trim());
+            } catch (NumberFormatException e) {
+                // se informa abajo con la etiqueta completa
+            }
+        }
+        return leerEnteroObligatorio(v, etiqueta(campo, i));
+    }
+
+    /**
+     * Campo entero opcional en la posición {@code i}.
+     *
+     * @param campo índice de la columna
+     * @param i posición 1-based
+     * @param porDefecto valor usado si la clave no existe o está vacía
+     * @return valor entero parseado o {@code porDefecto}
+     * @throws IOException si el valor existe pero no es numérico
+     */
+    protected final int enteroOpcional(int campo, int i, int porDefecto) throws IOException {
+        String v = valor(campo, i);
+        if (v == null) {
+            return porDefecto;
+        }
+        try {
+            return Integer.parseInt(v.trim());
+        } catch (NumberFormatException e) {
+            return leerEnteroOpcional(v, etiqueta(campo, i), porDefecto);
+        }
+    }
+
+    /**
+     * Nombre legible de una propiedad indexada, p. ej. {@code mago.3.casa}.
+     *
+     * @param campo índice de la columna
+     * @param i posición 1-based
+     * @return clave completa de la propiedad
+     */
+    protected final String etiqueta(int campo, int i) {
+        return new String(prefijo) + i + "." + new String(campos[campo]);
+    }
+
+    /**
+     * Lee la clave {@code count} como entero obligatorio.
+     *
+     * @param etiqueta nombre legible de la propiedad (para mensajes de error)
+     * @return cantidad declarada en el archivo
+     * @throws IOException si falta, no es numérica o es negativa
+     */
+    protected final int leerCount(String etiqueta) throws IOException {
+        int cantidad = leerEnteroObligatorio(count, etiqueta);
+        if (cantidad < 0) {
+            throw new IOException("Formato inválido para " + etiqueta + ": " + count);
+        }
+        return cantidad;
+    }
+
+    /**
+     * Valida un valor de texto obligatorio.
+     *
+     * @param v valor crudo (puede ser {@code null})
+     * @param etiqueta nombre legible de la propiedad (para mensajes de error)
+     * @return valor no vacío (con {@code trim()})
+     * @throws IOException si la clave no existe o el valor está vacío
+     */
+    protected static String leerTextoObligatorio(String v, String etiqueta) throws IOException {
+        if (v == null || v.isBlank()) {
+            throw new IOException("Falta o vacío el valor de la propiedad obligatoria: " + etiqueta);
+        }
+        return v.trim();
+    }
+
+    /**
+     * Valida un valor entero obligatorio.
+     *
+     * @param v valor crudo (puede ser {@code null})
+     * @param etiqueta nombre legible de la propiedad (para mensajes de error)
+     * @return valor entero parseado
+     * @throws IOException si la clave no existe, está vacía o no es numérica
+     */
+    protected static int leerEnteroObligatorio(String v, String etiqueta) throws IOException {
+        if (v == null || v.isBlank()) {
+            throw new IOException("Falta el valor de la propiedad obligatoria: " + etiqueta);
+        }
+        try {
+            return Integer.parseInt(v.trim());
+        } catch (NumberFormatException e) {
+            throw new IOException("Formato inválido para " + etiqueta + ": " + v, e);
+        }
+    }
+
+    /**
+     * Valida un valor entero opcional.
+     *
+     * @param v valor crudo (puede ser {@code null})
+     * @param etiqueta nombre legible de la propiedad (para mensajes de error)
+     * @param porDefecto valor usado si la clave no existe o está vacía
+     * @return valor entero parseado o {@code porDefecto}
+     * @throws IOException si el valor existe pero no es numérico
+     */
+    protected static int leerEnteroOpcional(String v, String etiqueta, int porDefecto) throws IOException {
+        if (v == null || v.isBlank()) {
+            return porDefecto;
+        }
+        try {
+            return Integer.parseInt(v.trim());
+        } catch (NumberFormatException e) {
+            throw new IOException("Formato inválido para " + etiqueta + ": " + v, e);
+        }
+    }
+
+    private void asegurarCapacidad(int minimo) {
+        int nueva = (int) Math.min(Math.max(minimo, columnas[0].length * 2L), Integer.MAX_VALUE - 8);
+        for (int c = 0; c < columnas.length; c++) {
+            columnas[c] = Arrays.copyOf(columnas[c], nueva);
+        }
+    }
+
+    /**
+     * Desplaza la ventana para que empiece en {@code nuevaBase}
+     * ({@code < base}).
+     */
+    private void moverBase(int nuevaBase) {
+        int desplazamiento = base - nuevaBase;
+        int nueva = columnas[0].length + desplazamiento;
+        for (int c = 0; c < columnas.length; c++) {
+            String[] ampliada = new String[nueva];
+            System.arraycopy(columnas[c], 0, ampliada, desplazamiento, columnas[c].length);
+            columnas[c] = ampliada;
+        }
+        base = nuevaBase;
+    }
+
+    private static int parsearPositivo(String v) {
+        try {
+            return Math.max(Integer.parseInt(v.trim()), 0);
+        } catch (NumberFormatException e) {
+            return -1; // el error se informa al validar en construir()
+        }
+    }
+
+    /**
+     * Compara {@code clave[desde, hasta)} con el texto esperado.
+     */
+    private static boolean igual(char[] clave, int desde, int hasta, char[] esperado) {
+        if (hasta - desde != esperado.length) {
+            return false;
+        }
+        for (int i = 0; i < esperado.length; i++) {
+            if (clave[desde + i] != esperado[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
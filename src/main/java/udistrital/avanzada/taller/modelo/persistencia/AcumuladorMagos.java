@@ -0,0 +1,48 @@
+package udistrital.avanzada.taller.modelo.persistencia;
+
+import java.io.IOException;
+import udistrital.avanzada.taller.modelo.AlmacenMagos;
+import udistrital.avanzada.taller.modelo.ListadoMagos;
+import udistrital.avanzada.taller.modelo.TablaCasas;
+
+/**
+ * Acumulador de las entradas de {@code magos.properties}
+ * ({@code mago.<i>.nombre}, {@code mago.<i>.casa} y
+ * {@code mago.<i>.rating}).
+ *
+ * @author Paula Martínez
+ * @version 1.0
+ * @since 2026-10-19
+ */
+final class AcumuladorMagos extends AcumuladorIndexado {
+
+    private static final int NOMBRE = 0;
+    private static final int CASA = 1;
+    private static final int RATING = 2;
+
+    AcumuladorMagos() {
+        super("mago", "nombre", "casa", "rating");
+    }
+
+    /**
+     * Valida lo leído y construye el listado de magos en orden de índice.
+     * Los datos van directo a las columnas de un {@link AlmacenMagos}: las
+     * casas se codifican en una {@link TablaCasas} y los nombres repetidos se
+     * guardan una sola vez.
+     *
+     * @return listado de magos cargado
+     * @throws IOException si falta algún valor obligatorio o es inválido
+     */
+    ListadoMagos construir() throws IOException {
+        int cantidad = leerCount("magos.properties: count");
+
+        AlmacenMagos.Constructor almacen = AlmacenMagos.constructor(cantidad, new TablaCasas());
+        for (int i = 1; i <= cantidad; i++) {
+            if ((i & 0xFFFF) == 0) {
+                LectorPropiedades.comprobarCancelacion();
+            }
+            almacen.agregar(texto(NOMBRE, i), texto(CASA, i), enteroOpcional(RATING, i, 0));
+        }
+        return new ListadoMagos(almacen.construir());
+    }
+}
@@ -0,0 +1,164 @@
+package udistrital.avanzada.taller.modelo.persistencia;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Archivo de texto donde se vuelcan las líneas viejas del log de combate que
+ * ya no caben en pantalla.
+ * <p>
+ * Quien agrega líneas (normalmente el EDT) nunca espera al disco: la línea se
+ * deja en una cola acotada y un hilo escritor la saca por lotes. Si la cola
+ * está llena la línea se descarta y se cuenta en
+ * {@link #getLineasDescartadas()}, porque frenar la interfaz sería peor que
+ * perder parte del historial.
+ * </p>
+ *
+ * @author Paula Martínez
+ * @version 1.0
+ * @since 2026-10-19
+ */
+public final class ArchivoLog implements Consumer<String>, AutoCloseable {
+
+    private static final int CAPACIDAD_COLA = 65_536;
+    private static final int TAMANO_LOTE = 4_096;
+
+    /** Marca de fin que se deja en la cola al cerrar. */
+    private static final String FIN = new String("FIN");
+
+    private final Path ruta;
+    private final BufferedWriter salida;
+    private final BlockingQueue<String> cola = new ArrayBlockingQueue<>(CAPACIDAD_COLA);
+    private final Thread escritor;
+    private final AtomicLong descartadas = new AtomicLong();
+
+    private volatile IOException error;
+    private volatile boolean cerrado;
+
+    /**
+     * Abre el archivo (agregando al final si ya existe) y arranca el hilo
+     * escritor.
+     *
+     * @param ruta archivo de salida
+     * @throws IOException si el archivo no se pudo abrir
+     */
+    public ArchivoLog(Path ruta) throws IOException {
+        if (ruta == null) {
+            throw new IllegalArgumentException("La ruta del log no puede ser nula");
+        }
+        this.ruta = ruta;
+        this.salida = Files.newBufferedWriter(ruta, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND, StandardOpenOption.WRITE);
+        this.escritor = new Thread(this::escribir, "ArchivoLog");
+        this.escritor.setDaemon(true);
+        this.escritor.start();
+    }
+
+    /**
+     * Encola una línea sin bloquear. Después de cerrar o de un error de
+     * escritura las líneas se descartan.
+     *
+     * @param linea línea a guardar (sin salto de línea final)
+     */
+    @Override
+    public void accept(String linea) {
+        if (linea == null) {
+            return;
+        }
+        if (cerrado || error != null || !cola.offer(linea)) {
+            descartadas.incrementAndGet();
+        }
+    }
+
+    /**
+     * Escribe lo pendiente, espera al hilo escritor y cierra el archivo.
+     *
+     * @throws IOException si alguna escritura falló
+     */
+    @Override
+    public void close() throws IOException {
+        if (cerrado) {
+            return;
+        }
+        cerrado = true;
+        boolean interrumpido = false;
+        while (true) {
+            try {
+                cola.put(FIN);
+                escritor.join();
+                break;
+            } catch (InterruptedException e) {
+                interrumpido = true;
+            }
+        }
+        if (interrumpido) {
+            Thread.currentThread().interrupt();
+        }
+        if (error != null) {
+            throw error;
+        }
+    }
+
+    /** @return archivo de salida */
+    public Path getRuta() {
+        return ruta;
+    }
+
+    /** @return líneas que no se guardaron por cola llena, cierre o error */
+    public long getLineasDescartadas() {
+        return descartadas.get();
+    }
+
+    /**
+     * Bucle del hilo escritor: saca lotes de la cola y vacía el búfer cuando
+     * la cola queda vacía.
+     */
+    private void escribir() {
+        List<String> lote = new ArrayList<>(TAMANO_LOTE);
+        try (BufferedWriter w = salida) {
+            boolean activo = true;
+            while (activo) {
+                lote.add(cola.take());
+                cola.drainTo(lote, TAMANO_LOTE - 1);
+                for (String linea : lote) {
+                    if (linea == FIN) {
+                        activo = false;
+                        break;
+                    }
+                    if (error == null) {
+                        try {
+                            w.write(linea);
+                            w.newLine();
+                        } catch (IOException e) {
+                            error = e;
+                        }
+                    }
+                }
+                lote.clear();
+                if (cola.isEmpty() && error == null) {
+                    try {
+                        w.flush();
+                    } catch (IOException e) {
+                        error = e;
+                    }
+                }
+            }
+        } catch (IOException e) {
+            if (error == null) {
+                error = e;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,454 @@
+package udistrital.avanzada.taller.modelo.persistencia;
+
+import java.io.IOException;
+import java.lang.ref.SoftReference;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.nio.file.attribute.UserPrincipal;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.zip.CRC32C;
+import udistrital.avanzada.taller.modelo.LibroHechizos;
+import udistrital.avanzada.taller.modelo.ListadoMagos;
+
+/**
+ * Caché de cargas de archivos de magos y hechizos.
+ *
+ * <p>
+ * Cada entrada se identifica por la ruta absoluta del archivo, su tamaño, su
+ * fecha de modificación y un hash CRC32C de su contenido. Si al volver a
+ * cargar la ruta el tamaño y la fecha no cambiaron, se devuelve de inmediato
+ * el mismo {@link ListadoMagos} o {@link LibroHechizos} ya construido, sin
+ * leer el archivo. El hash (una lectura secuencial, mucho más barata que
+ * volver a interpretarlo) solo se calcula cuando hace falta: para nombrar la
+ * instantánea en disco, o cuando la fecha cambió y hay que ver si el
+ * contenido también. Así un archivo solo "tocado" (misma longitud y
+ * contenido, otra fecha) sigue contando como acierto.
+ * </p>
+ *
+ * <p>
+ * Hay dos niveles:
+ * </p>
+ * <ul>
+ * <li><b>memoria</b>: referencias blandas ({@link SoftReference}) a los
+ * objetos ya construidos, que el recolector puede liberar si falta
+ * memoria;</li>
+ * <li><b>disco</b>: una instantánea en {@link FormatoBinario} dentro de
+ * {@code user.home/.cache/conjuros} (o de la carpeta que indique la
+ * propiedad del sistema {@code conjuros.carpetaCache}), que sobrevive entre
+ * ejecuciones. Se escribe en segundo plano después de cargar un archivo de
+ * texto.</li>
+ * </ul>
+ *
+ * <p>
+ * Una instantánea se carga como si fuera el archivo original, así que la
+ * carpeta debe ser solo del usuario: se crea con permisos de dueño (en
+ * sistemas POSIX) y no se usa si es un enlace simbólico o pertenece a otro
+ * usuario.
+ * </p>
+ *
+ * <p>
+ * La caché es un atajo: cualquier fallo al leerla o escribirla se ignora y la
+ * carga sigue por el camino normal. Los objetos devueltos se comparten entre
+ * cargas de la misma ruta.
+ * </p>
+ *
+ * @author Paula Martínez
+ * @version 1.0
+ * @since 2026-10-19
+ */
+final class CacheCargas {
+
+    /**
+     * Cómo se lee y escribe la instantánea de un tipo de contenido.
+     *
+     * @param <T> tipo de objeto cargado
+     */
+    static final class Formato<T> {
+
+        static final Formato<ListadoMagos> MAGOS
+                = new Formato<>("magos", FormatoBinario::leerMagos, FormatoBinario::escribirMagos);
+        static final Formato<LibroHechizos> HECHIZOS
+                = new Formato<>("hechizos", FormatoBinario::leerHechizos, FormatoBinario::escribirHechizos);
+
+        private final String prefijo;
+        private final Lector<T> lector;
+        private final Escritor<T> escritor;
+
+        private Formato(String prefijo, Lector<T> lector, Escritor<T> escritor) {
+            this.prefijo = prefijo;
+            this.lector = lector;
+            this.escritor = escritor;
+        }
+    }
+
+    /**
+     * Carga real, usada cuando no hay acierto en la caché.
+     *
+     * @param <T> tipo de objeto cargado
+     */
+    @FunctionalInterface
+    interface Carga<T> {
+
+        T cargar() throws IOException;
+    }
+
+    @FunctionalInterface
+    private interface Lector<T> {
+
+        T leer(Path ruta) throws IOException;
+    }
+
+    @FunctionalInterface
+    private interface Escritor<T> {
+
+        void escribir(T valor, Path ruta) throws IOException;
+    }
+
+    private static final CacheCargas COMPARTIDA = new CacheCargas(carpetaPorDefecto());
+
+    /**
+     * Permisos de la carpeta de instantáneas en sistemas POSIX.
+     */
+    private static final Set<PosixFilePermission> SOLO_DUENO = PosixFilePermissions.fromString("rwx------");
+
+    /**
+     * Tamaño del búfer usado para calcular el hash del contenido.
+     */
+    private static final int TAMANO_BLOQUE = 1024 * 1024;
+
+    /**
+     * Hash aún no calculado. CRC32C da valores de 32 bits sin signo, así que
+     * nunca coincide con uno real.
+     */
+    private static final long SIN_HASH = -1L;
+
+    /**
+     * Entradas en memoria por tipo y ruta absoluta.
+     */
+    private final Map<String, Entrada> memoria = new HashMap<>();
+
+    /**
+     * Carpeta de las instantáneas en disco.
+     */
+    private final Path directorio;
+
+    /**
+     * Hilo que escribe las instantáneas sin demorar la carga.
+     */
+    private final ExecutorService escritor = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "CacheCargas");
+        t.setDaemon(true);
+        t.setPriority(Thread.MIN_PRIORITY);
+        return t;
+    });
+
+    private CacheCargas(Path directorio) {
+        this.directorio = directorio;
+    }
+
+    private static Path carpetaPorDefecto() {
+        String carpeta = System.getProperty("conjuros.carpetaCache");
+        if (carpeta != null && !carpeta.isBlank()) {
+            return Path.of(carpeta);
+        }
+        return Path.of(System.getProperty("user.home"), ".cache", "conjuros");
+    }
+
+    /**
+     * @return caché compartida por todos los cargadores de la aplicación
+     */
+    static CacheCargas compartida() {
+        return COMPARTIDA;
+    }
+
+    /**
+     * Devuelve el contenido de la ruta desde la caché o, si cambió, lo carga
+     * con {@code carga} y lo guarda.
+     *
+     * @param <T> tipo de objeto cargado
+     * @param ruta archivo de origen
+     * @param formato tipo de contenido
+     * @param instantanea {@code true} para guardar también una instantánea en
+     * disco (no tiene sentido si el origen ya es binario)
+     * @param carga carga real del archivo
+     * @return objeto cargado o reutilizado
+     * @throws IOException si falla la carga real
+     */
+    <T> T obtener(Path ruta, Formato<T> formato, boolean instantanea, Carga<T> carga) throws IOException {
+        Path absoluta;
+        long tamano;
+        long modificado;
+        try {
+            absoluta = ruta.toAbsolutePath().normalize();
+            BasicFileAttributes atributos = Files.readAttributes(absoluta, BasicFileAttributes.class);
+            tamano = atributos.size();
+            modificado = atributos.lastModifiedTime().toMillis();
+        } catch (IOException | RuntimeException e) {
+            return carga.cargar(); // la carga normal informa el error real
+        }
+        String clave = formato.prefijo + ":" + absoluta;
+
+        // Mismo tamaño y fecha: acierto sin leer el archivo
+        T valor = desdeMemoria(clave, tamano, modificado, SIN_HASH);
+        if (valor != null) {
+            return valor;
+        }
+
+        long hash = SIN_HASH;
+        if (instantanea || conHashDeMismoTamano(clave, tamano)) {
+            try {
+                hash = hashContenido(absoluta);
+            } catch (IOException | RuntimeException e) {
+                return carga.cargar();
+            }
+            // Fecha distinta pero mismo contenido: el archivo solo se tocó
+            valor = desdeMemoria(clave, tamano, modificado, hash);
+            if (valor != null) {
+                return valor;
+            }
+        }
+        if (!instantanea) {
+            valor = carga.cargar();
+            if (sinCambios(absoluta, tamano, modificado)) {
+                guardarEnMemoria(clave, tamano, modificado, hash, valor);
+            }
+            return valor;
+        }
+
+        // El mismo hash nombra la instantánea: no se vuelve a leer el archivo
+        Path archivo = directorio.resolve(nombreInstantanea(formato, absoluta, tamano, hash));
+        valor = carpetaPropia() ? desdeDisco(archivo, formato) : null;
+        if (valor != null) {
+            guardarEnMemoria(clave, tamano, modificado, hash, valor);
+            return valor;
+        }
+
+        valor = carga.cargar();
+
+        // Si el archivo cambió durante la carga, el hash ya no lo describe
+        if (sinCambios(absoluta, tamano, modificado)) {
+            guardarEnMemoria(clave, tamano, modificado, hash, valor);
+            T guardar = valor;
+            escritor.execute(() -> escribirInstantanea(archivo, formato, absoluta, guardar));
+        }
+        return valor;
+    }
+
+    /**
+     * Vacía la caché en memoria y borra las instantáneas en disco.
+     */
+    synchronized void limpiar() {
+        memoria.clear();
+        if (!carpetaPropia()) {
+            return;
+        }
+        try (DirectoryStream<Path> archivos = Files.newDirectoryStream(directorio, "*.bin")) {
+            for (Path p : archivos) {
+                Files.deleteIfExists(p);
+            }
+        } catch (IOException | RuntimeException e) {
+            // sin carpeta de caché no hay nada que borrar
+        }
+    }
+
+    /**
+     * Busca la entrada de la ruta. Con {@code hash == SIN_HASH} solo acierta
+     * si coinciden tamaño y fecha; con un hash, si coinciden tamaño y hash
+     * (y entonces se actualiza la fecha guardada).
+     */
+    @SuppressWarnings("unchecked")
+    private synchronized <T> T desdeMemoria(String clave, long tamano, long modificado, long hash) {
+        Entrada e = memoria.get(clave);
+        if (e == null || e.tamano != tamano) {
+            return null;
+        }
+        if (hash == SIN_HASH ? e.modificado != modificado : e.hash != hash) {
+            return null;
+        }
+        Object valor = e.valor.get();
+        if (valor == null) {
+            memoria.remove(clave);
+            return null;
+        }
+        e.modificado = modificado;
+        return (T) valor;
+    }
+
+    /**
+     * @return {@code true} si hay una entrada del mismo tamaño con hash
+     * conocido, contra la que vale la pena comparar el contenido
+     */
+    private synchronized boolean conHashDeMismoTamano(String clave, long tamano) {
+        Entrada e = memoria.get(clave);
+        return e != null && e.tamano == tamano && e.hash != SIN_HASH;
+    }
+
+    private synchronized void guardarEnMemoria(String clave, long tamano, long modificado, long hash, Object valor) {
+        memoria.put(clave, new Entrada(tamano, modificado, hash, valor));
+    }
+
+    private static <T> T desdeDisco(Path archivo, Formato<T> formato) {
+        if (!Files.isRegularFile(archivo)) {
+            return null;
+        }
+        try {
+            return formato.lector.leer(archivo);
+        } catch (IOException | RuntimeException e) {
+            if (Thread.currentThread().isInterrupted()) {
+                return null; // carga cancelada: la instantánea sigue siendo válida
+            }
+            // Instantánea dañada o de otra versión del formato: se descarta
+            try {
+                Files.deleteIfExists(archivo);
+            } catch (IOException ignorada) {
+                // se reescribirá en la próxima carga
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Escribe la instantánea en un temporal y la mueve a su nombre final, de
+     * modo que nunca se lea a medio escribir; luego borra las instantáneas
+     * anteriores de la misma ruta.
+     */
+    private <T> void escribirInstantanea(Path archivo, Formato<T> formato, Path origen, T valor) {
+        Path temporal = null;
+        try {
+            if (!carpetaPropia()) {
+                return;
+            }
+            temporal = Files.createTempFile(directorio, formato.prefijo, ".tmp");
+            formato.escritor.escribir(valor, temporal);
+            Files.move(temporal, archivo, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            temporal = null;
+
+            String anteriores = formato.prefijo + "-" + hashRuta(origen) + "-*.bin";
+            try (DirectoryStream<Path> viejas = Files.newDirectoryStream(directorio, anteriores)) {
+                for (Path p : viejas) {
+                    if (!p.equals(archivo)) {
+                        Files.deleteIfExists(p);
+                    }
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            // la caché en disco es opcional
+        } finally {
+            if (temporal != null) {
+                try {
+                    Files.deleteIfExists(temporal);
+                } catch (IOException ignorada) {
+                    // temporal huérfano en la carpeta de caché
+                }
+            }
+        }
+    }
+
+    /**
+     * Crea la carpeta de instantáneas si falta y confirma que es una carpeta
+     * real del usuario actual. Si otro usuario pudo crearla, las instantáneas
+     * que contiene no son confiables.
+     *
+     * @return {@code true} si la carpeta se puede usar
+     */
+    private boolean carpetaPropia() {
+        try {
+            boolean posix = directorio.getFileSystem().supportedFileAttributeViews().contains("posix");
+            if (!Files.exists(directorio, LinkOption.NOFOLLOW_LINKS)) {
+                Path padre = directorio.toAbsolutePath().getParent();
+                if (padre != null) {
+                    Files.createDirectories(padre);
+                }
+                if (posix) {
+                    Files.createDirectory(directorio, PosixFilePermissions.asFileAttribute(SOLO_DUENO));
+                } else {
+                    Files.createDirectory(directorio);
+                }
+            }
+            if (!Files.isDirectory(directorio, LinkOption.NOFOLLOW_LINKS)) {
+                return false;
+            }
+            UserPrincipal usuario = directorio.getFileSystem().getUserPrincipalLookupService()
+                    .lookupPrincipalByName(System.getProperty("user.name"));
+            if (!usuario.equals(Files.getOwner(directorio, LinkOption.NOFOLLOW_LINKS))) {
+                return false;
+            }
+            if (posix && !SOLO_DUENO.equals(Files.getPosixFilePermissions(directorio, LinkOption.NOFOLLOW_LINKS))) {
+                Files.setPosixFilePermissions(directorio, SOLO_DUENO);
+            }
+            return true;
+        } catch (IOException | RuntimeException e) {
+            return false;
+        }
+    }
+
+    private static boolean sinCambios(Path ruta, long tamano, long modificado) {
+        try {
+            BasicFileAttributes a = Files.readAttributes(ruta, BasicFileAttributes.class);
+            return a.size() == tamano && a.lastModifiedTime().toMillis() == modificado;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private static String nombreInstantanea(Formato<?> formato, Path ruta, long tamano, long hash) {
+        return formato.prefijo + "-" + hashRuta(ruta) + "-" + Long.toHexString(tamano)
+                + "-" + Long.toHexString(hash) + ".bin";
+    }
+
+    private static String hashRuta(Path ruta) {
+        byte[] texto = ruta.toString().getBytes(StandardCharsets.UTF_8);
+        CRC32C crc = new CRC32C();
+        crc.update(texto);
+        long valor = (crc.getValue() << 32) | (ruta.toString().hashCode() & 0xFFFFFFFFL);
+        return String.format("%016x", valor);
+    }
+
+    /**
+     * CRC32C de todo el contenido del archivo, leído por bloques.
+     */
+    private static long hashContenido(Path ruta) throws IOException {
+        CRC32C crc = new CRC32C();
+        ByteBuffer bloque = ByteBuffer.allocateDirect(TAMANO_BLOQUE);
+        try (FileChannel canal = FileChannel.open(ruta, StandardOpenOption.READ)) {
+            while (canal.read(bloque) != -1) {
+                bloque.flip();
+                crc.update(bloque);
+                bloque.clear();
+            }
+        }
+        return crc.getValue();
+    }
+
+    /**
+     * Entrada de la caché en memoria.
+     */
+    private static final class Entrada {
+
+        private final long tamano;
+        private long modificado;
+        private final long hash;
+        private final SoftReference<Object> valor;
+
+        Entrada(long tamano, long modificado, long hash, Object valor) {
+            this.tamano = tamano;
+            this.modificado = modificado;
+            this.hash = hash;
+            this.valor = new SoftReference<>(valor);
+        }
+    }
+}
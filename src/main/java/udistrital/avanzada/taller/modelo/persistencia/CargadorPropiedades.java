@@ -4,11 +4,9 @@ import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Properties;
-import javax.swing.JFileChooser;
-import javax.swing.filechooser.FileNameExtensionFilter;
+import java.io.InterruptedIOException;
+import java.nio.file.Path;
+import java.util.function.Supplier;
 import udistrital.avanzada.taller.modelo.Hechizo;
 import udistrital.avanzada.taller.modelo.LibroHechizos;
 import udistrital.avanzada.taller.modelo.ListadoMagos;
@@ -25,12 +23,28 @@ import udistrital.avanzada.taller.modelo.Mago;
  * objetos de dominio ({@link ListadoMagos} y {@link LibroHechizos}).</p>
  *
  * <p>
- * No usa rutas “quemadas”: cuando la ruta no es provista, abre un
- * {@link JFileChooser} para que el usuario seleccione el archivo. Los formatos
- * esperados son:
+ * La lectura se hace en streaming y en una sola pasada (ver
+ * {@link LectorPropiedades}): los valores se ubican por índice a medida que se
+ * leen y los objetos de dominio se construyen al final, sin pasar por una
+ * tabla {@link java.util.Properties}. Si el archivo empieza con el número
+ * mágico de {@link FormatoBinario}, se carga en cambio desde el formato
+ * binario compacto; si empieza con la cabecera de gzip o zlib, se
+ * descomprime mientras se lee.</p>
+ *
+ * <p>
+ * Las cargas por ruta pasan por una caché ({@link CacheCargas}) identificada
+ * por ruta, tamaño, fecha y hash del contenido: si el archivo no cambió se
+ * devuelve el mismo objeto ya construido, sin volver a interpretarlo.</p>
+ *
+ * <p>
+ * No usa rutas “quemadas” ni abre diálogos: la ruta la elige quien llama (la
+ * vista con su selector de archivos, o los argumentos de
+ * {@link udistrital.avanzada.taller.control.LauncherConsola}), así que la
+ * carga funciona también sin interfaz gráfica. Los formatos esperados son:
  * <ul>
  * <li><b>magos.properties</b>: con la clave {@code count} y pares
- * {@code mago.&lt;i&gt;.nombre}, {@code mago.&lt;i&gt;.casa} (i=1..count).</li>
+ * {@code mago.&lt;i&gt;.nombre}, {@code mago.&lt;i&gt;.casa} (i=1..count), más
+ * un {@code mago.&lt;i&gt;.rating} opcional usado para sembrar el torneo.</li>
  * <li><b>hechizos.properties</b>: con la clave {@code count} y pares
  * {@code hechizo.&lt;i&gt;.nombre}, {@code hechizo.&lt;i&gt;.puntos}
  * (i=1..count).</li>
@@ -61,160 +75,308 @@ import udistrital.avanzada.taller.modelo.Mago;
 public class CargadorPropiedades {
 
     /**
-     * Clave usada para indicar la cantidad de elementos en el archivo.
+     * Caché de cargas por ruta y contenido, compartida por toda la
+     * aplicación.
      */
-    private static final String KEY_COUNT = "count";
+    private final CacheCargas cache = CacheCargas.compartida();
 
     /**
-     * Permite al usuario seleccionar un archivo .properties desde el sistema.
+     * Carga los magos desde una ruta.
      *
-     * @param descripcion texto descriptivo del tipo de archivo
-     * @return ruta absoluta del archivo seleccionado o {@code null} si se
-     * cancela
+     * @param rutaSistemaArchivos ruta del archivo de magos
+     * @return listado de magos cargado
+     * @throws IOException si la ruta es {@code null} u ocurre un error
+     * durante la lectura
      */
-    private String seleccionarArchivo(String descripcion) {
-        JFileChooser chooser = new JFileChooser();
-        chooser.setDialogTitle("Seleccionar archivo de " + descripcion);
-        chooser.setFileFilter(new FileNameExtensionFilter("Archivos de propiedades (*.properties)", "properties"));
-
-        int resultado = chooser.showOpenDialog(null);
-        if (resultado == JFileChooser.APPROVE_OPTION) {
-            File archivo = chooser.getSelectedFile();
-            return archivo.getAbsolutePath();
-        }
-        return null;
+    public ListadoMagos cargarMagos(String rutaSistemaArchivos) throws IOException {
+        return cargarMagos(rutaSistemaArchivos, ProgresoCarga.NINGUNO);
     }
 
     /**
-     * Carga los magos desde un archivo de propiedades seleccionado por el
-     * usuario o desde una ruta proporcionada.
+     * Carga los magos desde una ruta informando el avance.
+     * <p>
+     * Pensado para cargas en segundo plano: el avance se informa desde el hilo
+     * que carga y, si ese hilo es interrumpido, la carga se corta con una
+     * {@link InterruptedIOException}.
+     * </p>
      *
-     * @param rutaSistemaArchivos ruta opcional del archivo de magos (si es
-     * {@code null}, se abrirá un JFileChooser)
+     * @param rutaSistemaArchivos ruta del archivo de magos
+     * @param progreso receptor del avance (bytes leídos y entradas)
      * @return listado de magos cargado
+     * @throws InterruptedIOException si la carga fue cancelada
      * @throws IOException si ocurre un error durante la lectura
      */
-    public ListadoMagos cargarMagos(String rutaSistemaArchivos) throws IOException {
-        if (rutaSistemaArchivos == null) {
-            rutaSistemaArchivos = seleccionarArchivo("magos");
-        }
+    public ListadoMagos cargarMagos(String rutaSistemaArchivos, ProgresoCarga progreso) throws IOException {
         if (rutaSistemaArchivos == null) {
             throw new IOException("No se seleccionó ningún archivo de magos.");
         }
 
-        Properties props = cargarDesdeRutaOClasspath(rutaSistemaArchivos);
-        int cantidad = leerEnteroObligatorio(props, KEY_COUNT, "magos.properties: count");
+        String ruta = rutaSistemaArchivos;
+        boolean binario = esBinario(ruta);
+        ListadoMagos listado = cache.obtener(Path.of(ruta), CacheCargas.Formato.MAGOS, !binario, () -> {
+            if (binario) {
+                return cargarBinario(ruta, FormatoBinario::leerMagos);
+            }
+            AcumuladorMagos acumulador = new AcumuladorMagos();
+            cargarDesdeRutaOClasspath(ruta, acumulador, progreso);
+            return acumulador.construir();
+        });
+        informarFin(ruta, progreso, listado.getMagos().size());
+        return listado;
+    }
 
-        List<Mago> magos = new ArrayList<>(cantidad);
-        for (int i = 1; i <= cantidad; i++) {
-            String base = "mago." + i + ".";
-            String nombre = leerTextoObligatorio(props, base + "nombre", "mago." + i + ".nombre");
-            String casa = leerTextoObligatorio(props, base + "casa", "mago." + i + ".casa");
+    /**
+     * Carga los hechizos desde una ruta.
+     *
+     * @param rutaSistemaArchivos ruta del archivo de hechizos
+     * @return libro de hechizos cargado
+     * @throws IOException si la ruta es {@code null} u ocurre un error
+     * durante la lectura
+     */
+    public LibroHechizos cargarHechizos(String rutaSistemaArchivos) throws IOException {
+        return cargarHechizos(rutaSistemaArchivos, ProgresoCarga.NINGUNO);
+    }
 
-            Mago mago = new Mago(nombre, casa);
-            magos.add(mago);
+    /**
+     * Carga los hechizos desde una ruta informando el avance (ver
+     * {@link #cargarMagos(String, ProgresoCarga)}).
+     *
+     * @param rutaSistemaArchivos ruta del archivo de hechizos
+     * @param progreso receptor del avance (bytes leídos y entradas)
+     * @return libro de hechizos cargado
+     * @throws InterruptedIOException si la carga fue cancelada
+     * @throws IOException si ocurre un error durante la lectura
+     */
+    public LibroHechizos cargarHechizos(String rutaSistemaArchivos, ProgresoCarga progreso) throws IOException {
+        if (rutaSistemaArchivos == null) {
+            throw new IOException("No se seleccionó ningún archivo de hechizos.");
         }
 
-        ListadoMagos listado = new ListadoMagos();
-        listado.setMagos(magos);
-        return listado;
+        String ruta = rutaSistemaArchivos;
+        boolean binario = esBinario(ruta);
+        LibroHechizos libro = cache.obtener(Path.of(ruta), CacheCargas.Formato.HECHIZOS, !binario, () -> {
+            if (binario) {
+                return cargarBinario(ruta, FormatoBinario::leerHechizos);
+            }
+            AcumuladorHechizos acumulador = new AcumuladorHechizos();
+            cargarDesdeRutaOClasspath(ruta, acumulador, progreso);
+            return acumulador.construir();
+        });
+        informarFin(ruta, progreso, libro.getHechizos().size());
+        return libro;
     }
 
     /**
-     * Carga los hechizos desde un archivo de propiedades seleccionado por el
-     * usuario o desde una ruta proporcionada.
+     * Carga los magos de un archivo grande repartiendo el trabajo entre todos
+     * los núcleos disponibles.
+     * <p>
+     * El archivo se mapea en memoria y se divide en tramos por líneas; cada
+     * tramo se procesa en paralelo y los resultados parciales se fusionan en
+     * orden de clave. El resultado (y los mensajes de error) son los mismos
+     * que los de {@link #cargarMagos(String)}.
+     * </p>
      *
-     * @param rutaSistemaArchivos ruta opcional del archivo de hechizos (si es
-     * {@code null}, se abrirá un JFileChooser)
-     * @return libro de hechizos cargado
+     * @param rutaSistemaArchivos ruta del archivo de magos
+     * @return listado de magos cargado
      * @throws IOException si ocurre un error durante la lectura
      */
-    public LibroHechizos cargarHechizos(String rutaSistemaArchivos) throws IOException {
+    public ListadoMagos cargarMagosParalelo(String rutaSistemaArchivos) throws IOException {
+        return cargarMagosParalelo(rutaSistemaArchivos, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Carga los magos de un archivo grande usando la cantidad de hilos
+     * indicada.
+     *
+     * @param rutaSistemaArchivos ruta del archivo de magos
+     * @param hilos cantidad de hilos de lectura
+     * @return listado de magos cargado
+     * @throws IOException si ocurre un error durante la lectura
+     */
+    public ListadoMagos cargarMagosParalelo(String rutaSistemaArchivos, int hilos) throws IOException {
         if (rutaSistemaArchivos == null) {
-            rutaSistemaArchivos = seleccionarArchivo("hechizos");
+            throw new IOException("No se seleccionó ningún archivo de magos.");
         }
+        boolean binario = esBinario(rutaSistemaArchivos);
+        return cache.obtener(Path.of(rutaSistemaArchivos), CacheCargas.Formato.MAGOS, !binario, () -> binario
+                ? cargarBinario(rutaSistemaArchivos, FormatoBinario::leerMagos)
+                : cargarMapeado(rutaSistemaArchivos, AcumuladorMagos::new, hilos).construir());
+    }
+
+    /**
+     * Carga los hechizos de un archivo grande repartiendo el trabajo entre
+     * todos los núcleos disponibles (ver {@link #cargarMagosParalelo(String)}).
+     *
+     * @param rutaSistemaArchivos ruta del archivo de hechizos
+     * @return libro de hechizos cargado
+     * @throws IOException si ocurre un error durante la lectura
+     */
+    public LibroHechizos cargarHechizosParalelo(String rutaSistemaArchivos) throws IOException {
         if (rutaSistemaArchivos == null) {
             throw new IOException("No se seleccionó ningún archivo de hechizos.");
         }
+        boolean binario = esBinario(rutaSistemaArchivos);
+        return cache.obtener(Path.of(rutaSistemaArchivos), CacheCargas.Formato.HECHIZOS, !binario, () -> binario
+                ? cargarBinario(rutaSistemaArchivos, FormatoBinario::leerHechizos)
+                : cargarMapeado(rutaSistemaArchivos, AcumuladorHechizos::new,
+                        Runtime.getRuntime().availableProcessors()).construir());
+    }
 
-        Properties props = cargarDesdeRutaOClasspath(rutaSistemaArchivos);
-        int cantidad = leerEnteroObligatorio(props, KEY_COUNT, "hechizos.properties: count");
+    /**
+     * Descarta las cargas guardadas en caché (en memoria y en disco), de modo
+     * que la próxima carga vuelva a leer los archivos.
+     */
+    public void limpiarCache() {
+        cache.limpiar();
+    }
 
-        List<Hechizo> hechizos = new ArrayList<>(cantidad);
-        for (int i = 1; i <= cantidad; i++) {
-            String base = "hechizo." + i + ".";
-            String nombre = leerTextoObligatorio(props, base + "nombre", "hechizo." + i + ".nombre");
-            int puntos = leerEnteroObligatorio(props, base + "puntos", "hechizo." + i + ".puntos");
+    // =========================
+    //   Formato binario
+    // =========================
+    /**
+     * Convierte un archivo de magos {@code .properties} al formato binario
+     * compacto de {@link FormatoBinario}.
+     *
+     * @param rutaPropiedades archivo de magos de entrada
+     * @param rutaBinaria archivo binario de salida
+     * @throws IOException si falla la lectura o la escritura
+     */
+    public void convertirMagosABinario(String rutaPropiedades, String rutaBinaria) throws IOException {
+        FormatoBinario.escribirMagos(cargarMagos(rutaPropiedades), Path.of(rutaBinaria));
+    }
 
-            if (puntos < 1) {
-                throw new IOException("Valor inválido en " + base + "puntos: " + puntos + ". Debe ser >= 1.");
-            }
+    /**
+     * Convierte un archivo de hechizos {@code .properties} al formato binario
+     * compacto de {@link FormatoBinario}.
+     *
+     * @param rutaPropiedades archivo de hechizos de entrada
+     * @param rutaBinaria archivo binario de salida
+     * @throws IOException si falla la lectura o la escritura
+     */
+    public void convertirHechizosABinario(String rutaPropiedades, String rutaBinaria) throws IOException {
+        FormatoBinario.escribirHechizos(cargarHechizos(rutaPropiedades), Path.of(rutaBinaria));
+    }
 
-            hechizos.add(new Hechizo(nombre, puntos));
+    /**
+     * Indica si el archivo empieza con un número mágico de
+     * {@link FormatoBinario}. Si el tipo no es el esperado, la lectura
+     * binaria lo informa con un error claro en vez de intentar leerlo como
+     * texto.
+     *
+     * @param rutaSistemaArchivos ruta del archivo
+     * @return {@code true} si es un archivo binario; {@code false} si es
+     * texto o no se pudo leer (el error se informa luego al cargarlo)
+     */
+    private boolean esBinario(String rutaSistemaArchivos) {
+        try {
+            int magia = FormatoBinario.leerMagia(Path.of(rutaSistemaArchivos));
+            return magia == FormatoBinario.MAGIA_MAGOS || magia == FormatoBinario.MAGIA_HECHIZOS;
+        } catch (IOException | RuntimeException e) {
+            return false;
         }
+    }
 
-        LibroHechizos libro = new LibroHechizos();
-        libro.setHechizos(hechizos);
-        return libro;
+    /**
+     * Carga un archivo en formato binario con el mismo manejo de errores que
+     * la lectura de texto.
+     *
+     * @param rutaSistemaArchivos ruta del archivo binario
+     * @param lector función de lectura del tipo esperado
+     * @return contenido cargado
+     * @throws IOException si el archivo no es válido
+     */
+    private <T> T cargarBinario(String rutaSistemaArchivos, LectorBinario<T> lector) throws IOException {
+        try {
+            return lector.leer(Path.of(rutaSistemaArchivos));
+        } catch (IOException e) {
+            throw new IOException("No se pudo cargar el archivo: " + rutaSistemaArchivos, e);
+        }
+    }
+
+    /**
+     * Lectura de un archivo binario de un tipo concreto.
+     */
+    @FunctionalInterface
+    private interface LectorBinario<T> {
+
+        T leer(Path ruta) throws IOException;
     }
 
     // =========================
     //   Utilidades de lectura
     // =========================
     /**
-     * Carga un archivo de propiedades desde una ruta del sistema de archivos.
+     * Lee en streaming un archivo de propiedades desde una ruta del sistema de
+     * archivos, entregando cada entrada al destino a medida que se lee. Si el
+     * archivo está comprimido con gzip o zlib (ver {@link Compresion}), se
+     * descomprime al vuelo.
      *
      * @param rutaSistemaArchivos ruta absoluta del archivo
-     * @return objeto {@link Properties} cargado
+     * @param destino receptor de las entradas leídas
+     * @param progreso receptor del avance de la lectura
+     * @throws InterruptedIOException si el hilo fue interrumpido
      * @throws IOException si el archivo no puede abrirse o leerse
      */
-    private Properties cargarDesdeRutaOClasspath(String rutaSistemaArchivos) throws IOException {
-        Properties props = new Properties();
-
-        try (InputStream is = new FileInputStream(rutaSistemaArchivos)) {
-            props.load(is);
-            return props;
+    private void cargarDesdeRutaOClasspath(String rutaSistemaArchivos, LectorPropiedades.Destino destino,
+            ProgresoCarga progreso) throws IOException {
+        File archivo = new File(rutaSistemaArchivos);
+        try {
+            Compresion.Tipo tipo = Compresion.detectar(archivo.toPath());
+            Compresion.Contador contador = new Compresion.Contador(new FileInputStream(archivo));
+            // Con compresión, el avance se mide en bytes del archivo en disco.
+            ProgresoCarga aviso = tipo == Compresion.Tipo.NINGUNA ? progreso
+                    : (leidos, total, entradas) -> progreso.avance(contador.getLeidos(), total, entradas);
+            try (InputStream is = Compresion.descomprimir(contador, tipo)) {
+                new LectorPropiedades(destino).leer(is, aviso, archivo.length());
+            } finally {
+                contador.close();
+            }
+        } catch (InterruptedIOException e) {
+            throw e; // cancelación: no es un error del archivo
         } catch (IOException e) {
             throw new IOException("No se pudo cargar el archivo: " + rutaSistemaArchivos, e);
         }
     }
 
     /**
-     * Lee una propiedad de texto obligatoria.
+     * Informa el final de una carga; cubre también los aciertos de la caché y
+     * los archivos binarios, que no pasan por el lector de texto.
      *
-     * @param props archivo de propiedades cargado
-     * @param key clave a consultar
-     * @param etiqueta nombre legible de la propiedad (para mensajes de error)
-     * @return valor no vacío (con {@code trim()}) de la propiedad
-     * @throws IOException si la clave no existe o el valor está vacío
+     * @param rutaSistemaArchivos ruta del archivo cargado
+     * @param progreso receptor del avance
+     * @param elementos cantidad de elementos construidos
      */
-    private String leerTextoObligatorio(Properties props, String key, String etiqueta) throws IOException {
-        String v = props.getProperty(key);
-        if (v == null || v.isBlank()) {
-            throw new IOException("Falta o vacío el valor de la propiedad obligatoria: " + etiqueta);
-        }
-        return v.trim();
+    private void informarFin(String rutaSistemaArchivos, ProgresoCarga progreso, long elementos) {
+        long tamano = new File(rutaSistemaArchivos).length();
+        progreso.avance(tamano, tamano, elementos);
     }
 
     /**
-     * Lee una propiedad entera obligatoria.
+     * Lee un archivo mapeado en memoria y en paralelo. Un archivo comprimido
+     * no se puede partir en tramos, así que se lee en streaming con un solo
+     * acumulador.
      *
-     * @param props archivo de propiedades cargado
-     * @param key clave a consultar
-     * @param etiqueta nombre legible de la propiedad (para mensajes de error)
-     * @return valor entero parseado
-     * @throws IOException si la clave no existe, está vacía o no es numérica
+     * @param rutaSistemaArchivos ruta del archivo
+     * @param fabrica crea un acumulador vacío por tramo
+     * @param hilos cantidad de hilos de lectura
+     * @return acumulador con todas las entradas del archivo
+     * @throws InterruptedIOException si el hilo fue interrumpido
+     * @throws IOException si el archivo no puede abrirse o leerse
      */
-    private int leerEnteroObligatorio(Properties props, String key, String etiqueta) throws IOException {
-        String v = props.getProperty(key);
-        if (v == null || v.isBlank()) {
-            throw new IOException("Falta el valor de la propiedad obligatoria: " + etiqueta);
-        }
+    private <A extends AcumuladorIndexado> A cargarMapeado(String rutaSistemaArchivos, Supplier<A> fabrica,
+            int hilos) throws IOException {
         try {
-            return Integer.parseInt(v.trim());
-        } catch (NumberFormatException e) {
-            throw new IOException("Formato inválido para " + etiqueta + ": " + v, e);
+            if (Compresion.detectar(Path.of(rutaSistemaArchivos)) == Compresion.Tipo.NINGUNA) {
+                return LectorParalelo.leer(Path.of(rutaSistemaArchivos), fabrica, hilos);
+            }
+        } catch (InterruptedIOException e) {
+            throw e; // cancelación: no es un error del archivo
+        } catch (IOException e) {
+            throw new IOException("No se pudo cargar el archivo: " + rutaSistemaArchivos, e);
         }
+        A acumulador = fabrica.get();
+        cargarDesdeRutaOClasspath(rutaSistemaArchivos, acumulador, ProgresoCarga.NINGUNO);
+        return acumulador;
     }
 
     // =========================
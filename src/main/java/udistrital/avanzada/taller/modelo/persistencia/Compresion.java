@@ -0,0 +1,203 @@
+package udistrital.avanzada.taller.modelo.persistencia;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.DataFormatException;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+import java.util.zip.ZipException;
+
+/**
+ * Detección y lectura de archivos de propiedades comprimidos.
+ * <p>
+ * Se reconocen por sus primeros bytes, no por la extensión: gzip empieza con
+ * {@code 1F 8B} y deflate con envoltura zlib con un byte de método 8 y una
+ * cabecera múltiplo de 31 (por ejemplo {@code 78 9C}). Esa cabecera de dos
+ * bytes también puede aparecer al inicio de un texto (por ejemplo
+ * {@code "hC"} o {@code "x^"}), así que antes de tratar un archivo como zlib
+ * se descomprime una muestra del comienzo; si no es deflate válido, se lee
+ * como texto. El contenido se descomprime mientras se lee, con un búfer de
+ * entrada grande, sin armar el archivo completo en memoria.
+ * </p>
+ *
+ * @author Paula Martínez
+ * @version 1.0
+ * @since 2026-10-19
+ */
+final class Compresion {
+
+    /**
+     * Tamaño del búfer del descompresor: lecturas grandes sobre el archivo
+     * comprimido rinden mejor en discos lentos o de red.
+     */
+    private static final int TAMANO_BUFER = 256 * 1024;
+
+    /**
+     * Bytes del comienzo que se intentan descomprimir para confirmar que una
+     * cabecera zlib no es casualidad.
+     */
+    private static final int TAMANO_MUESTRA = 4096;
+
+    /**
+     * Tipos de compresión reconocidos.
+     */
+    enum Tipo {
+        /** Archivo sin comprimir. */
+        NINGUNA,
+        /** Formato gzip (RFC 1952). */
+        GZIP,
+        /** Deflate con envoltura zlib (RFC 1950). */
+        ZLIB
+    }
+
+    private Compresion() {
+    }
+
+    /**
+     * Identifica la compresión de un archivo por sus primeros bytes. Si la
+     * cabecera parece zlib, se confirma descomprimiendo una muestra.
+     *
+     * @param ruta archivo a revisar
+     * @return tipo detectado; {@link Tipo#NINGUNA} si no coincide ninguno
+     * @throws IOException si el archivo no se puede leer
+     */
+    static Tipo detectar(Path ruta) throws IOException {
+        try (FileChannel canal = FileChannel.open(ruta, StandardOpenOption.READ)) {
+            ByteBuffer muestra = ByteBuffer.allocate(TAMANO_MUESTRA);
+            while (muestra.hasRemaining() && canal.read(muestra) != -1) {
+                // leer hasta llenar la muestra
+            }
+            if (muestra.position() < 2) {
+                return Tipo.NINGUNA;
+            }
+            Tipo tipo = detectar(muestra.get(0) & 0xFF, muestra.get(1) & 0xFF);
+            if (tipo == Tipo.ZLIB && !esZlibValido(muestra.array(), muestra.position())) {
+                return Tipo.NINGUNA;
+            }
+            return tipo;
+        }
+    }
+
+    /**
+     * Intenta descomprimir el comienzo del archivo.
+     *
+     * @return {@code false} si los datos no son deflate válido
+     */
+    private static boolean esZlibValido(byte[] datos, int largo) {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(datos, 0, largo);
+            byte[] salida = new byte[TAMANO_MUESTRA];
+            while (!inflater.finished() && !inflater.needsInput() && !inflater.needsDictionary()) {
+                inflater.inflate(salida);
+            }
+            return !inflater.needsDictionary();
+        } catch (DataFormatException e) {
+            return false;
+        } finally {
+            inflater.end();
+        }
+    }
+
+    /**
+     * Identifica la compresión a partir de los dos primeros bytes.
+     *
+     * @param b0 primer byte (sin signo)
+     * @param b1 segundo byte (sin signo)
+     * @return tipo detectado
+     */
+    static Tipo detectar(int b0, int b1) {
+        if (b0 == 0x1F && b1 == 0x8B) {
+            return Tipo.GZIP;
+        }
+        // CMF: método 8 (deflate) y ventana de hasta 32 KiB; FLG: la cabecera
+        // completa es múltiplo de 31 y sin diccionario. Algunos textos también
+        // cumplen ("hC", "XG", "x^", "(S", "8O"): detectar(Path) lo confirma.
+        if ((b0 & 0x0F) == 8 && (b0 >> 4) <= 7 && ((b0 << 8) | b1) % 31 == 0 && (b1 & 0x20) == 0) {
+            return Tipo.ZLIB;
+        }
+        return Tipo.NINGUNA;
+    }
+
+    /**
+     * Envuelve un flujo con el descompresor correspondiente.
+     *
+     * @param entrada flujo con el contenido del archivo tal cual está en disco
+     * @param tipo compresión detectada
+     * @return flujo con el contenido descomprimido (o el mismo si no hay
+     * compresión)
+     * @throws IOException si la cabecera gzip es inválida
+     */
+    static InputStream descomprimir(InputStream entrada, Tipo tipo) throws IOException {
+        return switch (tipo) {
+            case GZIP -> new GZIPInputStream(entrada, TAMANO_BUFER);
+            case ZLIB -> new InflaterInputStream(entrada, new Inflater(), TAMANO_BUFER) {
+                @Override
+                public int read(byte[] b, int desde, int largo) throws IOException {
+                    try {
+                        return super.read(b, desde, largo);
+                    } catch (ZipException e) {
+                        throw new IOException("El archivo parece comprimido con zlib pero sus datos "
+                                + "están dañados: " + e.getMessage(), e);
+                    }
+                }
+
+                @Override
+                public void close() throws IOException {
+                    try {
+                        super.close();
+                    } finally {
+                        // Este constructor no libera el Inflater propio al cerrar.
+                        inf.end();
+                    }
+                }
+            };
+            case NINGUNA -> entrada;
+        };
+    }
+
+    /**
+     * Flujo que cuenta los bytes leídos del archivo comprimido, para informar
+     * el avance sobre el tamaño real en disco.
+     */
+    static final class Contador extends FilterInputStream {
+
+        private long leidos;
+
+        Contador(InputStream entrada) {
+            super(entrada);
+        }
+
+        /** @return bytes leídos hasta ahora */
+        long getLeidos() {
+            return leidos;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b != -1) leidos++;
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int desde, int largo) throws IOException {
+            int n = super.read(b, desde, largo);
+            if (n > 0) leidos += n;
+            return n;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long saltados = super.skip(n);
+            leidos += saltados;
+            return saltados;
+        }
+    }
+}
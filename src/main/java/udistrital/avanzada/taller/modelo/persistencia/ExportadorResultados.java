@@ -0,0 +1,417 @@
+package udistrital.avanzada.taller.modelo.persistencia;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import udistrital.avanzada.taller.modelo.Mago;
+import udistrital.avanzada.taller.modelo.ResultadoDuelo;
+
+/**
+ * Exporta los resultados del torneo a un archivo CSV o JSONL a medida que se
+ * producen.
+ * <p>
+ * Quien produce los resultados solo los deja en una cola acotada; un hilo
+ * escritor los saca por lotes, los codifica a mano en un búfer directo grande
+ * y lo vuelca al {@link FileChannel} cuando se llena. Así el hilo del duelo
+ * nunca toca el disco ni arma cadenas intermedias. Si el escritor se atrasa,
+ * la cola llena frena al productor en vez de descartar filas.
+ * </p>
+ *
+ * <p>
+ * Columnas: ronda, ganador, perdedor, puntos del ganador, puntos del perdedor,
+ * hechizos lanzados por el ganador y por el perdedor.
+ * </p>
+ *
+ * @author Paula Martínez
+ * @version 1.0
+ * @since 2026-10-19
+ */
+public final class ExportadorResultados implements Consumer<ResultadoDuelo>, AutoCloseable {
+
+    /**
+     * Formatos de salida disponibles.
+     */
+    public enum Formato {
+        /** Valores separados por comas, con fila de encabezado. */
+        CSV,
+        /** Un objeto JSON por línea. */
+        JSONL;
+
+        /**
+         * Elige el formato según la extensión del archivo ({@code .jsonl} o
+         * {@code .json} para JSONL; cualquier otra, CSV).
+         *
+         * @param ruta archivo de salida
+         * @return formato correspondiente
+         */
+        public static Formato segunExtension(Path ruta) {
+            String nombre = ruta.getFileName().toString().toLowerCase(Locale.ROOT);
+            return nombre.endsWith(".jsonl") || nombre.endsWith(".json") ? JSONL : CSV;
+        }
+    }
+
+    private static final int CAPACIDAD_COLA = 65_536;
+    private static final int TAMANO_LOTE = 4_096;
+    private static final int TAMANO_BUFER = 1 << 20;
+    /** Espacio reservado para los números y separadores de una fila. */
+    private static final int RESERVA_FILA = 192;
+    /** Nombres codificados que se guardan antes de vaciar la caché. */
+    private static final int MAX_NOMBRES_CACHE = 65_536;
+
+    private static final byte[] ENCABEZADO_CSV = ascii(
+            "ronda,ganador,perdedor,puntos_ganador,puntos_perdedor,hechizos_ganador,hechizos_perdedor\n");
+    private static final byte[] JSON_RONDA = ascii("{\"ronda\":");
+    private static final byte[] JSON_GANADOR = ascii(",\"ganador\":");
+    private static final byte[] JSON_PERDEDOR = ascii(",\"perdedor\":");
+    private static final byte[] JSON_PUNTOS_GANADOR = ascii(",\"puntosGanador\":");
+    private static final byte[] JSON_PUNTOS_PERDEDOR = ascii(",\"puntosPerdedor\":");
+    private static final byte[] JSON_HECHIZOS_GANADOR = ascii(",\"hechizosGanador\":");
+    private static final byte[] JSON_HECHIZOS_PERDEDOR = ascii(",\"hechizosPerdedor\":");
+    private static final byte[] HEX = ascii("0123456789abcdef");
+
+    /** Cada cuánto revisa {@link #accept} que el escritor siga vivo mientras espera lugar. */
+    private static final long ESPERA_COLA_MS = 100;
+
+    /** Marca de fin que el productor deja en la cola al cerrar. */
+    private static final ResultadoDuelo FIN = new ResultadoDuelo();
+
+    private final Path ruta;
+    private final Formato formato;
+    private final FileChannel canal;
+    private final ByteBuffer bufer = ByteBuffer.allocateDirect(TAMANO_BUFER);
+    private final BlockingQueue<ResultadoDuelo> cola = new ArrayBlockingQueue<>(CAPACIDAD_COLA);
+    private final Thread escritor;
+
+    /** Nombres ya escapados y en UTF-8; solo los toca el hilo escritor. */
+    private final Map<String, byte[]> nombresCodificados = new HashMap<>();
+    private final byte[] digitos = new byte[11];
+
+    private volatile IOException error;
+    private volatile boolean cerrado;
+    /** Filas codificadas; solo la toca el hilo escritor. */
+    private long filas;
+    /** Copia de {@link #filas} publicada al final de cada lote. */
+    private volatile long filasEscritas;
+
+    /**
+     * Abre (o trunca) el archivo de salida y arranca el hilo escritor.
+     *
+     * @param ruta archivo de salida
+     * @param formato formato de las filas
+     * @throws IOException si el archivo no se pudo abrir
+     */
+    public ExportadorResultados(Path ruta, Formato formato) throws IOException {
+        if (ruta == null || formato == null) {
+            throw new IllegalArgumentException("La ruta y el formato no pueden ser nulos");
+        }
+        this.ruta = ruta;
+        this.formato = formato;
+        this.canal = FileChannel.open(ruta, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+        if (formato == Formato.CSV) {
+            bufer.put(ENCABEZADO_CSV);
+        }
+        this.escritor = new Thread(this::escribir, "ExportadorResultados");
+        this.escritor.setDaemon(true);
+        this.escritor.start();
+    }
+
+    /**
+     * Abre el exportador eligiendo el formato por la extensión del archivo.
+     *
+     * @param ruta archivo de salida
+     * @throws IOException si el archivo no se pudo abrir
+     */
+    public ExportadorResultados(Path ruta) throws IOException {
+        this(ruta, Formato.segunExtension(ruta));
+    }
+
+    /**
+     * Encola un resultado para exportarlo. Si la cola está llena espera a que
+     * el escritor libere espacio; una interrupción no descarta la fila: se
+     * sigue esperando y luego se restaura la marca de interrupción.
+     *
+     * @param resultado resultado a exportar (los incompletos se ignoran)
+     * @throws IllegalStateException si el exportador ya se cerró o falló
+     */
+    @Override
+    public void accept(ResultadoDuelo resultado) {
+        if (resultado == null || resultado.getGanador() == null || resultado.getPerdedor() == null) {
+            return;
+        }
+        if (cerrado) {
+            throw new IllegalStateException("El exportador de resultados está cerrado");
+        }
+        if (error != null) {
+            throw new IllegalStateException("Error al exportar resultados: " + error.getMessage());
+        }
+        boolean interrumpido = false;
+        try {
+            while (true) {
+                try {
+                    if (cola.offer(resultado, ESPERA_COLA_MS, TimeUnit.MILLISECONDS)) {
+                        return;
+                    }
+                } catch (InterruptedException e) {
+                    interrumpido = true;
+                }
+                // Sin escritor nadie vaciará la cola: se avisa en vez de esperar para siempre
+                if (!escritor.isAlive()) {
+                    throw new IllegalStateException("Error al exportar resultados: "
+                            + (error != null ? error.getMessage() : "el escritor terminó"));
+                }
+            }
+        } finally {
+            if (interrumpido) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Escribe lo pendiente, espera al hilo escritor y cierra el archivo.
+     *
+     * @throws IOException si alguna escritura falló
+     */
+    @Override
+    public void close() throws IOException {
+        if (cerrado) {
+            return;
+        }
+        cerrado = true;
+        boolean interrumpido = false;
+        while (true) {
+            try {
+                cola.put(FIN);
+                escritor.join();
+                break;
+            } catch (InterruptedException e) {
+                interrumpido = true;
+            }
+        }
+        if (interrumpido) {
+            Thread.currentThread().interrupt();
+        }
+        if (error != null) {
+            throw error;
+        }
+    }
+
+    /** @return archivo de salida */
+    public Path getRuta() {
+        return ruta;
+    }
+
+    /** @return formato de salida */
+    public Formato getFormato() {
+        return formato;
+    }
+
+    /**
+     * Filas escritas hasta el momento. Es exacto después de {@link #close()}.
+     *
+     * @return cantidad de resultados exportados
+     */
+    public long getFilasEscritas() {
+        return filasEscritas;
+    }
+
+    /**
+     * Bucle del hilo escritor: saca lotes de la cola, los codifica y vuelca
+     * el búfer cuando la cola queda vacía o el búfer se llena.
+     */
+    private void escribir() {
+        List<ResultadoDuelo> lote = new ArrayList<>(TAMANO_LOTE);
+        try (FileChannel c = canal) {
+            boolean activo = true;
+            while (activo) {
+                lote.add(cola.take());
+                cola.drainTo(lote, TAMANO_LOTE - 1);
+                for (ResultadoDuelo r : lote) {
+                    if (r == FIN) {
+                        activo = false;
+                        break;
+                    }
+                    if (error == null) {
+                        escribirFila(r);
+                    }
+                }
+                lote.clear();
+                filasEscritas = filas;
+                if (cola.isEmpty() && error == null) {
+                    volcar();
+                }
+            }
+            if (error == null) {
+                volcar();
+                c.force(false);
+            }
+        } catch (IOException e) {
+            if (error == null) error = e;
+        } catch (InterruptedException e) {
+            if (error == null) error = new IOException("Exportación interrumpida: " + ruta);
+        }
+    }
+
+    private void escribirFila(ResultadoDuelo r) {
+        try {
+            byte[] ganador = nombre(r.getGanador());
+            byte[] perdedor = nombre(r.getPerdedor());
+            if (formato == Formato.CSV) {
+                asegurar(RESERVA_FILA);
+                entero(r.getRonda());
+                bufer.put((byte) ',');
+                poner(ganador);
+                asegurar(1);
+                bufer.put((byte) ',');
+                poner(perdedor);
+                asegurar(RESERVA_FILA);
+                bufer.put((byte) ',');
+                entero(r.getPuntosGanador());
+                bufer.put((byte) ',');
+                entero(r.getPuntosPerdedor());
+                bufer.put((byte) ',');
+                entero(r.getHechizosLanzadosGanador());
+                bufer.put((byte) ',');
+                entero(r.getHechizosLanzadosPerdedor());
+                bufer.put((byte) '\n');
+            } else {
+                asegurar(RESERVA_FILA);
+                bufer.put(JSON_RONDA);
+                entero(r.getRonda());
+                bufer.put(JSON_GANADOR);
+                poner(ganador);
+                asegurar(RESERVA_FILA);
+                bufer.put(JSON_PERDEDOR);
+                poner(perdedor);
+                asegurar(RESERVA_FILA);
+                bufer.put(JSON_PUNTOS_GANADOR);
+                entero(r.getPuntosGanador());
+                bufer.put(JSON_PUNTOS_PERDEDOR);
+                entero(r.getPuntosPerdedor());
+                bufer.put(JSON_HECHIZOS_GANADOR);
+                entero(r.getHechizosLanzadosGanador());
+                bufer.put(JSON_HECHIZOS_PERDEDOR);
+                entero(r.getHechizosLanzadosPerdedor());
+                bufer.put((byte) '}');
+                bufer.put((byte) '\n');
+            }
+            filas++;
+        } catch (IOException e) {
+            error = e;
+        }
+    }
+
+    /**
+     * Devuelve el nombre del mago ya escapado para el formato y en UTF-8. Los
+     * nombres se repiten mucho en un torneo (el campeón aparece en cada duelo
+     * de su racha), así que se codifican una sola vez.
+     */
+    private byte[] nombre(Mago mago) {
+        String nombre = mago.getNombre();
+        byte[] codificado = nombresCodificados.get(nombre);
+        if (codificado == null) {
+            codificado = formato == Formato.CSV ? escaparCsv(nombre) : escaparJson(nombre);
+            if (nombresCodificados.size() >= MAX_NOMBRES_CACHE) {
+                nombresCodificados.clear();
+            }
+            nombresCodificados.put(nombre, codificado);
+        }
+        return codificado;
+    }
+
+    private static byte[] escaparCsv(String valor) {
+        boolean comillas = false;
+        for (int i = 0; i < valor.length() && !comillas; i++) {
+            char ch = valor.charAt(i);
+            comillas = ch == ',' || ch == '"' || ch == '\n' || ch == '\r';
+        }
+        if (!comillas) {
+            return valor.getBytes(StandardCharsets.UTF_8);
+        }
+        return ('"' + valor.replace("\"", "\"\"") + '"').getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static byte[] escaparJson(String valor) {
+        StringBuilder sb = new StringBuilder(valor.length() + 2).append('"');
+        for (int i = 0; i < valor.length(); i++) {
+            char ch = valor.charAt(i);
+            switch (ch) {
+                case '"' -> sb.append("\\\"");
+                case '\\' -> sb.append("\\\\");
+                case '\n' -> sb.append("\\n");
+                case '\r' -> sb.append("\\r");
+                case '\t' -> sb.append("\\t");
+                default -> {
+                    if (ch < 0x20) {
+                        sb.append("\\u00").append((char) HEX[ch >> 4]).append((char) HEX[ch & 0xF]);
+                    } else {
+                        sb.append(ch);
+                    }
+                }
+            }
+        }
+        return sb.append('"').toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    /** Escribe un entero en decimal sin pasar por {@code String}. */
+    private void entero(int valor) {
+        if (valor == Integer.MIN_VALUE) {
+            bufer.put(ascii(Integer.toString(valor)));
+            return;
+        }
+        if (valor < 0) {
+            bufer.put((byte) '-');
+            valor = -valor;
+        }
+        int pos = digitos.length;
+        do {
+            digitos[--pos] = (byte) ('0' + valor % 10);
+            valor /= 10;
+        } while (valor != 0);
+        bufer.put(digitos, pos, digitos.length - pos);
+    }
+
+    /** Copia bytes al búfer, volcándolo por partes si no caben. */
+    private void poner(byte[] datos) throws IOException {
+        int desde = 0;
+        while (desde < datos.length) {
+            if (!bufer.hasRemaining()) {
+                volcar();
+            }
+            int n = Math.min(bufer.remaining(), datos.length - desde);
+            bufer.put(datos, desde, n);
+            desde += n;
+        }
+    }
+
+    private void asegurar(int bytes) throws IOException {
+        if (bufer.remaining() < bytes) {
+            volcar();
+        }
+    }
+
+    private void volcar() throws IOException {
+        bufer.flip();
+        while (bufer.hasRemaining()) {
+            canal.write(bufer);
+        }
+        bufer.clear();
+    }
+
+    private static byte[] ascii(String texto) {
+        return texto.getBytes(StandardCharsets.US_ASCII);
+    }
+}
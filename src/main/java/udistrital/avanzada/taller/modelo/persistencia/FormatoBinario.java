@@ -0,0 +1,472 @@
+package udistrital.avanzada.taller.modelo.persistencia;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import udistrital.avanzada.taller.modelo.AlmacenMagos;
+import udistrital.avanzada.taller.modelo.EfectoHechizo;
+import udistrital.avanzada.taller.modelo.Hechizo;
+import udistrital.avanzada.taller.modelo.LibroHechizos;
+import udistrital.avanzada.taller.modelo.ListadoMagos;
+import udistrital.avanzada.taller.modelo.Casa;
+import udistrital.avanzada.taller.modelo.TablaCasas;
+
+/**
+ * Formato binario compacto y versionado para {@link ListadoMagos} y
+ * {@link LibroHechizos}.
+ *
+ * <p>
+ * Pensado para listados grandes que cambian poco: en vez de volver a
+ * interpretar el texto en cada arranque, el archivo binario se mapea en
+ * memoria y sus secciones se copian en bloque. Estructura (little-endian):
+ * </p>
+ * <pre>
+ * cabecera (32 bytes)
+ *   int   magia          MAGIA_MAGOS o MAGIA_HECHIZOS
+ *   short version
+ *   short reservado
+ *   int   cantidad       registros
+ *   int   casas          entradas del diccionario (casas o efectos)
+ *   int   bytesCadenas   tamaño de la tabla de cadenas
+ *   int   anchoRegistro  bytes por registro
+ *   long  reservado
+ * tabla de cadenas       UTF-8, sin separadores, rellenada a múltiplo de 4
+ * diccionario            casas x (int inicio, int largo)
+ * registros              cantidad x anchoRegistro
+ *   magos:    int inicioNombre, int largoNombre, int casa, int rating
+ *   hechizos: int inicioNombre, int largoNombre, int puntos, int efecto
+ * </pre>
+ *
+ * <p>
+ * En los magos el diccionario guarda las casas; en los hechizos, los textos
+ * de efecto distintos (ver {@link EfectoHechizo}), y el campo {@code efecto}
+ * del registro es la entrada más uno ({@code 0} para el efecto
+ * predeterminado). La versión 1 no tenía efectos, pero dejaba el diccionario
+ * vacío y el campo en cero, así que se sigue leyendo igual.
+ * </p>
+ *
+ * <p>
+ * Los nombres repetidos se guardan una sola vez en la tabla de cadenas y las
+ * casas se codifican como índices del diccionario, de modo que al leer todos
+ * los magos de una misma casa comparten la misma instancia de
+ * {@link String}.
+ * </p>
+ *
+ * <p>
+ * Uso como conversor desde la línea de comandos:
+ * </p>
+ * <pre>
+ * java udistrital.avanzada.taller.modelo.persistencia.FormatoBinario magos entrada.properties salida.bin
+ * java udistrital.avanzada.taller.modelo.persistencia.FormatoBinario hechizos entrada.properties salida.bin
+ * </pre>
+ *
+ * @author Paula Martínez
+ * @version 1.0
+ * @since 2026-10-19
+ */
+public final class FormatoBinario {
+
+    /**
+     * Número mágico de un listado de magos ("CCMG").
+     */
+    public static final int MAGIA_MAGOS = 0x434D4743;
+
+    /**
+     * Número mágico de un libro de hechizos ("CCHZ").
+     */
+    public static final int MAGIA_HECHIZOS = 0x5A484343;
+
+    /**
+     * Versión actual del formato.
+     */
+    public static final short VERSION = 2;
+
+    /**
+     * Versión más antigua que todavía se puede leer.
+     */
+    private static final short VERSION_MINIMA = 1;
+
+    private static final int TAMANO_CABECERA = 32;
+    private static final int ANCHO_REGISTRO = 16;
+    private static final int CAMPOS_REGISTRO = ANCHO_REGISTRO / Integer.BYTES;
+
+    private FormatoBinario() {
+    }
+
+    /**
+     * Lee los primeros 4 bytes del archivo para reconocer su formato.
+     *
+     * @param ruta archivo a examinar
+     * @return número mágico leído, o {@code 0} si el archivo es más corto
+     * @throws IOException si el archivo no puede abrirse
+     */
+    public static int leerMagia(Path ruta) throws IOException {
+        try (InputStream in = Files.newInputStream(ruta)) {
+            return leerMagia(in.readNBytes(4));
+        }
+    }
+
+    /**
+     * Interpreta los primeros bytes de un contenido como número mágico.
+     *
+     * @param inicio primeros bytes del contenido
+     * @return número mágico, o {@code 0} si hay menos de 4 bytes
+     */
+    static int leerMagia(byte[] inicio) {
+        if (inicio.length < 4) {
+            return 0;
+        }
+        return ByteBuffer.wrap(inicio, 0, 4).order(ByteOrder.LITTLE_ENDIAN).getInt();
+    }
+
+    // =========================
+    //   Escritura
+    // =========================
+    /**
+     * Escribe un listado de magos en formato binario.
+     *
+     * @param listado listado a escribir
+     * @param destino archivo de salida (se reemplaza si existe)
+     * @throws IOException si no se puede escribir
+     */
+    public static void escribirMagos(ListadoMagos listado, Path destino) throws IOException {
+        AlmacenMagos almacen = listado.getAlmacen();
+        int cantidad = almacen.tamano();
+        // La tabla de nombres del almacén ya está deduplicada: se copia tal
+        // cual y las casas se agregan al final
+        TablaCadenas cadenas = new TablaCadenas(almacen.copiarCadenas());
+        List<Casa> casas = almacen.getTablaCasas().getCasas();
+
+        int[] registros = new int[cantidad * CAMPOS_REGISTRO];
+        for (int i = 0; i < cantidad; i++) {
+            int base = i * CAMPOS_REGISTRO;
+            registros[base] = almacen.inicioNombre(i);
+            registros[base + 1] = almacen.largoNombre(i);
+            registros[base + 2] = almacen.codigoCasa(i);
+            registros[base + 3] = almacen.rating(i);
+        }
+
+        int[] diccionario = new int[casas.size() * 2];
+        for (int c = 0; c < casas.size(); c++) {
+            cadenas.agregar(casas.get(c).getNombre(), diccionario, c * 2);
+        }
+
+        escribir(destino, MAGIA_MAGOS, cantidad, casas.size(), cadenas, diccionario, registros);
+    }
+
+    /**
+     * Escribe un libro de hechizos en formato binario.
+     *
+     * @param libro libro a escribir
+     * @param destino archivo de salida (se reemplaza si existe)
+     * @throws IOException si no se puede escribir
+     */
+    public static void escribirHechizos(LibroHechizos libro, Path destino) throws IOException {
+        List<Hechizo> hechizos = libro.getHechizos();
+        TablaCadenas cadenas = new TablaCadenas();
+        Map<String, Integer> efectos = new HashMap<>();
+        int[] diccionario = new int[16];
+
+        int[] registros = new int[hechizos.size() * CAMPOS_REGISTRO];
+        for (int i = 0; i < hechizos.size(); i++) {
+            Hechizo h = hechizos.get(i);
+            int base = i * CAMPOS_REGISTRO;
+            cadenas.agregar(h.getNombre(), registros, base);
+            registros[base + 2] = h.getPuntos();
+
+            EfectoHechizo efecto = h.getEfecto();
+            if (!efecto.esPredeterminado()) {
+                Integer entrada = efectos.get(efecto.getTexto());
+                if (entrada == null) {
+                    entrada = efectos.size();
+                    if (entrada * 2 == diccionario.length) {
+                        diccionario = Arrays.copyOf(diccionario, diccionario.length * 2);
+                    }
+                    cadenas.agregar(efecto.getTexto(), diccionario, entrada * 2);
+                    efectos.put(efecto.getTexto(), entrada);
+                }
+                registros[base + 3] = entrada + 1;
+            }
+        }
+
+        escribir(destino, MAGIA_HECHIZOS, hechizos.size(), efectos.size(), cadenas,
+                Arrays.copyOf(diccionario, efectos.size() * 2), registros);
+    }
+
+    private static void escribir(Path destino, int magia, int cantidad, int casas, TablaCadenas cadenas,
+            int[] diccionario, int[] registros) throws IOException {
+        int bytesCadenas = relleno4(cadenas.tamano());
+        long total = (long) TAMANO_CABECERA + bytesCadenas
+                + (long) diccionario.length * Integer.BYTES + (long) registros.length * Integer.BYTES;
+        if (total > Integer.MAX_VALUE) {
+            throw new IOException("El contenido es demasiado grande para el formato binario.");
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate((int) total).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(magia)
+                .putShort(VERSION)
+                .putShort((short) 0)
+                .putInt(cantidad)
+                .putInt(casas)
+                .putInt(bytesCadenas)
+                .putInt(ANCHO_REGISTRO)
+                .putLong(0L);
+        buffer.put(cadenas.bytes(), 0, cadenas.tamano());
+        buffer.position(TAMANO_CABECERA + bytesCadenas);
+        buffer.asIntBuffer().put(diccionario).put(registros);
+        buffer.position(0);
+
+        try (FileChannel canal = FileChannel.open(destino, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (buffer.hasRemaining()) {
+                canal.write(buffer);
+            }
+        }
+    }
+
+    // =========================
+    //   Lectura
+    // =========================
+    /**
+     * Lee un listado de magos en formato binario.
+     *
+     * @param ruta archivo binario
+     * @return listado de magos cargado
+     * @throws IOException si el archivo no es un listado binario válido
+     */
+    static ListadoMagos leerMagos(Path ruta) throws IOException {
+        Contenido c = abrir(ruta, MAGIA_MAGOS);
+
+        TablaCasas tabla = new TablaCasas();
+        int[] codigos = new int[c.casas];
+        for (int k = 0; k < c.casas; k++) {
+            codigos[k] = tabla.registrar(c.cadena(c.diccionario[k * 2], c.diccionario[k * 2 + 1])).getCodigo();
+        }
+
+        // Los registros se separan en columnas; la tabla de cadenas del
+        // archivo pasa tal cual a ser la del almacén
+        int[] inicios = new int[c.cantidad];
+        int[] largos = new int[c.cantidad];
+        int[] casas = new int[c.cantidad];
+        int[] ratings = new int[c.cantidad];
+        int[] r = c.registros;
+        for (int i = 0, base = 0; i < c.cantidad; i++, base += CAMPOS_REGISTRO) {
+            inicios[i] = r[base];
+            largos[i] = r[base + 1];
+            int casa = r[base + 2];
+            if (casa < 0 || casa >= codigos.length) {
+                throw invalido(ruta, "casa fuera de rango en el registro " + (i + 1));
+            }
+            casas[i] = codigos[casa];
+            ratings[i] = r[base + 3];
+        }
+        try {
+            return new ListadoMagos(AlmacenMagos.desdeColumnas(c.cadenas, inicios, largos, casas, ratings, tabla));
+        } catch (IllegalArgumentException e) {
+            throw invalido(ruta, e.getMessage());
+        }
+    }
+
+    /**
+     * Lee un libro de hechizos en formato binario.
+     *
+     * @param ruta archivo binario
+     * @return libro de hechizos cargado
+     * @throws IOException si el archivo no es un libro binario válido
+     */
+    static LibroHechizos leerHechizos(Path ruta) throws IOException {
+        Contenido c = abrir(ruta, MAGIA_HECHIZOS);
+
+        // Cada entrada del diccionario se compila una vez; la 0 es el efecto
+        // predeterminado
+        EfectoHechizo[] efectos = new EfectoHechizo[c.casas + 1];
+        efectos[0] = EfectoHechizo.PREDETERMINADO;
+        for (int k = 0; k < c.casas; k++) {
+            try {
+                efectos[k + 1] = EfectoHechizo.compilar(c.cadena(c.diccionario[k * 2], c.diccionario[k * 2 + 1]));
+            } catch (IllegalArgumentException e) {
+                throw invalido(ruta, e.getMessage());
+            }
+        }
+
+        List<Hechizo> hechizos = new ArrayList<>(c.cantidad);
+        int[] r = c.registros;
+        for (int i = 0; i < c.cantidad; i++) {
+            int base = i * CAMPOS_REGISTRO;
+            if (r[base + 2] < 1) {
+                throw invalido(ruta, "puntos inválidos en el registro " + (i + 1));
+            }
+            int efecto = r[base + 3];
+            if (efecto < 0 || efecto >= efectos.length) {
+                throw invalido(ruta, "efecto fuera de rango en el registro " + (i + 1));
+            }
+            hechizos.add(new Hechizo(c.cadena(r[base], r[base + 1]), r[base + 2], efectos[efecto]));
+        }
+
+        LibroHechizos libro = new LibroHechizos();
+        libro.setHechizos(hechizos);
+        return libro;
+    }
+
+    /**
+     * Mapea el archivo, valida la cabecera y copia en bloque cada sección.
+     */
+    private static Contenido abrir(Path ruta, int magiaEsperada) throws IOException {
+        try (FileChannel canal = FileChannel.open(ruta, StandardOpenOption.READ)) {
+            long tamano = canal.size();
+            if (tamano < TAMANO_CABECERA) {
+                throw invalido(ruta, "cabecera incompleta");
+            }
+            if (tamano > Integer.MAX_VALUE) {
+                throw invalido(ruta, "archivo demasiado grande");
+            }
+            ByteBuffer buffer = canal.map(FileChannel.MapMode.READ_ONLY, 0, tamano).order(ByteOrder.LITTLE_ENDIAN);
+
+            int magia = buffer.getInt(0);
+            if (magia != magiaEsperada) {
+                throw invalido(ruta, magia == MAGIA_MAGOS || magia == MAGIA_HECHIZOS
+                        ? "el contenido es de otro tipo" : "número mágico desconocido");
+            }
+            short version = buffer.getShort(4);
+            if (version < VERSION_MINIMA || version > VERSION) {
+                throw invalido(ruta, "versión no soportada " + version);
+            }
+
+            Contenido c = new Contenido();
+            c.cantidad = buffer.getInt(8);
+            c.casas = buffer.getInt(12);
+            int bytesCadenas = buffer.getInt(16);
+            int ancho = buffer.getInt(20);
+
+            long esperado = (long) TAMANO_CABECERA + bytesCadenas
+                    + (long) c.casas * 2 * Integer.BYTES + (long) c.cantidad * ANCHO_REGISTRO;
+            if (c.cantidad < 0 || c.casas < 0 || bytesCadenas < 0 || (bytesCadenas & 3) != 0
+                    || ancho != ANCHO_REGISTRO || esperado != tamano) {
+                throw invalido(ruta, "tamaños inconsistentes");
+            }
+
+            c.cadenas = new byte[bytesCadenas];
+            buffer.get(TAMANO_CABECERA, c.cadenas);
+
+            IntBuffer enteros = buffer.position(TAMANO_CABECERA + bytesCadenas).slice()
+                    .order(ByteOrder.LITTLE_ENDIAN).asIntBuffer();
+            c.diccionario = new int[c.casas * 2];
+            enteros.get(c.diccionario);
+            c.registros = new int[c.cantidad * CAMPOS_REGISTRO];
+            enteros.get(c.registros);
+            c.ruta = ruta;
+            return c;
+        }
+    }
+
+    private static IOException invalido(Path ruta, String detalle) {
+        return new IOException("Archivo binario inválido: " + ruta + " (" + detalle + ")");
+    }
+
+    private static int relleno4(int n) {
+        return (n + 3) & ~3;
+    }
+
+    /**
+     * Secciones de un archivo binario ya copiadas a arreglos.
+     */
+    private static final class Contenido {
+
+        private Path ruta;
+        private int cantidad;
+        private int casas;
+        private byte[] cadenas;
+        private int[] diccionario;
+        private int[] registros;
+
+        String cadena(int inicio, int largo) throws IOException {
+            if (inicio < 0 || largo < 0 || inicio > cadenas.length - largo) {
+                throw invalido(ruta, "cadena fuera de la tabla");
+            }
+            return new String(cadenas, inicio, largo, StandardCharsets.UTF_8);
+        }
+    }
+
+    /**
+     * Tabla de cadenas en construcción; cada texto distinto se guarda una
+     * sola vez.
+     */
+    private static final class TablaCadenas {
+
+        private final Map<String, Integer> posiciones = new HashMap<>();
+        private byte[] datos;
+        private int tamano;
+
+        TablaCadenas() {
+            this.datos = new byte[1024];
+        }
+
+        /**
+         * Crea una tabla que empieza con bytes ya armados (sin indexarlos).
+         */
+        TablaCadenas(byte[] inicio) {
+            this.datos = Arrays.copyOf(inicio, Math.max(inicio.length, 1024));
+            this.tamano = inicio.length;
+        }
+
+        /**
+         * Agrega un texto y escribe su inicio y largo en
+         * {@code destino[pos]} y {@code destino[pos + 1]}.
+         */
+        void agregar(String texto, int[] destino, int pos) {
+            byte[] utf8 = texto.getBytes(StandardCharsets.UTF_8);
+            Integer inicio = posiciones.get(texto);
+            if (inicio == null) {
+                inicio = tamano;
+                if (tamano + utf8.length > datos.length) {
+                    datos = Arrays.copyOf(datos, Math.max(datos.length * 2, tamano + utf8.length));
+                }
+                System.arraycopy(utf8, 0, datos, tamano, utf8.length);
+                tamano += utf8.length;
+                posiciones.put(texto, inicio);
+            }
+            destino[pos] = inicio;
+            destino[pos + 1] = utf8.length;
+        }
+
+        byte[] bytes() {
+            return datos;
+        }
+
+        int tamano() {
+            return tamano;
+        }
+    }
+
+    /**
+     * Conversor de línea de comandos desde {@code .properties}.
+     *
+     * @param args {@code magos|hechizos entrada.properties salida.bin}
+     * @throws IOException si falla la lectura o la escritura
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 3 || !(args[0].equals("magos") || args[0].equals("hechizos"))) {
+            System.err.println("Uso: FormatoBinario magos|hechizos entrada.properties salida.bin");
+            System.exit(2);
+            return;
+        }
+        CargadorPropiedades cargador = new CargadorPropiedades();
+        if (args[0].equals("magos")) {
+            cargador.convertirMagosABinario(args[1], args[2]);
+        } else {
+            cargador.convertirHechizosABinario(args[1], args[2]);
+        }
+    }
+}
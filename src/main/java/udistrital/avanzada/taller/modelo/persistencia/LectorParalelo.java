@@ -0,0 +1,218 @@
+package udistrital.avanzada.taller.modelo.persistencia;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+/**
+ * Lectura en paralelo de archivos {@code .properties} grandes.
+ *
+ * <p>
+ * El archivo se mapea en memoria con {@link FileChannel#map} y se divide en
+ * tramos que terminan en un salto de línea real (no en una línea continuada).
+ * Cada tramo se procesa en su propio hilo con un {@link LectorPropiedades} y
+ * un acumulador propio; al final los acumuladores parciales se fusionan en
+ * el orden del archivo, de modo que el resultado es idéntico al de la lectura
+ * secuencial.
+ * </p>
+ *
+ * @author Paula Martínez
+ * @version 1.0
+ * @since 2026-10-19
+ */
+final class LectorParalelo {
+
+    /**
+     * Tamaño mínimo de un tramo; por debajo no compensa repartir el trabajo.
+     */
+    private static final long TRAMO_MINIMO = 4L * 1024 * 1024;
+
+    /**
+     * Tamaño máximo de un tramo: una sola región mapeada no puede superar
+     * {@link Integer#MAX_VALUE} bytes.
+     */
+    private static final long TRAMO_MAXIMO = 1L << 30;
+
+    /**
+     * Cantidad de bytes que se examinan de una vez al buscar un corte.
+     */
+    private static final int VENTANA_CORTE = 64 * 1024;
+
+    private LectorParalelo() {
+    }
+
+    /**
+     * Lee el archivo en paralelo y devuelve el acumulador con todo su
+     * contenido.
+     *
+     * @param <A> tipo de acumulador
+     * @param ruta archivo a leer
+     * @param fabrica crea un acumulador vacío por tramo
+     * @param hilos cantidad de hilos a usar
+     * @return acumulador con las entradas de todo el archivo
+     * @throws InterruptedIOException si el hilo que lee se interrumpe (queda
+     * con la marca de interrupción)
+     * @throws IOException si el archivo no puede mapearse o su contenido es
+     * inválido
+     */
+    static <A extends AcumuladorIndexado> A leer(Path ruta, Supplier<A> fabrica, int hilos) throws IOException {
+        try (FileChannel canal = FileChannel.open(ruta, StandardOpenOption.READ)) {
+            long[] cortes = calcularCortes(canal, Math.max(hilos, 1));
+            int tramos = cortes.length - 1;
+
+            if (tramos == 1) {
+                return leerTramo(canal, cortes[0], cortes[1], fabrica);
+            }
+
+            ExecutorService pool = Executors.newFixedThreadPool(Math.min(hilos, tramos), r -> {
+                Thread t = new Thread(r, "LectorParalelo");
+                t.setDaemon(true);
+                return t;
+            });
+            List<Future<A>> parciales = new ArrayList<>(tramos);
+            try {
+                for (int k = 0; k < tramos; k++) {
+                    long desde = cortes[k];
+                    long hasta = cortes[k + 1];
+                    parciales.add(pool.submit(() -> leerTramo(canal, desde, hasta, fabrica)));
+                }
+
+                // Fusión en orden del archivo: los tramos posteriores prevalecen
+                A total = esperar(parciales.get(0));
+                for (int k = 1; k < tramos; k++) {
+                    total.fusionar(esperar(parciales.get(k)));
+                }
+                return total;
+            } catch (IOException | RuntimeException e) {
+                // Los tramos pendientes ya no sirven
+                for (Future<A> f : parciales) {
+                    f.cancel(true);
+                }
+                throw e;
+            } finally {
+                pool.shutdownNow();
+            }
+        }
+    }
+
+    /**
+     * Procesa un tramo del archivo con un acumulador nuevo.
+     */
+    private static <A extends AcumuladorIndexado> A leerTramo(FileChannel canal, long desde, long hasta,
+            Supplier<A> fabrica) throws IOException {
+        A acumulador = fabrica.get();
+        if (hasta > desde) {
+            MappedByteBuffer region = canal.map(FileChannel.MapMode.READ_ONLY, desde, hasta - desde);
+            new LectorPropiedades(acumulador).leer(region, 0, region.limit());
+        }
+        return acumulador;
+    }
+
+    /**
+     * Divide el archivo en tramos que empiezan al inicio de una línea lógica.
+     *
+     * @return posiciones de corte, incluidas {@code 0} y el tamaño del archivo
+     */
+    private static long[] calcularCortes(FileChannel canal, int hilos) throws IOException {
+        long tamano = canal.size();
+        long tramos = Math.max(1, Math.min(hilos, tamano / TRAMO_MINIMO));
+        tramos = Math.max(tramos, (tamano + TRAMO_MAXIMO - 1) / TRAMO_MAXIMO);
+
+        List<Long> cortes = new ArrayList<>();
+        cortes.add(0L);
+        for (long k = 1; k < tramos; k++) {
+            long nominal = tamano * k / tramos;
+            long corte = buscarCorte(canal, Math.max(nominal, cortes.get(cortes.size() - 1)), tamano);
+            if (corte > cortes.get(cortes.size() - 1) && corte < tamano) {
+                cortes.add(corte);
+            }
+        }
+        cortes.add(tamano);
+
+        long[] resultado = new long[cortes.size()];
+        for (int i = 0; i < resultado.length; i++) {
+            resultado[i] = cortes.get(i);
+        }
+        return resultado;
+    }
+
+    /**
+     * Busca, desde {@code posicion}, el primer punto justo después de un salto
+     * de línea cuya línea no termine en una barra de continuación.
+     *
+     * @return posición del corte o {@code tamano} si no hay ninguno
+     */
+    private static long buscarCorte(FileChannel canal, long posicion, long tamano) throws IOException {
+        // Solo se confía en el conteo de barras si se vio un carácter distinto
+        // de '\\' en la línea (se pudo haber empezado a mitad de la línea)
+        boolean seguro = false;
+        int barras = 0;
+        while (posicion < tamano) {
+            int largo = (int) Math.min(VENTANA_CORTE, tamano - posicion);
+            MappedByteBuffer ventana = canal.map(FileChannel.MapMode.READ_ONLY, posicion, largo);
+            for (int i = 0; i < largo; i++) {
+                byte b = ventana.get(i);
+                if (b == '\n' || b == '\r') {
+                    long siguiente = posicion + i + 1;
+                    if (b == '\r' && siguiente < tamano && leerByte(canal, siguiente) == '\n') {
+                        siguiente++;
+                    }
+                    // Solo se corta si la línea no sigue en la próxima
+                    if (seguro && (barras & 1) == 0) {
+                        return siguiente;
+                    }
+                    seguro = false;
+                    barras = 0;
+                } else if (b == '\\') {
+                    barras++;
+                } else {
+                    seguro = true;
+                    barras = 0;
+                }
+            }
+            posicion += largo;
+        }
+        return tamano;
+    }
+
+    private static byte leerByte(FileChannel canal, long posicion) throws IOException {
+        return canal.map(FileChannel.MapMode.READ_ONLY, posicion, 1).get(0);
+    }
+
+    /**
+     * Espera el resultado de un tramo, propagando su error original.
+     */
+    private static <A> A esperar(Future<A> futuro) throws IOException {
+        try {
+            return futuro.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            InterruptedIOException interrumpida = new InterruptedIOException("Lectura interrumpida");
+            interrumpida.initCause(e);
+            throw interrumpida;
+        } catch (ExecutionException e) {
+            Throwable causa = e.getCause();
+            if (causa instanceof IOException io) {
+                throw io;
+            }
+            if (causa instanceof UncheckedIOException unchecked) {
+                throw unchecked.getCause();
+            }
+            if (causa instanceof RuntimeException rt) {
+                throw rt;
+            }
+            throw new IOException(causa);
+        }
+    }
+}
@@ -0,0 +1,377 @@
+package udistrital.avanzada.taller.modelo.persistencia;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Lector en streaming del formato {@code .properties}.
+ *
+ * <p>
+ * Reemplaza a {@link java.util.Properties} para los archivos de magos y
+ * hechizos: en lugar de volcar todo el archivo en una tabla sincronizada, lee
+ * el contenido en una sola pasada y entrega cada par clave/valor a un
+ * {@link Destino} apenas se completa la línea lógica. Respeta las reglas del
+ * formato que usa {@code Properties.load(InputStream)}: codificación
+ * ISO-8859-1, comentarios con {@code #} o {@code !}, separadores {@code =},
+ * {@code :} o espacio, líneas continuadas con barra invertida al final y
+ * secuencias de escape ({@code \t}, {@code \n}, {@code \r}, {@code \f} y
+ * {@code &#92;uXXXX}).
+ * </p>
+ *
+ * <p>
+ * Los búferes internos se reutilizan entre líneas, por lo que la memoria del
+ * lector es proporcional a la línea más larga y no al tamaño del archivo. Una
+ * instancia no es segura para uso concurrente.
+ * </p>
+ *
+ * @author Paula Martínez
+ * @version 1.0
+ * @since 2026-10-19
+ */
+final class LectorPropiedades {
+
+    /**
+     * Receptor de las entradas leídas.
+     */
+    interface Destino {
+
+        /**
+         * Se invoca por cada par clave/valor del archivo, en orden de
+         * aparición.
+         *
+         * @param clave búfer con la clave ya sin escapes (se reutiliza: no
+         * debe retenerse)
+         * @param largoClave cantidad de caracteres válidos en {@code clave}
+         * @param valor valor de la propiedad sin escapes
+         * @throws IOException si el destino rechaza la entrada
+         */
+        void entrada(char[] clave, int largoClave, String valor) throws IOException;
+    }
+
+    /**
+     * Tamaño del bloque de lectura desde el flujo.
+     */
+    private static final int TAMANO_BLOQUE = 64 * 1024;
+
+    /**
+     * Cantidad de bloques leídos entre dos avisos de avance (1 MiB).
+     */
+    private static final int BLOQUES_POR_AVISO = 16;
+
+    private final Destino destino;
+
+    /**
+     * Línea lógica en construcción (incluye líneas continuadas).
+     */
+    private char[] linea = new char[256];
+    private int largo;
+
+    /**
+     * Búfer reutilizable para la clave sin escapes.
+     */
+    private char[] clave = new char[64];
+
+    /**
+     * Búfer reutilizable para el valor sin escapes.
+     */
+    private char[] valor = new char[128];
+
+    /**
+     * Posición en {@link #linea} donde empieza la línea física actual.
+     */
+    private int inicioSegmento;
+
+    /**
+     * Indica si aún se están saltando los espacios iniciales de la línea
+     * física.
+     */
+    private boolean saltandoEspacios = true;
+
+    /**
+     * Indica si la línea lógica actual es un comentario.
+     */
+    private boolean enComentario;
+
+    /**
+     * Indica si la línea física anterior terminó en {@code \r} (para tratar
+     * {@code \r\n} como un solo salto).
+     */
+    private boolean ultimoFueCR;
+
+    /**
+     * Cantidad de pares clave/valor entregados al destino.
+     */
+    private long entradas;
+
+    /**
+     * Crea un lector que entrega sus entradas al destino indicado.
+     *
+     * @param destino receptor de los pares clave/valor
+     */
+    LectorPropiedades(Destino destino) {
+        this.destino = destino;
+    }
+
+    /**
+     * Lee el flujo completo y entrega todas sus entradas al destino.
+     *
+     * @param entrada flujo en ISO-8859-1 (no se cierra)
+     * @throws IOException si falla la lectura o el contenido es inválido
+     */
+    void leer(InputStream entrada) throws IOException {
+        leer(entrada, ProgresoCarga.NINGUNO, -1);
+    }
+
+    /**
+     * Lee el flujo completo informando el avance.
+     * <p>
+     * El avance se informa como mucho una vez por cada
+     * {@value #BLOQUES_POR_AVISO} bloques y una vez al terminar. Entre bloques
+     * se revisa si el hilo fue interrumpido, para poder cancelar la carga.
+     * </p>
+     *
+     * @param entrada flujo en ISO-8859-1 (no se cierra)
+     * @param progreso receptor del avance
+     * @param total tamaño total en bytes, o {@code -1} si se desconoce
+     * @throws InterruptedIOException si el hilo fue interrumpido
+     * @throws IOException si falla la lectura o el contenido es inválido
+     */
+    void leer(InputStream entrada, ProgresoCarga progreso, long total) throws IOException {
+        byte[] bloque = new byte[TAMANO_BLOQUE];
+        long leidos = 0;
+        int bloques = 0;
+        int n;
+        while ((n = entrada.read(bloque)) != -1) {
+            comprobarCancelacion();
+            for (int i = 0; i < n; i++) {
+                alimentar((char) (bloque[i] & 0xFF));
+            }
+            leidos += n;
+            if (++bloques % BLOQUES_POR_AVISO == 0) {
+                progreso.avance(leidos, total, entradas);
+            }
+        }
+        terminar();
+        progreso.avance(leidos, total, entradas);
+    }
+
+    /**
+     * Lee las posiciones {@code [desde, hasta)} de un búfer (por ejemplo, un
+     * tramo de un archivo mapeado en memoria) y entrega sus entradas al
+     * destino. El tramo debe empezar al inicio de una línea lógica.
+     *
+     * @param buffer contenido en ISO-8859-1
+     * @param desde posición inicial (incluida)
+     * @param hasta posición final (excluida)
+     * @throws IOException si el contenido es inválido
+     */
+    void leer(ByteBuffer buffer, int desde, int hasta) throws IOException {
+        for (int i = desde; i < hasta; i++) {
+            if ((i & (TAMANO_BLOQUE - 1)) == 0) {
+                comprobarCancelacion();
+            }
+            alimentar((char) (buffer.get(i) & 0xFF));
+        }
+        terminar();
+    }
+
+    /**
+     * Corta la lectura si el hilo actual fue interrumpido.
+     *
+     * @throws InterruptedIOException si hay una interrupción pendiente
+     */
+    static void comprobarCancelacion() throws InterruptedIOException {
+        if (Thread.currentThread().isInterrupted()) {
+            throw new InterruptedIOException("Carga cancelada.");
+        }
+    }
+
+    /**
+     * Procesa un carácter del archivo.
+     *
+     * @param c carácter leído
+     * @throws IOException si una línea completa resulta inválida
+     */
+    void alimentar(char c) throws IOException {
+        if (c == '\n' || c == '\r') {
+            if (c == '\n' && ultimoFueCR) {
+                ultimoFueCR = false;
+                return;
+            }
+            ultimoFueCR = c == '\r';
+            finDeLinea();
+            return;
+        }
+        ultimoFueCR = false;
+
+        if (saltandoEspacios) {
+            if (c == ' ' || c == '\t' || c == '\f') {
+                return;
+            }
+            saltandoEspacios = false;
+            if (largo == 0 && (c == '#' || c == '!')) {
+                enComentario = true;
+            }
+        }
+        if (enComentario) {
+            return;
+        }
+        if (largo == linea.length) {
+            linea = Arrays.copyOf(linea, largo * 2);
+        }
+        linea[largo++] = c;
+    }
+
+    /**
+     * Cierra la última línea pendiente al llegar al final del contenido.
+     *
+     * @throws IOException si la línea resulta inválida
+     */
+    void terminar() throws IOException {
+        if (!enComentario && largo > inicioSegmento && linea[largo - 1] == '\\') {
+            int barras = 0;
+            for (int i = largo - 1; i >= inicioSegmento && linea[i] == '\\'; i--) {
+                barras++;
+            }
+            if ((barras & 1) == 1) {
+                largo--; // barra de continuación sin línea siguiente
+            }
+        }
+        if (!enComentario && largo > 0) {
+            procesarLinea();
+        }
+        reiniciarLinea();
+    }
+
+    /**
+     * Maneja el fin de una línea física: la continúa si termina en una
+     * cantidad impar de barras invertidas o la procesa en caso contrario.
+     */
+    private void finDeLinea() throws IOException {
+        if (enComentario) {
+            reiniciarLinea();
+            return;
+        }
+        int barras = 0;
+        for (int i = largo - 1; i >= inicioSegmento && linea[i] == '\\'; i--) {
+            barras++;
+        }
+        if ((barras & 1) == 1) {
+            // Línea continuada: se quita la barra y se sigue en la próxima línea
+            largo--;
+            inicioSegmento = largo;
+            saltandoEspacios = true;
+            return;
+        }
+        if (largo > 0) {
+            procesarLinea();
+        }
+        reiniciarLinea();
+    }
+
+    private void reiniciarLinea() {
+        largo = 0;
+        inicioSegmento = 0;
+        saltandoEspacios = true;
+        enComentario = false;
+    }
+
+    /**
+     * Separa la línea lógica en clave y valor y los entrega al destino.
+     */
+    private void procesarLinea() throws IOException {
+        int finClave = 0;
+        boolean escapado = false;
+        boolean tieneSeparador = false;
+        while (finClave < largo) {
+            char c = linea[finClave];
+            if (escapado) {
+                escapado = false;
+            } else if (c == '\\') {
+                escapado = true;
+            } else if (c == '=' || c == ':') {
+                tieneSeparador = true;
+                break;
+            } else if (c == ' ' || c == '\t' || c == '\f') {
+                break;
+            }
+            finClave++;
+        }
+
+        int inicioValor = finClave + 1;
+        if (!tieneSeparador) {
+            // Tras espacios puede venir un único '=' o ':'
+            while (inicioValor < largo && esEspacio(linea[inicioValor])) {
+                inicioValor++;
+            }
+            if (inicioValor < largo && (linea[inicioValor] == '=' || linea[inicioValor] == ':')) {
+                inicioValor++;
+            }
+        }
+        while (inicioValor < largo && esEspacio(linea[inicioValor])) {
+            inicioValor++;
+        }
+
+        if (clave.length < finClave) {
+            clave = new char[Math.max(finClave, clave.length * 2)];
+        }
+        int largoClave = desescapar(0, finClave, clave);
+
+        int largoValorBruto = Math.max(largo - inicioValor, 0);
+        if (valor.length < largoValorBruto) {
+            valor = new char[Math.max(largoValorBruto, valor.length * 2)];
+        }
+        int largoValor = desescapar(inicioValor, largo, valor);
+
+        destino.entrada(clave, largoClave, new String(valor, 0, largoValor));
+        entradas++;
+    }
+
+    /**
+     * Copia {@code linea[desde, hasta)} en {@code salida} resolviendo las
+     * secuencias de escape.
+     *
+     * @return cantidad de caracteres escritos
+     */
+    private int desescapar(int desde, int hasta, char[] salida) throws IOException {
+        int out = 0;
+        int i = desde;
+        while (i < hasta) {
+            char c = linea[i++];
+            if (c != '\\' || i >= hasta) {
+                salida[out++] = c;
+                continue;
+            }
+            c = linea[i++];
+            switch (c) {
+                case 't' -> salida[out++] = '\t';
+                case 'r' -> salida[out++] = '\r';
+                case 'n' -> salida[out++] = '\n';
+                case 'f' -> salida[out++] = '\f';
+                case 'u' -> {
+                    if (i + 4 > hasta) {
+                        throw new IOException("Codificación \\uxxxx mal formada.");
+                    }
+                    int codigo = 0;
+                    for (int k = 0; k < 4; k++) {
+                        int d = Character.digit(linea[i++], 16);
+                        if (d < 0) {
+                            throw new IOException("Codificación \\uxxxx mal formada.");
+                        }
+                        codigo = (codigo << 4) | d;
+                    }
+                    salida[out++] = (char) codigo;
+                }
+                default -> salida[out++] = c;
+            }
+        }
+        return out;
+    }
+
+    private static boolean esEspacio(char c) {
+        return c == ' ' || c == '\t' || c == '\f';
+    }
+}
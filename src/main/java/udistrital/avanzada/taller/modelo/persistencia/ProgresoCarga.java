@@ -0,0 +1,33 @@
+package udistrital.avanzada.taller.modelo.persistencia;
+
+/**
+ * Receptor del avance de una carga de archivo.
+ * <p>
+ * Se invoca desde el hilo que hace la carga, nunca desde el hilo de eventos
+ * de Swing: quien lo implemente en la vista debe pasar los datos al EDT (por
+ * ejemplo con {@code SwingWorker.publish}). Las llamadas están espaciadas, así
+ * que el costo por aviso no influye en la velocidad de lectura.
+ * </p>
+ *
+ * @author Paula Martínez
+ * @version 1.0
+ * @since 2026-10-19
+ */
+@FunctionalInterface
+public interface ProgresoCarga {
+
+    /**
+     * Receptor que ignora todos los avisos.
+     */
+    ProgresoCarga NINGUNO = (bytesLeidos, bytesTotales, entradas) -> {
+    };
+
+    /**
+     * Informa el avance de la carga.
+     *
+     * @param bytesLeidos bytes del archivo procesados hasta ahora
+     * @param bytesTotales tamaño del archivo, o {@code -1} si se desconoce
+     * @param entradas entradas (pares clave/valor o registros) procesadas
+     */
+    void avance(long bytesLeidos, long bytesTotales, long entradas);
+}
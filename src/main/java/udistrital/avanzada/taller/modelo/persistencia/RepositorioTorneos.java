@@ -0,0 +1,380 @@
+package udistrital.avanzada.taller.modelo.persistencia;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.function.Consumer;
+import udistrital.avanzada.taller.modelo.AlmacenMagos;
+import udistrital.avanzada.taller.modelo.Hechizo;
+import udistrital.avanzada.taller.modelo.LibroHechizos;
+import udistrital.avanzada.taller.modelo.ListadoMagos;
+import udistrital.avanzada.taller.modelo.ResultadoDuelo;
+
+/**
+ * Guarda el historial de torneos en una base de datos embebida en archivo
+ * (H2 o SQLite), para poder consultarlo entre ejecuciones.
+ * <p>
+ * Solo usa JDBC: el controlador se elige con la URL (por ejemplo
+ * {@code jdbc:h2:file:./conjuros-torneos} o
+ * {@code jdbc:sqlite:conjuros-torneos.db}) y debe estar en el classpath; el
+ * perfil {@code bd} del {@code pom.xml} agrega H2.
+ * </p>
+ *
+ * <p>
+ * El hilo del duelo solo deja los resultados en una cola acotada. Un hilo
+ * escritor, dueño de la conexión, los saca por grupos, los inserta con una
+ * sentencia preparada en lote y confirma una sola transacción por grupo. Los
+ * magos y hechizos de cada torneo se insertan igual, en lote.
+ * </p>
+ *
+ * @author Paula Martínez
+ * @version 1.0
+ * @since 2026-10-19
+ */
+public final class RepositorioTorneos implements Consumer<ResultadoDuelo>, AutoCloseable {
+
+    private static final int CAPACIDAD_COLA = 65_536;
+    /** Máximo de filas por transacción. */
+    private static final int TAMANO_GRUPO = 8_192;
+
+    private static final String[] ESQUEMA = {
+        "CREATE TABLE IF NOT EXISTS torneo ("
+            + "id BIGINT PRIMARY KEY, inicio BIGINT NOT NULL)",
+        "CREATE TABLE IF NOT EXISTS mago ("
+            + "torneo BIGINT NOT NULL, nombre VARCHAR(200) NOT NULL, casa VARCHAR(200))",
+        "CREATE TABLE IF NOT EXISTS hechizo ("
+            + "torneo BIGINT NOT NULL, nombre VARCHAR(200) NOT NULL, puntos INT NOT NULL)",
+        "CREATE TABLE IF NOT EXISTS resultado ("
+            + "torneo BIGINT NOT NULL, secuencia BIGINT NOT NULL, ronda INT NOT NULL, "
+            + "ganador VARCHAR(200) NOT NULL, perdedor VARCHAR(200) NOT NULL, "
+            + "puntos_ganador INT NOT NULL, puntos_perdedor INT NOT NULL, "
+            + "hechizos_ganador INT NOT NULL, hechizos_perdedor INT NOT NULL)",
+        "CREATE INDEX IF NOT EXISTS resultado_torneo ON resultado (torneo, secuencia)",
+        "CREATE INDEX IF NOT EXISTS resultado_ganador ON resultado (ganador)"
+    };
+
+    private static final String INSERTAR_TORNEO = "INSERT INTO torneo (id, inicio) VALUES (?, ?)";
+    private static final String INSERTAR_MAGO = "INSERT INTO mago (torneo, nombre, casa) VALUES (?, ?, ?)";
+    private static final String INSERTAR_HECHIZO = "INSERT INTO hechizo (torneo, nombre, puntos) VALUES (?, ?, ?)";
+    private static final String BORRAR_HECHIZOS = "DELETE FROM hechizo WHERE torneo = ?";
+    private static final String INSERTAR_RESULTADO = "INSERT INTO resultado (torneo, secuencia, ronda, "
+            + "ganador, perdedor, puntos_ganador, puntos_perdedor, hechizos_ganador, hechizos_perdedor) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    /** Marca de fin que se deja en la cola al cerrar. */
+    private static final Object FIN = new Object();
+
+    /**
+     * Inicio de un torneo nuevo. El almacén de magos y la lista de hechizos
+     * del libro son inmutables, así que el escritor los lee sin copiarlos.
+     */
+    private record InicioTorneo(AlmacenMagos magos, List<Hechizo> hechizos) {
+    }
+
+    /** Libro recargado a mitad del torneo en curso. */
+    private record CambioHechizos(List<Hechizo> hechizos) {
+    }
+
+    private final String url;
+    private final Connection conexion;
+    private final PreparedStatement insertarResultado;
+    private final BlockingQueue<Object> cola = new ArrayBlockingQueue<>(CAPACIDAD_COLA);
+    private final Thread escritor;
+
+    private volatile IOException error;
+    private volatile boolean cerrado;
+
+    /** Torneo al que se asignan los resultados; solo lo usa el escritor. */
+    private long torneoActual;
+    private long secuencia;
+
+    /**
+     * Abre (o crea) la base de datos y arranca el hilo escritor.
+     *
+     * @param url URL JDBC de una base embebida en archivo
+     * @throws IOException si no hay controlador para la URL o la base no se
+     * pudo abrir
+     */
+    public RepositorioTorneos(String url) throws IOException {
+        if (url == null || url.isBlank()) {
+            throw new IllegalArgumentException("La URL de la base de datos no puede estar vacía");
+        }
+        this.url = url;
+        try {
+            this.conexion = DriverManager.getConnection(url);
+            conexion.setAutoCommit(false);
+            try (Statement st = conexion.createStatement()) {
+                for (String sql : ESQUEMA) {
+                    st.execute(sql);
+                }
+            }
+            conexion.commit();
+            this.torneoActual = siguienteTorneo();
+            this.insertarResultado = conexion.prepareStatement(INSERTAR_RESULTADO);
+        } catch (SQLException e) {
+            throw new IOException("No se pudo abrir la base de datos " + url + ": " + e.getMessage(), e);
+        }
+        this.escritor = new Thread(this::escribir, "RepositorioTorneos");
+        this.escritor.setDaemon(true);
+        this.escritor.start();
+    }
+
+    /**
+     * Registra el inicio de un torneo con sus magos y hechizos. Los resultados
+     * que lleguen después quedan asociados a este torneo.
+     *
+     * @param listado magos participantes
+     * @param libro hechizos disponibles
+     */
+    public void iniciarTorneo(ListadoMagos listado, LibroHechizos libro) {
+        encolar(new InicioTorneo(listado.getAlmacen(), libro.getHechizos()));
+    }
+
+    /**
+     * Reemplaza los hechizos guardados del torneo en curso por los de un libro
+     * recargado, sin empezar un torneo nuevo.
+     *
+     * @param libro hechizos disponibles desde ahora
+     * @throws IllegalStateException si el repositorio ya se cerró o falló
+     */
+    public void cambiarHechizos(LibroHechizos libro) {
+        encolar(new CambioHechizos(libro.getHechizos()));
+    }
+
+    /**
+     * Encola un resultado para guardarlo. Si la cola está llena espera a que
+     * el escritor libere espacio.
+     *
+     * @param resultado resultado a guardar (los incompletos se ignoran)
+     * @throws IllegalStateException si el repositorio ya se cerró o falló
+     */
+    @Override
+    public void accept(ResultadoDuelo resultado) {
+        if (resultado == null || resultado.getGanador() == null || resultado.getPerdedor() == null) {
+            return;
+        }
+        encolar(resultado);
+    }
+
+    private void encolar(Object dato) {
+        if (cerrado) {
+            throw new IllegalStateException("El repositorio de torneos está cerrado");
+        }
+        if (error != null) {
+            throw new IllegalStateException("Error al guardar torneos: " + error.getMessage());
+        }
+        try {
+            cola.put(dato);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Cuenta las victorias de cada mago en todos los torneos guardados, de
+     * mayor a menor. Incluye lo que ya confirmó el escritor, no lo que sigue
+     * en la cola.
+     *
+     * @param limite máximo de magos a devolver
+     * @return victorias por nombre de mago
+     * @throws IOException si la consulta falla
+     */
+    public Map<String, Integer> victoriasHistoricas(int limite) throws IOException {
+        String sql = "SELECT ganador, COUNT(*) AS victorias FROM resultado "
+                + "GROUP BY ganador ORDER BY victorias DESC, ganador LIMIT ?";
+        Map<String, Integer> victorias = new LinkedHashMap<>();
+        synchronized (conexion) {
+            try (PreparedStatement ps = conexion.prepareStatement(sql)) {
+                ps.setInt(1, limite);
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) {
+                        victorias.put(rs.getString(1), rs.getInt(2));
+                    }
+                }
+                conexion.commit();
+            } catch (SQLException e) {
+                throw new IOException("Error al consultar la base de datos: " + e.getMessage(), e);
+            }
+        }
+        return victorias;
+    }
+
+    /**
+     * Guarda lo pendiente, espera al hilo escritor y cierra la conexión.
+     *
+     * @throws IOException si alguna escritura falló
+     */
+    @Override
+    public void close() throws IOException {
+        if (cerrado) {
+            return;
+        }
+        cerrado = true;
+        boolean interrumpido = false;
+        while (true) {
+            try {
+                cola.put(FIN);
+                escritor.join();
+                break;
+            } catch (InterruptedException e) {
+                interrumpido = true;
+            }
+        }
+        if (interrumpido) {
+            Thread.currentThread().interrupt();
+        }
+        if (error != null) {
+            throw error;
+        }
+    }
+
+    /** @return URL JDBC de la base */
+    public String getUrl() {
+        return url;
+    }
+
+    /**
+     * Bucle del hilo escritor: cada vuelta toma todo lo que haya en la cola
+     * (hasta {@link #TAMANO_GRUPO}) y lo confirma en una sola transacción.
+     */
+    private void escribir() {
+        List<Object> grupo = new ArrayList<>(TAMANO_GRUPO);
+        boolean activo = true;
+        try {
+            while (activo) {
+                grupo.add(cola.take());
+                cola.drainTo(grupo, TAMANO_GRUPO - 1);
+                int fin = grupo.indexOf(FIN);
+                if (fin >= 0) {
+                    activo = false;
+                    grupo.subList(fin, grupo.size()).clear();
+                }
+                if (error == null) {
+                    guardarGrupo(grupo);
+                }
+                grupo.clear();
+            }
+        } catch (InterruptedException e) {
+            if (error == null) error = new IOException("Escritura de torneos interrumpida: " + url);
+        } finally {
+            cerrarConexion();
+        }
+    }
+
+    private void guardarGrupo(List<Object> grupo) {
+        synchronized (conexion) {
+            try {
+                int pendientes = 0;
+                for (Object dato : grupo) {
+                    if (dato instanceof ResultadoDuelo r) {
+                        agregarResultado(r);
+                        pendientes++;
+                    } else if (dato instanceof InicioTorneo inicio) {
+                        // Los resultados del torneo anterior van antes que el cambio de id.
+                        if (pendientes > 0) {
+                            insertarResultado.executeBatch();
+                            pendientes = 0;
+                        }
+                        guardarInicio(inicio);
+                    } else if (dato instanceof CambioHechizos cambio) {
+                        try (PreparedStatement ps = conexion.prepareStatement(BORRAR_HECHIZOS)) {
+                            ps.setLong(1, torneoActual);
+                            ps.executeUpdate();
+                        }
+                        guardarHechizos(cambio.hechizos());
+                    }
+                }
+                if (pendientes > 0) {
+                    insertarResultado.executeBatch();
+                }
+                conexion.commit();
+            } catch (SQLException e) {
+                error = new IOException("Error al guardar en la base de datos: " + e.getMessage(), e);
+                try {
+                    conexion.rollback();
+                } catch (SQLException ignorada) {
+                    // La conexión ya está en error; se informa la excepción original.
+                }
+            }
+        }
+    }
+
+    private void agregarResultado(ResultadoDuelo r) throws SQLException {
+        PreparedStatement ps = insertarResultado;
+        ps.setLong(1, torneoActual);
+        ps.setLong(2, ++secuencia);
+        ps.setInt(3, r.getRonda());
+        ps.setString(4, r.getGanador().getNombre());
+        ps.setString(5, r.getPerdedor().getNombre());
+        ps.setInt(6, r.getPuntosGanador());
+        ps.setInt(7, r.getPuntosPerdedor());
+        ps.setInt(8, r.getHechizosLanzadosGanador());
+        ps.setInt(9, r.getHechizosLanzadosPerdedor());
+        ps.addBatch();
+    }
+
+    private void guardarInicio(InicioTorneo inicio) throws SQLException {
+        torneoActual = siguienteTorneo();
+        secuencia = 0;
+        try (PreparedStatement ps = conexion.prepareStatement(INSERTAR_TORNEO)) {
+            ps.setLong(1, torneoActual);
+            ps.setLong(2, System.currentTimeMillis());
+            ps.executeUpdate();
+        }
+        try (PreparedStatement ps = conexion.prepareStatement(INSERTAR_MAGO)) {
+            AlmacenMagos magos = inicio.magos();
+            for (int i = 0; i < magos.tamano(); i++) {
+                ps.setLong(1, torneoActual);
+                ps.setString(2, magos.nombre(i));
+                ps.setString(3, magos.casa(i).getNombre());
+                ps.addBatch();
+                if ((i + 1) % TAMANO_GRUPO == 0) ps.executeBatch();
+            }
+            ps.executeBatch();
+        }
+        guardarHechizos(inicio.hechizos());
+    }
+
+    private void guardarHechizos(List<Hechizo> hechizos) throws SQLException {
+        try (PreparedStatement ps = conexion.prepareStatement(INSERTAR_HECHIZO)) {
+            for (Hechizo h : hechizos) {
+                ps.setLong(1, torneoActual);
+                ps.setString(2, h.getNombre());
+                ps.setInt(3, h.getPuntos());
+                ps.addBatch();
+            }
+            ps.executeBatch();
+        }
+    }
+
+    private long siguienteTorneo() throws SQLException {
+        try (Statement st = conexion.createStatement();
+             ResultSet rs = st.executeQuery("SELECT COALESCE(MAX(id), 0) + 1 FROM torneo")) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+
+    private void cerrarConexion() {
+        synchronized (conexion) {
+            try {
+                insertarResultado.close();
+                conexion.close();
+            } catch (SQLException e) {
+                if (error == null) {
+                    error = new IOException("Error al cerrar la base de datos: " + e.getMessage(), e);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package udistrital.avanzada.taller.vista;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.net.URL;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import javax.imageio.ImageIO;
+import javax.swing.SwingUtilities;
+
+/**
+ * Caché compartida de las imágenes de la interfaz.
+ * <p>
+ * Cada recurso del classpath se decodifica una sola vez con {@link ImageIO},
+ * en hilos de fondo y en paralelo con los demás; todos los paneles que lo
+ * piden reciben la misma imagen. Los paneles no esperan: registran qué hacer
+ * cuando la imagen esté lista ({@link #alCargar(String, Consumer)}) y mientras
+ * tanto pintan su marcador de posición (color de fondo o recuadro con texto).
+ * </p>
+ *
+ * <p>
+ * Llamar a {@link #precargarInterfaz()} al arrancar adelanta la decodificación
+ * mientras se construyen la lógica y la ventana.
+ * </p>
+ *
+ * @author Paula Martínez
+ * @version 1.0
+ * @since 2026-10-19
+ */
+public final class CacheImagenes {
+
+    /** Fondo común de los paneles. */
+    public static final String FONDO = "/Imagenes/Background.png";
+    /** Imagen del mago de la izquierda en el combate. */
+    public static final String MAGO_1 = "/Imagenes/Mago1.png";
+    /** Imagen del mago de la derecha en el combate. */
+    public static final String MAGO_2 = "/Imagenes/Mago2.png";
+
+    private static final Map<String, CompletableFuture<BufferedImage>> IMAGENES = new ConcurrentHashMap<>();
+
+    private static final ExecutorService DECODIFICADORES;
+
+    static {
+        // Sin archivos temporales: las imágenes son pequeñas y caben en memoria
+        ImageIO.setUseCache(false);
+        AtomicInteger numero = new AtomicInteger();
+        DECODIFICADORES = Executors.newFixedThreadPool(
+                Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors())), r -> {
+                    Thread t = new Thread(r, "CacheImagenes-" + numero.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                });
+    }
+
+    private CacheImagenes() {
+    }
+
+    /**
+     * Empieza a decodificar las imágenes que usa la interfaz.
+     */
+    public static void precargarInterfaz() {
+        precargar(FONDO, MAGO_1, MAGO_2);
+    }
+
+    /**
+     * Empieza a decodificar los recursos indicados, sin esperar.
+     *
+     * @param rutas rutas en el classpath (por ejemplo {@code /Imagenes/X.png})
+     */
+    public static void precargar(String... rutas) {
+        for (String ruta : rutas) {
+            obtener(ruta);
+        }
+    }
+
+    /**
+     * Imagen de un recurso, decodificada una sola vez.
+     *
+     * @param ruta ruta en el classpath
+     * @return futuro con la imagen, o con {@code null} si el recurso no
+     * existe o no se pudo decodificar
+     */
+    public static CompletableFuture<BufferedImage> obtener(String ruta) {
+        return IMAGENES.computeIfAbsent(ruta,
+                r -> CompletableFuture.supplyAsync(() -> decodificar(r), DECODIFICADORES));
+    }
+
+    /**
+     * Ejecuta una acción en el EDT cuando la imagen esté lista. Si no se pudo
+     * cargar, la acción no se ejecuta y se queda el marcador de posición.
+     *
+     * @param ruta ruta en el classpath
+     * @param accion qué hacer con la imagen (por ejemplo, asignarla y
+     * repintar)
+     */
+    public static void alCargar(String ruta, Consumer<BufferedImage> accion) {
+        obtener(ruta).thenAccept(img -> {
+            if (img != null) {
+                SwingUtilities.invokeLater(() -> accion.accept(img));
+            }
+        });
+    }
+
+    private static BufferedImage decodificar(String ruta) {
+        URL url = CacheImagenes.class.getResource(ruta);
+        if (url == null) {
+            System.err.println("Error al cargar imagen: no se encontró " + ruta);
+            return null;
+        }
+        try {
+            BufferedImage img = ImageIO.read(url);
+            if (img == null) {
+                System.err.println("Error al cargar imagen: formato no reconocido en " + ruta);
+            }
+            return img;
+        } catch (IOException e) {
+            System.err.println("Error al cargar imagen: " + e.getMessage());
+            return null;
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package udistrital.avanzada.taller.vista;
+
+/**
+ * Origen de los duelos que muestra el {@link PanelTableroDuelos}.
+ * Desacopla la vista del modelo siguiendo el patrón MVC: el control copia el
+ * estado de sus duelos en una {@link InstantaneaDuelos} cada vez que el
+ * tablero se lo pide.
+ *
+ * @author Juan Estevan Ariza Ortiz
+ * @version 1.0
+ * @since 2026-10-19
+ */
+public interface FuenteDuelosVista {
+
+    /**
+     * Copia el estado actual de todos los duelos. Se invoca en el EDT una
+     * vez por cuadro, así que debe ser rápido y no bloquear.
+     *
+     * @param destino instantánea a llenar (se reutiliza entre cuadros)
+     */
+    void muestrear(InstantaneaDuelos destino);
+}
@@ -0,0 +1,129 @@
+package udistrital.avanzada.taller.vista;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Histograma de valores no negativos con cubetas de potencias de dos, para
+ * medir latencias sin guardar cada muestra.
+ * <p>
+ * La cubeta 0 cuenta los valores {@code 0}; la cubeta {@code i} cuenta los
+ * valores en {@code [2^(i-1), 2^i)}. Registrar es un par de operaciones
+ * atómicas, así que puede hacerse desde cualquier hilo; los percentiles se
+ * dan como el límite superior de su cubeta (con error de a lo sumo el doble).
+ * </p>
+ *
+ * @author Juan Estevan Ariza Ortiz
+ * @version 1.0
+ * @since 2026-10-19
+ */
+final class HistogramaLatencia {
+
+    /** Cubetas: alcanza para valores de hasta {@code 2^39}. */
+    static final int CUBETAS = 40;
+
+    private final String nombre;
+    private final String unidad;
+    private final AtomicLongArray cuentas = new AtomicLongArray(CUBETAS);
+    private final AtomicLong total = new AtomicLong();
+    private final AtomicLong maximo = new AtomicLong();
+
+    /**
+     * @param nombre nombre de la métrica (columna {@code metrica} del CSV)
+     * @param unidad unidad de los valores, por ejemplo {@code "us"}
+     */
+    HistogramaLatencia(String nombre, String unidad) {
+        this.nombre = nombre;
+        this.unidad = unidad;
+    }
+
+    /**
+     * Registra una muestra; los valores negativos cuentan como cero.
+     *
+     * @param valor muestra
+     */
+    void registrar(long valor) {
+        long v = Math.max(valor, 0);
+        cuentas.incrementAndGet(Math.min(cubeta(v), CUBETAS - 1));
+        total.incrementAndGet();
+        long m;
+        while (v > (m = maximo.get()) && !maximo.compareAndSet(m, v)) {
+            // otro hilo subió el máximo; se vuelve a comparar
+        }
+    }
+
+    private static int cubeta(long v) {
+        return 64 - Long.numberOfLeadingZeros(v);
+    }
+
+    /**
+     * @param i cubeta
+     * @return menor valor de la cubeta
+     */
+    static long desde(int i) {
+        return i == 0 ? 0 : 1L << (i - 1);
+    }
+
+    /**
+     * @param i cubeta
+     * @return mayor valor de la cubeta
+     */
+    static long hasta(int i) {
+        return i == 0 ? 0 : (1L << i) - 1;
+    }
+
+    /**
+     * Percentil aproximado.
+     *
+     * @param fraccion entre 0 y 1, por ejemplo {@code 0.99}
+     * @return límite superior de la cubeta que contiene el percentil, sin
+     * pasar del máximo visto; 0 si no hay muestras
+     */
+    long percentil(double fraccion) {
+        long n = total.get();
+        if (n == 0) {
+            return 0;
+        }
+        long objetivo = Math.max(1, (long) Math.ceil(fraccion * n));
+        long acumulado = 0;
+        for (int i = 0; i < CUBETAS; i++) {
+            acumulado += cuentas.get(i);
+            if (acumulado >= objetivo) {
+                return Math.min(hasta(i), maximo.get());
+            }
+        }
+        return maximo.get();
+    }
+
+    /**
+     * Vacía el histograma. Las muestras registradas al mismo tiempo pueden
+     * quedar a medias entre el antes y el después.
+     */
+    void reiniciar() {
+        for (int i = 0; i < CUBETAS; i++) {
+            cuentas.set(i, 0);
+        }
+        total.set(0);
+        maximo.set(0);
+    }
+
+    long cuenta(int i) {
+        return cuentas.get(i);
+    }
+
+    long getTotal() {
+        return total.get();
+    }
+
+    long getMaximo() {
+        return maximo.get();
+    }
+
+    String getNombre() {
+        return nombre;
+    }
+
+    String getUnidad() {
+        return unidad;
+    }
+}
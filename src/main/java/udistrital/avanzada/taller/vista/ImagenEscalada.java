@@ -0,0 +1,158 @@
+package udistrital.avanzada.taller.vista;
+
+import java.awt.AlphaComposite;
+import java.awt.Color;
+import java.awt.Component;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.Image;
+import java.awt.Rectangle;
+import java.awt.RenderingHints;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+import java.awt.image.VolatileImage;
+
+/**
+ * Imagen que se pinta estirada al tamaño de un componente sin volver a
+ * escalarla en cada repintado.
+ * <p>
+ * La primera vez (y cada vez que el componente cambia de tamaño) se escala
+ * una sola vez a una imagen compatible con la pantalla; además se copia a
+ * una {@link VolatileImage} para que Java2D la dibuje acelerada cuando puede.
+ * Cada repintado copia solo la región sucia ({@code getClipBounds}), sin
+ * interpolar.
+ * </p>
+ *
+ * <p>
+ * Solo debe usarse desde el EDT.
+ * </p>
+ *
+ * @author Paula Martínez
+ * @version 1.0
+ * @since 2026-10-19
+ */
+final class ImagenEscalada {
+
+    /** Intentos de pintar la imagen acelerada antes de usar la compatible. */
+    private static final int INTENTOS_ACELERADA = 3;
+
+    private final int transparencia;
+    private Image origen;
+    private BufferedImage escalada;
+    private VolatileImage acelerada;
+
+    /**
+     * @param origen imagen original ({@code null} si todavía no hay)
+     * @param transparencia {@link Transparency#OPAQUE} para fondos o
+     * {@link Transparency#TRANSLUCENT} para imágenes con transparencia
+     */
+    ImagenEscalada(Image origen, int transparencia) {
+        this.origen = origen;
+        this.transparencia = transparencia;
+    }
+
+    /**
+     * Cambia la imagen original y descarta las copias escaladas.
+     *
+     * @param origen nueva imagen ({@code null} para ninguna)
+     */
+    void setOrigen(Image origen) {
+        this.origen = origen;
+        descartar();
+    }
+
+    /** @return {@code true} si hay una imagen original que pintar */
+    boolean tieneOrigen() {
+        return origen != null;
+    }
+
+    /**
+     * Pinta la imagen ocupando todo el componente, solo en la región sucia.
+     *
+     * @param g contexto gráfico del componente
+     * @param c componente cuyo tamaño se ocupa
+     * @return {@code false} si no había imagen que pintar
+     */
+    boolean dibujar(Graphics g, Component c) {
+        int w = c.getWidth();
+        int h = c.getHeight();
+        if (origen == null || w <= 0 || h <= 0) {
+            return false;
+        }
+        GraphicsConfiguration gc = c.getGraphicsConfiguration();
+        if (escalada == null || escalada.getWidth() != w || escalada.getHeight() != h) {
+            descartar();
+            escalada = escalar(gc, w, h, c.getBackground());
+        }
+
+        Rectangle r = g.getClipBounds();
+        int x = r == null ? 0 : Math.max(0, r.x);
+        int y = r == null ? 0 : Math.max(0, r.y);
+        int x2 = r == null ? w : Math.min(w, r.x + r.width);
+        int y2 = r == null ? h : Math.min(h, r.y + r.height);
+        if (x >= x2 || y >= y2) {
+            return true;
+        }
+
+        if (gc != null) {
+            for (int i = 0; i < INTENTOS_ACELERADA; i++) {
+                if (acelerada == null) {
+                    acelerada = gc.createCompatibleVolatileImage(w, h, transparencia);
+                    copiarAAcelerada();
+                } else {
+                    int estado = acelerada.validate(gc);
+                    if (estado == VolatileImage.IMAGE_INCOMPATIBLE) {
+                        acelerada.flush();
+                        acelerada = gc.createCompatibleVolatileImage(w, h, transparencia);
+                        copiarAAcelerada();
+                    } else if (estado == VolatileImage.IMAGE_RESTORED) {
+                        copiarAAcelerada();
+                    }
+                }
+                g.drawImage(acelerada, x, y, x2, y2, x, y, x2, y2, null);
+                if (!acelerada.contentsLost()) {
+                    return true;
+                }
+            }
+        }
+        g.drawImage(escalada, x, y, x2, y2, x, y, x2, y2, null);
+        return true;
+    }
+
+    /**
+     * Libera las copias escaladas; se regeneran al próximo pintado.
+     */
+    void descartar() {
+        if (acelerada != null) {
+            acelerada.flush();
+            acelerada = null;
+        }
+        escalada = null;
+    }
+
+    private BufferedImage escalar(GraphicsConfiguration gc, int w, int h, Color relleno) {
+        BufferedImage img = gc != null ? gc.createCompatibleImage(w, h, transparencia)
+                : new BufferedImage(w, h, transparencia == Transparency.OPAQUE
+                        ? BufferedImage.TYPE_INT_RGB : BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g2 = img.createGraphics();
+        if (transparencia == Transparency.OPAQUE && relleno != null) {
+            // Las zonas transparentes del original muestran el color de fondo
+            g2.setColor(relleno);
+            g2.fillRect(0, 0, w, h);
+        }
+        g2.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        g2.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+        g2.drawImage(origen, 0, 0, w, h, null);
+        g2.dispose();
+        return img;
+    }
+
+    private void copiarAAcelerada() {
+        Graphics2D g2 = acelerada.createGraphics();
+        // Reemplaza los píxeles (también los transparentes) en vez de mezclar
+        g2.setComposite(AlphaComposite.Src);
+        g2.drawImage(escalada, 0, 0, null);
+        g2.dispose();
+    }
+}
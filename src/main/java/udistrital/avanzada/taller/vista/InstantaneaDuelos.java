@@ -0,0 +1,177 @@
+package udistrital.avanzada.taller.vista;
+
+import java.util.Arrays;
+
+/**
+ * Estado de muchos duelos en un instante, en columnas.
+ * <p>
+ * El {@link PanelTableroDuelos} tiene una sola instancia y la reutiliza en
+ * cada cuadro: {@link FuenteDuelosVista#muestrear(InstantaneaDuelos)} la
+ * llena con {@link #preparar(int, int)} y {@link #setDuelo}, sin crear
+ * objetos por duelo. Además anota qué duelos cambiaron desde la muestra
+ * anterior para que el tablero repinte solo esas casillas.
+ * </p>
+ *
+ * <p>
+ * Solo debe usarse desde el EDT.
+ * </p>
+ *
+ * @author Juan Estevan Ariza Ortiz
+ * @version 1.0
+ * @since 2026-10-19
+ */
+public final class InstantaneaDuelos {
+
+    /** El duelo sigue en curso. */
+    public static final int EN_CURSO = 0;
+    /** Ganó el primer mago. */
+    public static final int GANA_1 = 1;
+    /** Ganó el segundo mago. */
+    public static final int GANA_2 = 2;
+    /** El duelo se detuvo sin ganador. */
+    public static final int DETENIDO = 3;
+
+    private int cantidad;
+    private int meta = 1;
+    private int terminados;
+
+    private String[] nombres1 = new String[0];
+    private String[] nombres2 = new String[0];
+    private int[] puntos1 = new int[0];
+    private int[] puntos2 = new int[0];
+    private boolean[] aturdido1 = new boolean[0];
+    private boolean[] aturdido2 = new boolean[0];
+    private int[] estados = new int[0];
+
+    /** Duelos que cambiaron en la última muestra. */
+    private int[] cambiados = new int[0];
+    private int cantidadCambiados;
+    /** La cantidad de duelos cambió: hay que repintar todo. */
+    private boolean completa = true;
+
+    /**
+     * Empieza una muestra nueva.
+     *
+     * @param cantidad cantidad de duelos
+     * @param meta puntos con los que se gana un duelo
+     */
+    public void preparar(int cantidad, int meta) {
+        if (cantidad != this.cantidad || meta != this.meta) {
+            completa = true;
+        }
+        if (cantidad > estados.length) {
+            int capacidad = Math.max(cantidad, estados.length * 2);
+            nombres1 = Arrays.copyOf(nombres1, capacidad);
+            nombres2 = Arrays.copyOf(nombres2, capacidad);
+            puntos1 = Arrays.copyOf(puntos1, capacidad);
+            puntos2 = Arrays.copyOf(puntos2, capacidad);
+            aturdido1 = Arrays.copyOf(aturdido1, capacidad);
+            aturdido2 = Arrays.copyOf(aturdido2, capacidad);
+            estados = Arrays.copyOf(estados, capacidad);
+            cambiados = Arrays.copyOf(cambiados, capacidad);
+        }
+        this.cantidad = cantidad;
+        this.meta = Math.max(meta, 1);
+        this.terminados = 0;
+        this.cantidadCambiados = 0;
+    }
+
+    /**
+     * Registra el estado de un duelo en la muestra actual.
+     *
+     * @param i posición del duelo ({@code 0 <= i < cantidad})
+     * @param nombre1 nombre del primer mago
+     * @param nombre2 nombre del segundo mago
+     * @param p1 puntos del primer mago
+     * @param p2 puntos del segundo mago
+     * @param a1 si el primer mago está aturdido
+     * @param a2 si el segundo mago está aturdido
+     * @param estado {@link #EN_CURSO}, {@link #GANA_1}, {@link #GANA_2} o
+     * {@link #DETENIDO}
+     */
+    public void setDuelo(int i, String nombre1, String nombre2, int p1, int p2,
+            boolean a1, boolean a2, int estado) {
+        if (estado != EN_CURSO) {
+            terminados++;
+        }
+        if (nombres1[i] == nombre1 && nombres2[i] == nombre2 && puntos1[i] == p1 && puntos2[i] == p2
+                && aturdido1[i] == a1 && aturdido2[i] == a2 && estados[i] == estado) {
+            return;
+        }
+        nombres1[i] = nombre1;
+        nombres2[i] = nombre2;
+        puntos1[i] = p1;
+        puntos2[i] = p2;
+        aturdido1[i] = a1;
+        aturdido2[i] = a2;
+        estados[i] = estado;
+        cambiados[cantidadCambiados++] = i;
+    }
+
+    /** @return cantidad de duelos */
+    public int getCantidad() {
+        return cantidad;
+    }
+
+    /** @return duelos que ya terminaron (con o sin ganador) */
+    public int getTerminados() {
+        return terminados;
+    }
+
+    int getMeta() {
+        return meta;
+    }
+
+    String getNombre1(int i) {
+        return nombres1[i];
+    }
+
+    String getNombre2(int i) {
+        return nombres2[i];
+    }
+
+    int getPuntos1(int i) {
+        return puntos1[i];
+    }
+
+    int getPuntos2(int i) {
+        return puntos2[i];
+    }
+
+    boolean isAturdido1(int i) {
+        return aturdido1[i];
+    }
+
+    boolean isAturdido2(int i) {
+        return aturdido2[i];
+    }
+
+    int getEstado(int i) {
+        return estados[i];
+    }
+
+    /** @return cuántos duelos cambiaron en la última muestra */
+    int getCantidadCambiados() {
+        return cantidadCambiados;
+    }
+
+    /**
+     * @param k posición en la lista de cambios ({@code < getCantidadCambiados()})
+     * @return índice del duelo que cambió
+     */
+    int getCambiado(int k) {
+        return cambiados[k];
+    }
+
+    /**
+     * Indica si hay que repintar todo el tablero (la cantidad de duelos
+     * cambió) y baja la marca.
+     *
+     * @return {@code true} si la distribución de casillas cambió
+     */
+    boolean consumirCompleta() {
+        boolean c = completa;
+        completa = false;
+        return c;
+    }
+}
@@ -10,7 +10,7 @@ import java.awt.CardLayout;
  * Clase {@code MainForm} representa el panel principal de la aplicación.
  * <p>
  * Este panel funciona como un contenedor que administra las diferentes vistas
- * del programa (Inicio, Cargar, Combate) utilizando un {@link CardLayout}.
+ * del programa (Inicio, Cargar, Combate, Tablero, Repeticion) utilizando un {@link CardLayout}.
  * </p>
  *
  * @author Paula Martínez
@@ -22,6 +22,8 @@ public class MainForm extends javax.swing.JPanel {
     private PanelInicio inicio;
     private PanelCargar cargar;
     private PanelCombate combate;
+    private PanelTableroDuelos tablero;
+    private PanelRepeticion repeticion;
     private CardLayout layout;
 
     /**
@@ -42,10 +44,14 @@ public class MainForm extends javax.swing.JPanel {
         inicio = new PanelInicio();
         cargar = new PanelCargar();
         combate = new PanelCombate();
+        tablero = new PanelTableroDuelos();
+        repeticion = new PanelRepeticion();
 
         add(inicio, "Inicio");
         add(cargar, "Cargar");
         add(combate, "Combate");
+        add(tablero, "Tablero");
+        add(repeticion, "Repeticion");
     }
 
     // ========== MÉTODOS DE NAVEGACIÓN ==========
@@ -71,6 +77,20 @@ public class MainForm extends javax.swing.JPanel {
         layout.show(this, "Combate");
     }
 
+    /**
+     * Muestra el tablero de duelos en paralelo.
+     */
+    public void mostrarPanelTablero() {
+        layout.show(this, "Tablero");
+    }
+
+    /**
+     * Muestra el visor de duelos grabados.
+     */
+    public void mostrarPanelRepeticion() {
+        layout.show(this, "Repeticion");
+    }
+
     // ========== GETTERS ==========
 
     /**
@@ -100,6 +120,24 @@ public class MainForm extends javax.swing.JPanel {
         return combate;
     }
 
+    /**
+     * Obtiene el tablero de duelos.
+     *
+     * @return instancia de {@link PanelTableroDuelos}
+     */
+    public PanelTableroDuelos getPanelTablero() {
+        return tablero;
+    }
+
+    /**
+     * Obtiene el visor de repeticiones.
+     *
+     * @return instancia de {@link PanelRepeticion}
+     */
+    public PanelRepeticion getPanelRepeticion() {
+        return repeticion;
+    }
+
     @SuppressWarnings("unchecked")
     // <editor-fold defaultstate="collapsed" desc="Generated Code">
     private void initComponents() {
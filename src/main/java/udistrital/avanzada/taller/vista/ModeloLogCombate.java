@@ -0,0 +1,126 @@
+package udistrital.avanzada.taller.vista;
+
+import java.util.List;
+import java.util.function.Consumer;
+import javax.swing.AbstractListModel;
+
+/**
+ * Modelo del log de combate: un búfer circular de capacidad fija.
+ * <p>
+ * Al llenarse, cada línea nueva reemplaza a la más vieja, así que la memoria
+ * no crece con la duración del torneo. Las líneas que salen del búfer se
+ * entregan al desborde, si hay uno (por ejemplo, un archivo en disco). Se usa
+ * con una {@link javax.swing.JList} de alto de fila fijo, que solo pinta las
+ * filas visibles.
+ * </p>
+ *
+ * <p>
+ * Solo debe usarse desde el EDT.
+ * </p>
+ *
+ * @author Juan Estevan Ariza Ortiz
+ * @version 1.0
+ * @since 2026-10-19
+ */
+final class ModeloLogCombate extends AbstractListModel<String> {
+
+    private final String[] lineas;
+    /** Posición de la línea más vieja en {@link #lineas}. */
+    private int inicio;
+    private int tamano;
+    private Consumer<String> desborde;
+
+    /**
+     * @param capacidad líneas que se conservan en memoria
+     */
+    ModeloLogCombate(int capacidad) {
+        this.lineas = new String[capacidad];
+    }
+
+    /**
+     * @param desborde destino de las líneas que salen del búfer, o
+     * {@code null} para descartarlas
+     */
+    void setDesborde(Consumer<String> desborde) {
+        this.desborde = desborde;
+    }
+
+    @Override
+    public int getSize() {
+        return tamano;
+    }
+
+    @Override
+    public String getElementAt(int i) {
+        return lineas[(inicio + i) % lineas.length];
+    }
+
+    /**
+     * Agrega una línea al final.
+     *
+     * @param linea línea a agregar
+     */
+    void agregar(String linea) {
+        agregar(List.of(linea));
+    }
+
+    /**
+     * Agrega varias líneas al final y avisa a la lista una sola vez por tipo
+     * de cambio.
+     *
+     * @param nuevas líneas a agregar, en orden
+     */
+    void agregar(List<String> nuevas) {
+        int n = nuevas.size();
+        if (n == 0) {
+            return;
+        }
+        int capacidad = lineas.length;
+        // Las que no alcanzarían a quedarse en el búfer van directo al desborde
+        int desde = Math.max(0, n - capacidad);
+        for (int k = 0; k < desde; k++) {
+            desbordar(nuevas.get(k));
+        }
+        int quitadas = 0;
+        for (int k = desde; k < n; k++) {
+            if (tamano == capacidad) {
+                desbordar(lineas[inicio]);
+                lineas[inicio] = nuevas.get(k);
+                inicio = (inicio + 1) % capacidad;
+                quitadas++;
+            } else {
+                lineas[(inicio + tamano) % capacidad] = nuevas.get(k);
+                tamano++;
+            }
+        }
+        int agregadas = n - desde;
+        if (quitadas > 0) {
+            fireIntervalRemoved(this, 0, quitadas - 1);
+        }
+        fireIntervalAdded(this, tamano - agregadas, tamano - 1);
+    }
+
+    /**
+     * Vacía el log; las líneas que tenía pasan al desborde.
+     */
+    void limpiar() {
+        if (tamano == 0) {
+            return;
+        }
+        int anterior = tamano;
+        for (int i = 0; i < tamano; i++) {
+            int pos = (inicio + i) % lineas.length;
+            desbordar(lineas[pos]);
+            lineas[pos] = null;
+        }
+        inicio = 0;
+        tamano = 0;
+        fireIntervalRemoved(this, 0, anterior - 1);
+    }
+
+    private void desbordar(String linea) {
+        if (desborde != null) {
+            desborde.accept(linea);
+        }
+    }
+}
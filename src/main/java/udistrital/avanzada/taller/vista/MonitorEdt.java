@@ -0,0 +1,257 @@
+package udistrital.avanzada.taller.vista;
+
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.Graphics;
+import java.awt.event.ActionEvent;
+import java.awt.event.KeyEvent;
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.swing.AbstractAction;
+import javax.swing.JComponent;
+import javax.swing.JLayeredPane;
+import javax.swing.JRootPane;
+import javax.swing.KeyStroke;
+import javax.swing.RepaintManager;
+import javax.swing.SwingUtilities;
+
+/**
+ * Instrumentación del hilo de eventos (EDT) para encontrar tirones en la
+ * interfaz.
+ * <p>
+ * Mide, en histogramas de {@link HistogramaLatencia}:
+ * </p>
+ * <ul>
+ * <li><b>espera_combate</b> y <b>espera_observador</b>: cuánto espera en la
+ * cola del EDT cada tarea enviada con {@link #invokeLater(int, Runnable)} por
+ * {@link PanelCombate} y por el observador del duelo del controlador.</li>
+ * <li><b>espera_cuadro</b>: desde que llega el primer evento del duelo hasta
+ * que el tick de {@link PanelCombate} lo aplica en pantalla.</li>
+ * <li><b>pintado_cuadro</b>: lo que tarda cada pasada de pintado de Swing
+ * (un {@link RepaintManager} que cronometra
+ * {@link RepaintManager#paintDirtyRegions()}).</li>
+ * <li><b>cola_edt</b>: cuántas tareas medidas seguían en cola cuando se envió
+ * cada una. {@link java.awt.EventQueue} no expone su tamaño, así que solo se
+ * cuentan las tareas que pasan por este monitor.</li>
+ * </ul>
+ * <p>
+ * Con {@link #instalar(JRootPane)} la tecla F3 muestra u oculta un recuadro
+ * con los percentiles de cada métrica; {@link #escribirCsv(Appendable)} vuelca
+ * las cubetas de todos los histogramas. Medir cuesta dos lecturas de
+ * {@link System#nanoTime()} y unas operaciones atómicas por tarea, así que el
+ * monitor queda siempre activo.
+ * </p>
+ *
+ * @author Juan Estevan Ariza Ortiz
+ * @version 1.0
+ * @since 2026-10-19
+ */
+public final class MonitorEdt {
+
+    /** Fuente de las tareas enviadas por {@link PanelCombate}. */
+    public static final int COMBATE = 0;
+    /** Fuente de las tareas enviadas por el observador del duelo. */
+    public static final int OBSERVADOR = 1;
+    static final int CUADRO = 2;
+    static final int PINTADO = 3;
+    static final int COLA = 4;
+
+    /** Un cuadro a 60 Hz; un p99 por encima ya se nota como tirón. */
+    private static final long UN_CUADRO_US = 16_667;
+    /** Cada cuánto se refresca el recuadro mientras está visible. */
+    private static final long REFRESCO_OVERLAY_NS = 250_000_000L;
+
+    private static final MonitorEdt COMPARTIDO = new MonitorEdt();
+
+    private final HistogramaLatencia[] metricas = {
+        new HistogramaLatencia("espera_combate", "us"),
+        new HistogramaLatencia("espera_observador", "us"),
+        new HistogramaLatencia("espera_cuadro", "us"),
+        new HistogramaLatencia("pintado_cuadro", "us"),
+        new HistogramaLatencia("cola_edt", "tareas")
+    };
+
+    /** Tareas medidas enviadas que aún no empiezan. */
+    private final AtomicInteger enCola = new AtomicInteger();
+
+    private final Overlay overlay = new Overlay();
+    private boolean instalado;
+
+    private MonitorEdt() {
+    }
+
+    /**
+     * @return el monitor de la aplicación
+     */
+    public static MonitorEdt compartido() {
+        return COMPARTIDO;
+    }
+
+    /**
+     * Igual que {@link SwingUtilities#invokeLater(Runnable)}, pero anota
+     * cuánto esperó la tarea en la cola. Puede llamarse desde cualquier hilo.
+     *
+     * @param fuente {@link #COMBATE} u {@link #OBSERVADOR}
+     * @param tarea tarea a ejecutar en el EDT
+     * @throws IllegalArgumentException si la fuente no existe
+     */
+    public void invokeLater(int fuente, Runnable tarea) {
+        if (fuente != COMBATE && fuente != OBSERVADOR) {
+            throw new IllegalArgumentException("Fuente de tareas desconocida: " + fuente);
+        }
+        HistogramaLatencia espera = metricas[fuente];
+        metricas[COLA].registrar(enCola.getAndIncrement());
+        long enviada = System.nanoTime();
+        SwingUtilities.invokeLater(() -> {
+            enCola.decrementAndGet();
+            espera.registrar((System.nanoTime() - enviada) / 1_000L);
+            tarea.run();
+        });
+    }
+
+    /**
+     * Anota que un cuadro acaba de aplicar eventos llegados desde
+     * {@code desdeNanos}.
+     *
+     * @param desdeNanos {@link System#nanoTime()} del primer evento del cuadro
+     */
+    void registrarCuadro(long desdeNanos) {
+        metricas[CUADRO].registrar((System.nanoTime() - desdeNanos) / 1_000L);
+    }
+
+    /**
+     * Empieza a medir el pintado de Swing y asocia la tecla F3 de la ventana
+     * al recuadro de métricas. Llamarlo más de una vez solo agrega el atajo a
+     * otra ventana.
+     *
+     * @param raiz panel raíz de la ventana
+     */
+    public void instalar(JRootPane raiz) {
+        if (!instalado) {
+            RepaintManager.setCurrentManager(new RepaintManagerMedido());
+            instalado = true;
+        }
+        raiz.getInputMap(JComponent.WHEN_IN_FOCUSED_WINDOW)
+                .put(KeyStroke.getKeyStroke(KeyEvent.VK_F3, 0), "monitorEdt");
+        raiz.getActionMap().put("monitorEdt", new AbstractAction() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                alternarOverlay(raiz.getLayeredPane());
+            }
+        });
+    }
+
+    private void alternarOverlay(JLayeredPane capas) {
+        if (overlay.getParent() != capas) {
+            capas.add(overlay, JLayeredPane.PALETTE_LAYER);
+        }
+        if (overlay.isVisible()) {
+            overlay.setVisible(false);
+            RelojAnimacion.compartido().quitar(overlay.refresco);
+            return;
+        }
+        overlay.setBounds(capas.getWidth() - Overlay.ANCHO - 10, 10, Overlay.ANCHO, overlay.alto());
+        overlay.setVisible(true);
+        RelojAnimacion.compartido().agregar(overlay.refresco);
+    }
+
+    /**
+     * Vacía todos los histogramas (por ejemplo, para medir solo un torneo).
+     */
+    public void reiniciar() {
+        for (HistogramaLatencia h : metricas) {
+            h.reiniciar();
+        }
+    }
+
+    /**
+     * Escribe las cubetas no vacías de cada histograma en CSV, con columnas
+     * {@code metrica,unidad,desde,hasta,cantidad}. Puede llamarse desde
+     * cualquier hilo.
+     *
+     * @param salida destino del CSV
+     * @throws IOException si falla la escritura
+     */
+    public void escribirCsv(Appendable salida) throws IOException {
+        salida.append("metrica,unidad,desde,hasta,cantidad").append(System.lineSeparator());
+        for (HistogramaLatencia h : metricas) {
+            for (int i = 0; i < HistogramaLatencia.CUBETAS; i++) {
+                long n = h.cuenta(i);
+                if (n > 0) {
+                    salida.append(h.getNombre()).append(',').append(h.getUnidad()).append(',')
+                            .append(Long.toString(HistogramaLatencia.desde(i))).append(',')
+                            .append(Long.toString(HistogramaLatencia.hasta(i))).append(',')
+                            .append(Long.toString(n)).append(System.lineSeparator());
+                }
+            }
+        }
+    }
+
+    /**
+     * Cronometra cada pasada de pintado. Swing la llama una vez por ciclo en
+     * el que hubo regiones por repintar.
+     */
+    private final class RepaintManagerMedido extends RepaintManager {
+
+        @Override
+        public void paintDirtyRegions() {
+            long inicio = System.nanoTime();
+            super.paintDirtyRegions();
+            metricas[PINTADO].registrar((System.nanoTime() - inicio) / 1_000L);
+        }
+    }
+
+    /**
+     * Recuadro con los percentiles de cada métrica, encima de la ventana.
+     */
+    private final class Overlay extends JComponent {
+
+        static final int ANCHO = 470;
+        private static final int ALTO_LINEA = 16;
+        private final Font fuente = new Font("Monospaced", Font.PLAIN, 12);
+        private final Color fondo = new Color(0, 0, 0, 190);
+
+        private long ultimoRefresco;
+
+        final RelojAnimacion.Animacion refresco = new RelojAnimacion.Animacion() {
+            @Override
+            protected boolean avanzar(long ahoraNanos) {
+                if (ahoraNanos - ultimoRefresco >= REFRESCO_OVERLAY_NS) {
+                    ultimoRefresco = ahoraNanos;
+                    repaint();
+                }
+                return true;
+            }
+        };
+
+        Overlay() {
+            setOpaque(false);
+            setVisible(false);
+        }
+
+        int alto() {
+            return (metricas.length + 3) * ALTO_LINEA + 12;
+        }
+
+        @Override
+        protected void paintComponent(Graphics g) {
+            g.setColor(fondo);
+            g.fillRect(0, 0, getWidth(), getHeight());
+            g.setFont(fuente);
+            g.setColor(Color.WHITE);
+            int y = ALTO_LINEA;
+            g.drawString("Monitor EDT (F3)        en cola ahora: " + enCola.get(), 8, y);
+            y += ALTO_LINEA;
+            g.drawString(String.format("%-18s %8s %6s %6s %6s %7s", "metrica", "n", "p50", "p95", "p99", "max"), 8, y);
+            for (int i = 0; i < metricas.length; i++) {
+                HistogramaLatencia h = metricas[i];
+                y += ALTO_LINEA;
+                g.setColor(i != COLA && h.percentil(0.99) > UN_CUADRO_US ? Color.ORANGE : Color.WHITE);
+                g.drawString(String.format("%-18s %8d %6d %6d %6d %7d", h.getNombre(), h.getTotal(),
+                        h.percentil(0.50), h.percentil(0.95), h.percentil(0.99), h.getMaximo()), 8, y);
+            }
+            g.setColor(Color.LIGHT_GRAY);
+            g.drawString("tiempos en microsegundos; cola en tareas", 8, y + ALTO_LINEA);
+        }
+    }
+}
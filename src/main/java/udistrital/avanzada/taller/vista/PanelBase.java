@@ -1,9 +1,7 @@
 package udistrital.avanzada.taller.vista;
 
 import java.awt.Graphics;
-import java.awt.Image;
-import java.net.URL;
-import javax.swing.ImageIcon;
+import java.awt.Transparency;
 import javax.swing.JPanel;
 
 /**
@@ -20,8 +18,11 @@ import javax.swing.JPanel;
  *
  * <p>
  * La imagen de fondo se busca dentro del classpath del proyecto, en la ruta:
- * <code>/Imagenes/Background.png</code>. Esta imagen se escala automáticamente para
- * ajustarse al tamaño actual del panel cada vez que este se repinta.
+ * <code>/Imagenes/Background.png</code> y se comparte entre todos los paneles a
+ * través de {@link CacheImagenes}; hasta que termina de decodificarse se ve el
+ * color de fondo del panel. La imagen se escala para ajustarse al
+ * tamaño del panel solo cuando este cambia de tamaño (ver {@link ImagenEscalada});
+ * cada repintado copia únicamente la región que cambió.
  * </p>
  *
  * <p><b>Ejemplo de uso:</b></p>
@@ -44,20 +45,10 @@ public class PanelBase extends JPanel {
     private static final long serialVersionUID = 1L;
 
     /**
-     * Ruta del recurso gráfico que se usará como fondo.
-     * <p>
-     * Debe ubicarse dentro del classpath en:
-     * <code>src/main/resources/Imagenes/Background.png</code>
-     * o dentro de un paquete equivalente en el proyecto.
-     * </p>
+     * Fondo ya escalado al tamaño del panel; empieza vacío y recibe la imagen
+     * de {@link CacheImagenes#FONDO} cuando está decodificada.
      */
-    private static final String RUTA_FONDO = "/Imagenes/Background.png";
-
-    /** URL del recurso de imagen cargado desde el classpath. */
-    private final URL fondoUrl = getClass().getResource(RUTA_FONDO);
-
-    /** Imagen del fondo ya cargada y almacenada en memoria para reutilización. */
-    private final Image fondoImg = (fondoUrl != null) ? new ImageIcon(fondoUrl).getImage() : null;
+    private final transient ImagenEscalada fondo = new ImagenEscalada(null, Transparency.OPAQUE);
 
     /**
      * Constructor por defecto del panel base.
@@ -69,28 +60,28 @@ public class PanelBase extends JPanel {
     public PanelBase() {
         // Asegura que el panel pinte su propio fondo antes de los hijos.
         setOpaque(true);
+        CacheImagenes.alCargar(CacheImagenes.FONDO, img -> {
+            fondo.setOrigen(img);
+            repaint();
+        });
     }
 
     /**
      * Sobrescribe el método de pintura del panel para dibujar una imagen de fondo.
      * <p>
      * Este método se ejecuta automáticamente cada vez que Swing repinta el panel.
-     * Primero llama a {@code super.paintComponent(g)} para limpiar el área y luego
-     * dibuja la imagen escalada al tamaño actual del panel.
+     * Si hay fondo, lo copia ya escalado en la región a repintar; si no, deja que
+     * {@code super.paintComponent(g)} pinte el color de fondo.
      * </p>
      *
      * @param g el contexto gráfico usado para dibujar el panel
      */
     @Override
     protected void paintComponent(Graphics g) {
-        super.paintComponent(g);
-
-        // Si no se encontró la imagen, simplemente deja el color de fondo por defecto.
-        if (fondoImg == null) {
-            return;
+        // El fondo opaco cubre todo: limpiar antes solo duplicaría el trabajo.
+        // Si no se encontró la imagen, queda el color de fondo por defecto.
+        if (!fondo.dibujar(g, this)) {
+            super.paintComponent(g);
         }
-
-        // Dibuja la imagen escalada al tamaño del panel.
-        g.drawImage(fondoImg, 0, 0, getWidth(), getHeight(), this);
     }
 }
@@ -1,8 +1,12 @@
 package udistrital.avanzada.taller.vista;
 
 import java.io.File;
+import java.util.List;
+import javax.swing.DefaultListModel;
 import javax.swing.JButton;
 import javax.swing.JFileChooser;
+import javax.swing.JProgressBar;
+import javax.swing.JTextField;
 import javax.swing.filechooser.FileNameExtensionFilter;
 
 /**
@@ -21,6 +25,9 @@ import javax.swing.filechooser.FileNameExtensionFilter;
  * <li>Cargar el archivo de hechizos.</li>
  * <li>Cargar el archivo de magos.</li>
  * <li>Iniciar el juego (una vez que ambos estén cargados).</li>
+ * <li>Seguir el avance de las cargas y cancelarlas.</li>
+ * <li>Buscar hechizos del libro cargado por el comienzo del nombre.</li>
+ * <li>Lanzar una exhibición de muchos duelos a la vez.</li>
  * <li>Salir del programa.</li>
  * </ul>
  * </p>
@@ -36,6 +43,11 @@ import javax.swing.filechooser.FileNameExtensionFilter;
  */
 public class PanelCargar extends PanelBase {
 
+    /**
+     * Hechizos que coinciden con el filtro, como se muestran en la lista.
+     */
+    private final DefaultListModel<String> modeloHechizos = new DefaultListModel<>();
+
     /**
      * Crea el panel y sus componentes visuales.
      * <p>
@@ -46,6 +58,7 @@ public class PanelCargar extends PanelBase {
      */
     public PanelCargar() {
         initComponents();
+        listaHechizos.setModel(modeloHechizos);
     }
 
     // ==============================================================
@@ -95,6 +108,113 @@ public class PanelCargar extends PanelBase {
         return botonCargarHechizos;
     }
 
+    /**
+     * Devuelve la referencia al botón <strong>Cancelar carga</strong>, que
+     * detiene las cargas en curso.
+     *
+     * @return la instancia del botón de cancelación
+     */
+    public JButton getBotonCancelar() {
+        return botonCancelar;
+    }
+
+    /**
+     * Devuelve la referencia al botón <strong>Exhibición</strong>, que abre
+     * el tablero con muchos duelos en paralelo.
+     *
+     * @return la instancia del botón de exhibición
+     */
+    public JButton getBotonExhibicion() {
+        return botonExhibicion;
+    }
+
+    /**
+     * Devuelve el campo de búsqueda de hechizos, para que el controlador
+     * filtre el libro a medida que se escribe.
+     *
+     * @return el campo de texto del filtro
+     */
+    public JTextField getCampoFiltroHechizos() {
+        return campoFiltroHechizos;
+    }
+
+    /**
+     * Reemplaza la lista de hechizos encontrados por el filtro.
+     *
+     * @param hechizos hechizos a mostrar, en el orden recibido
+     */
+    public void mostrarHechizos(List<InfoHechizoVista> hechizos) {
+        modeloHechizos.clear();
+        for (InfoHechizoVista h : hechizos) {
+            modeloHechizos.addElement(h.getNombre() + " (" + h.getPuntos() + " pts)");
+        }
+    }
+
+    // ==============================================================
+    //   PROGRESO DE CARGA (se invocan en el hilo de eventos)
+    // ==============================================================
+    /**
+     * Muestra el avance de la carga de hechizos.
+     *
+     * @param bytesLeidos bytes procesados
+     * @param bytesTotales tamaño del archivo, o {@code -1} si se desconoce
+     * @param entradas entradas procesadas
+     */
+    public void mostrarProgresoHechizos(long bytesLeidos, long bytesTotales, long entradas) {
+        mostrarProgreso(barraHechizos, bytesLeidos, bytesTotales, entradas);
+    }
+
+    /**
+     * Muestra el avance de la carga de magos.
+     *
+     * @param bytesLeidos bytes procesados
+     * @param bytesTotales tamaño del archivo, o {@code -1} si se desconoce
+     * @param entradas entradas procesadas
+     */
+    public void mostrarProgresoMagos(long bytesLeidos, long bytesTotales, long entradas) {
+        mostrarProgreso(barraMagos, bytesLeidos, bytesTotales, entradas);
+    }
+
+    /**
+     * Marca el inicio o el fin de la carga de hechizos: deshabilita su botón
+     * mientras carga.
+     *
+     * @param cargando {@code true} al iniciar, {@code false} al terminar
+     * @param estado texto final a mostrar en la barra (se ignora al iniciar)
+     */
+    public void setCargandoHechizos(boolean cargando, String estado) {
+        setCargando(botonCargarHechizos, barraHechizos, cargando, estado);
+    }
+
+    /**
+     * Marca el inicio o el fin de la carga de magos: deshabilita su botón
+     * mientras carga.
+     *
+     * @param cargando {@code true} al iniciar, {@code false} al terminar
+     * @param estado texto final a mostrar en la barra (se ignora al iniciar)
+     */
+    public void setCargandoMagos(boolean cargando, String estado) {
+        setCargando(botonCargarMagos, barraMagos, cargando, estado);
+    }
+
+    private void setCargando(JButton boton, JProgressBar barra, boolean cargando, String estado) {
+        boton.setEnabled(!cargando);
+        if (cargando) {
+            barra.setValue(0);
+            barra.setString("Leyendo...");
+        } else if (estado != null) {
+            barra.setString(estado);
+        }
+        botonCancelar.setEnabled(!botonCargarMagos.isEnabled() || !botonCargarHechizos.isEnabled());
+    }
+
+    private void mostrarProgreso(JProgressBar barra, long bytesLeidos, long bytesTotales, long entradas) {
+        if (bytesTotales > 0) {
+            barra.setValue((int) Math.min(100, bytesLeidos * 100 / bytesTotales));
+        }
+        barra.setString(String.format("%.1f MB · %,d entradas", bytesLeidos / (1024.0 * 1024.0), entradas));
+    }
+
     /**
      * Abre un cuadro de diálogo para seleccionar un archivo de propiedades.
      * <p>
@@ -145,6 +265,14 @@ public class PanelCargar extends PanelBase {
         botonCargarMagos = new javax.swing.JButton();
         botonJugar = new javax.swing.JButton();
         botonSalir = new javax.swing.JButton();
+        barraHechizos = new javax.swing.JProgressBar();
+        barraMagos = new javax.swing.JProgressBar();
+        botonCancelar = new javax.swing.JButton();
+        botonExhibicion = new javax.swing.JButton();
+        lFiltroHechizos = new javax.swing.JLabel();
+        campoFiltroHechizos = new javax.swing.JTextField();
+        scrollHechizos = new javax.swing.JScrollPane();
+        listaHechizos = new javax.swing.JList<>();
 
         lTitulo.setFont(new java.awt.Font("Monospaced", 1, 60)); // NOI18N
         lTitulo.setForeground(new java.awt.Color(255, 255, 255));
@@ -175,19 +303,60 @@ public class PanelCargar extends PanelBase {
         botonSalir.setText("SALIR");
         botonSalir.setBorder(javax.swing.BorderFactory.createBevelBorder(javax.swing.border.BevelBorder.RAISED, null, new java.awt.Color(0, 0, 0), null, null));
 
+        barraHechizos.setFont(new java.awt.Font("Monospaced", 1, 14)); // NOI18N
+        barraHechizos.setString(" ");
+        barraHechizos.setStringPainted(true);
+
+        barraMagos.setFont(new java.awt.Font("Monospaced", 1, 14)); // NOI18N
+        barraMagos.setString(" ");
+        barraMagos.setStringPainted(true);
+
+        botonCancelar.setBackground(new java.awt.Color(132, 72, 62));
+        botonCancelar.setFont(new java.awt.Font("Monospaced", 1, 18)); // NOI18N
+        botonCancelar.setForeground(new java.awt.Color(0, 0, 0));
+        botonCancelar.setText("Cancelar carga");
+        botonCancelar.setBorder(javax.swing.BorderFactory.createBevelBorder(javax.swing.border.BevelBorder.RAISED, null, new java.awt.Color(0, 0, 0), null, null));
+        botonCancelar.setEnabled(false);
+
+        botonExhibicion.setBackground(new java.awt.Color(132, 72, 62));
+        botonExhibicion.setFont(new java.awt.Font("Monospaced", 1, 18)); // NOI18N
+        botonExhibicion.setForeground(new java.awt.Color(0, 0, 0));
+        botonExhibicion.setText("Exhibición");
+        botonExhibicion.setBorder(javax.swing.BorderFactory.createBevelBorder(javax.swing.border.BevelBorder.RAISED, null, new java.awt.Color(0, 0, 0), null, null));
+
+        lFiltroHechizos.setFont(new java.awt.Font("Monospaced", 1, 18)); // NOI18N
+        lFiltroHechizos.setForeground(new java.awt.Color(255, 255, 255));
+        lFiltroHechizos.setText("Buscar hechizo");
+
+        campoFiltroHechizos.setFont(new java.awt.Font("Monospaced", 0, 18)); // NOI18N
+
+        listaHechizos.setFont(new java.awt.Font("Monospaced", 0, 16)); // NOI18N
+        scrollHechizos.setViewportView(listaHechizos);
+
         javax.swing.GroupLayout layout = new javax.swing.GroupLayout(this);
         this.setLayout(layout);
         layout.setHorizontalGroup(
             layout.createParallelGroup(javax.swing.GroupLayout.Alignment.LEADING)
             .addComponent(lTitulo, javax.swing.GroupLayout.DEFAULT_SIZE, javax.swing.GroupLayout.DEFAULT_SIZE, Short.MAX_VALUE)
             .addGroup(layout.createSequentialGroup()
-                .addGap(482, 482, 482)
+                .addGap(40, 40, 40)
+                .addGroup(layout.createParallelGroup(javax.swing.GroupLayout.Alignment.LEADING)
+                    .addComponent(lFiltroHechizos)
+                    .addComponent(campoFiltroHechizos, javax.swing.GroupLayout.PREFERRED_SIZE, 400, javax.swing.GroupLayout.PREFERRED_SIZE)
+                    .addComponent(scrollHechizos, javax.swing.GroupLayout.PREFERRED_SIZE, 400, javax.swing.GroupLayout.PREFERRED_SIZE))
+                .addGap(42, 42, 42)
                 .addGroup(layout.createParallelGroup(javax.swing.GroupLayout.Alignment.LEADING)
                     .addComponent(botonCargarMagos, javax.swing.GroupLayout.PREFERRED_SIZE, 231, javax.swing.GroupLayout.PREFERRED_SIZE)
                     .addComponent(botonSalir, javax.swing.GroupLayout.PREFERRED_SIZE, 231, javax.swing.GroupLayout.PREFERRED_SIZE)
                     .addComponent(botonCargarHechizos, javax.swing.GroupLayout.PREFERRED_SIZE, 231, javax.swing.GroupLayout.PREFERRED_SIZE)
                     .addComponent(botonJugar, javax.swing.GroupLayout.PREFERRED_SIZE, 231, javax.swing.GroupLayout.PREFERRED_SIZE))
-                .addContainerGap(487, Short.MAX_VALUE))
+                .addGap(18, 18, 18)
+                .addGroup(layout.createParallelGroup(javax.swing.GroupLayout.Alignment.LEADING)
+                    .addComponent(barraHechizos, javax.swing.GroupLayout.PREFERRED_SIZE, 300, javax.swing.GroupLayout.PREFERRED_SIZE)
+                    .addComponent(barraMagos, javax.swing.GroupLayout.PREFERRED_SIZE, 300, javax.swing.GroupLayout.PREFERRED_SIZE)
+                    .addComponent(botonCancelar, javax.swing.GroupLayout.PREFERRED_SIZE, 300, javax.swing.GroupLayout.PREFERRED_SIZE)
+                    .addComponent(botonExhibicion, javax.swing.GroupLayout.PREFERRED_SIZE, 300, javax.swing.GroupLayout.PREFERRED_SIZE))
+                .addContainerGap(169, Short.MAX_VALUE))
         );
         layout.setVerticalGroup(
             layout.createParallelGroup(javax.swing.GroupLayout.Alignment.LEADING)
@@ -195,23 +364,47 @@ public class PanelCargar extends PanelBase {
                 .addGap(58, 58, 58)
                 .addComponent(lTitulo)
                 .addGap(92, 92, 92)
-                .addComponent(botonCargarHechizos, javax.swing.GroupLayout.PREFERRED_SIZE, 76, javax.swing.GroupLayout.PREFERRED_SIZE)
-                .addGap(18, 18, 18)
-                .addComponent(botonCargarMagos, javax.swing.GroupLayout.PREFERRED_SIZE, 76, javax.swing.GroupLayout.PREFERRED_SIZE)
-                .addGap(18, 18, 18)
-                .addComponent(botonJugar, javax.swing.GroupLayout.PREFERRED_SIZE, 76, javax.swing.GroupLayout.PREFERRED_SIZE)
-                .addGap(18, 18, 18)
-                .addComponent(botonSalir, javax.swing.GroupLayout.PREFERRED_SIZE, 76, javax.swing.GroupLayout.PREFERRED_SIZE)
+                .addGroup(layout.createParallelGroup(javax.swing.GroupLayout.Alignment.LEADING)
+                    .addGroup(layout.createSequentialGroup()
+                        .addComponent(lFiltroHechizos)
+                        .addPreferredGap(javax.swing.LayoutStyle.ComponentPlacement.RELATED)
+                        .addComponent(campoFiltroHechizos, javax.swing.GroupLayout.PREFERRED_SIZE, 36, javax.swing.GroupLayout.PREFERRED_SIZE)
+                        .addPreferredGap(javax.swing.LayoutStyle.ComponentPlacement.RELATED)
+                        .addComponent(scrollHechizos, javax.swing.GroupLayout.PREFERRED_SIZE, 270, javax.swing.GroupLayout.PREFERRED_SIZE))
+                    .addGroup(layout.createSequentialGroup()
+                        .addGroup(layout.createParallelGroup(javax.swing.GroupLayout.Alignment.CENTER)
+                            .addComponent(botonCargarHechizos, javax.swing.GroupLayout.PREFERRED_SIZE, 76, javax.swing.GroupLayout.PREFERRED_SIZE)
+                            .addComponent(barraHechizos, javax.swing.GroupLayout.PREFERRED_SIZE, 30, javax.swing.GroupLayout.PREFERRED_SIZE))
+                        .addGap(18, 18, 18)
+                        .addGroup(layout.createParallelGroup(javax.swing.GroupLayout.Alignment.CENTER)
+                            .addComponent(botonCargarMagos, javax.swing.GroupLayout.PREFERRED_SIZE, 76, javax.swing.GroupLayout.PREFERRED_SIZE)
+                            .addComponent(barraMagos, javax.swing.GroupLayout.PREFERRED_SIZE, 30, javax.swing.GroupLayout.PREFERRED_SIZE))
+                        .addGap(18, 18, 18)
+                        .addGroup(layout.createParallelGroup(javax.swing.GroupLayout.Alignment.CENTER)
+                            .addComponent(botonJugar, javax.swing.GroupLayout.PREFERRED_SIZE, 76, javax.swing.GroupLayout.PREFERRED_SIZE)
+                            .addComponent(botonCancelar, javax.swing.GroupLayout.PREFERRED_SIZE, 40, javax.swing.GroupLayout.PREFERRED_SIZE))
+                        .addGap(18, 18, 18)
+                        .addGroup(layout.createParallelGroup(javax.swing.GroupLayout.Alignment.CENTER)
+                            .addComponent(botonSalir, javax.swing.GroupLayout.PREFERRED_SIZE, 76, javax.swing.GroupLayout.PREFERRED_SIZE)
+                            .addComponent(botonExhibicion, javax.swing.GroupLayout.PREFERRED_SIZE, 40, javax.swing.GroupLayout.PREFERRED_SIZE))))
                 .addContainerGap(213, Short.MAX_VALUE))
         );
     }// </editor-fold>//GEN-END:initComponents
 
 
     // Variables declaration - do not modify//GEN-BEGIN:variables
+    private javax.swing.JProgressBar barraHechizos;
+    private javax.swing.JProgressBar barraMagos;
+    private javax.swing.JButton botonCancelar;
     private javax.swing.JButton botonCargarHechizos;
     private javax.swing.JButton botonCargarMagos;
+    private javax.swing.JButton botonExhibicion;
     private javax.swing.JButton botonJugar;
     private javax.swing.JButton botonSalir;
+    private javax.swing.JTextField campoFiltroHechizos;
+    private javax.swing.JLabel lFiltroHechizos;
     private javax.swing.JLabel lTitulo;
+    private javax.swing.JList<String> listaHechizos;
+    private javax.swing.JScrollPane scrollHechizos;
     // End of variables declaration//GEN-END:variables
 }
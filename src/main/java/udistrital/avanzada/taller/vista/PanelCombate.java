@@ -6,8 +6,9 @@ package udistrital.avanzada.taller.vista;
 
 import javax.swing.*;
 import java.awt.*;
-import java.awt.event.ActionEvent;
-import java.awt.event.ActionListener;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Panel que muestra visualmente el desarrollo de un duelo mágico en tiempo real a través del observador
@@ -17,15 +18,35 @@ import java.awt.event.ActionListener;
  * y un panel central que muestra la dirección del hechizo lanzado.
  * </p>
  *
+ * <p>
+ * Los eventos del duelo llegan desde los hilos del motor y no tocan Swing:
+ * solo anotan el último estado de cada mago en {@link Pendientes}. Un único
+ * tick de 60 Hz en el EDT aplica lo anotado una vez por cuadro, así que si
+ * un mago lanzó varios hechizos entre dos cuadros solo se pinta el puntaje
+ * final (el log sí conserva cada línea).
+ * </p>
+ *
+ * <p>
+ * El log es un {@link ModeloLogCombate} de capacidad fija mostrado en una
+ * {@link JList} con alto de fila fijo: la memoria no crece durante el torneo
+ * y cada cuadro solo pinta las filas visibles. Las líneas viejas pueden
+ * guardarse en disco con {@link #setDesbordeLog(Consumer)}.
+ * </p>
+ *
+ * <p>
+ * Todas las animaciones del panel (barras de progreso, brillo de los magos,
+ * flechas del hechizo y la aplicación de cada cuadro) las mueve el
+ * {@link RelojAnimacion} compartido; el panel no crea temporizadores propios.
+ * Las tareas que manda al EDT y la espera de cada cuadro se miden en
+ * {@link MonitorEdt}.
+ * </p>
+ *
  * @author Juan Estevan Ariza Ortiz
  * @version 6.0
  * @since 2025-10-31
  */
 public class PanelCombate extends PanelBase {
 
-    private Image imagenMago1;
-    private Image imagenMago2;
-    
     private JLabel lblNombreMago1;
     private JLabel lblCasaMago1;
     private JLabel lblPuntosMago1;
@@ -44,16 +65,38 @@ public class PanelCombate extends PanelBase {
 
     private JLabel lblVersus;
     private PanelDireccionHechizo panelDireccion;
-    private JTextArea txtLog;
+    private final ModeloLogCombate modeloLog = new ModeloLogCombate(CAPACIDAD_LOG);
+    private JList<String> listaLog;
     private JScrollPane scrollLog;
     private JButton btnVolver;
 
-    private Timer timerAnimacionMago1;
-    private Timer timerAnimacionMago2;
-    private int valorObjetivoMago1 = 0;
-    private int valorObjetivoMago2 = 0;
+    private final RelojAnimacion reloj = RelojAnimacion.compartido();
+    private final MonitorEdt monitor = MonitorEdt.compartido();
+    private BarraAnimada barraMago1;
+    private BarraAnimada barraMago2;
+
+    /**
+     * Cambios llegados desde el motor que aún no se han pintado.
+     */
+    private final Pendientes pendientes = new Pendientes();
+
+    /**
+     * Aplica {@link #pendientes} una vez por cuadro mientras hay un duelo en
+     * pantalla.
+     */
+    private final RelojAnimacion.Animacion cuadro = new RelojAnimacion.Animacion() {
+        @Override
+        protected boolean avanzar(long ahoraNanos) {
+            aplicarPendientes();
+            return true;
+        }
+    };
 
     private static final int META_PUNTOS = 250;
+    /** Líneas del log que se conservan en memoria. */
+    private static final int CAPACIDAD_LOG = 2_000;
+    /** Fuente de los textos pintados en las animaciones. */
+    private static final Font FUENTE_ANIMACION = new Font("Monospaced", Font.BOLD, 16);
     private static final Color COLOR_GRYFFINDOR = new Color(116, 0, 1);
     private static final Color COLOR_SLYTHERIN = new Color(26, 71, 42);
     private static final Color COLOR_HUFFLEPUFF = new Color(236, 179, 25);
@@ -63,58 +106,19 @@ public class PanelCombate extends PanelBase {
      * Constructor que inicializa el panel de combate.
      */
     public PanelCombate() {
-        cargarImagenesMagos();
         initComponents();
-        inicializarTimers();
+        cargarImagenesMagos();
+        barraMago1 = new BarraAnimada(progressMago1);
+        barraMago2 = new BarraAnimada(progressMago2);
     }
 
     /**
-     * Carga las imágenes de los magos desde los recursos.
+     * Pide las imágenes de los magos a {@link CacheImagenes}. Mientras se
+     * decodifican, cada mago muestra su recuadro de color con texto.
      */
     private void cargarImagenesMagos() {
-        try {
-            java.net.URL urlMago1 = getClass().getResource("/Imagenes/Mago1.png");
-            if (urlMago1 != null) {
-                imagenMago1 = new ImageIcon(urlMago1).getImage();
-            }
-            
-            java.net.URL urlMago2 = getClass().getResource("/Imagenes/Mago2.png");
-            if (urlMago2 != null) {
-                imagenMago2 = new ImageIcon(urlMago2).getImage();
-            }
-        } catch (Exception e) {
-            imagenMago1 = null;
-            imagenMago2 = null;
-        }
-    }
-
-    /**
-     * Inicializa los timers para animación suave de las barras de progreso.
-     */
-    private void inicializarTimers() {
-        timerAnimacionMago1 = new Timer(10, new ActionListener() {
-            @Override
-            public void actionPerformed(ActionEvent e) {
-                int valorActual = progressMago1.getValue();
-                if (valorActual < valorObjetivoMago1) {
-                    progressMago1.setValue(Math.min(valorActual + 2, valorObjetivoMago1));
-                } else {
-                    timerAnimacionMago1.stop();
-                }
-            }
-        });
-
-        timerAnimacionMago2 = new Timer(10, new ActionListener() {
-            @Override
-            public void actionPerformed(ActionEvent e) {
-                int valorActual = progressMago2.getValue();
-                if (valorActual < valorObjetivoMago2) {
-                    progressMago2.setValue(Math.min(valorActual + 2, valorObjetivoMago2));
-                } else {
-                    timerAnimacionMago2.stop();
-                }
-            }
-        });
+        CacheImagenes.alCargar(CacheImagenes.MAGO_1, panelImagenMago1::setImagen);
+        CacheImagenes.alCargar(CacheImagenes.MAGO_2, panelImagenMago2::setImagen);
     }
 
     /**
@@ -128,7 +132,7 @@ public class PanelCombate extends PanelBase {
         panelMago1.setBounds(50, 100, 400, 550);
         add(panelMago1);
 
-        panelImagenMago1 = new PanelImagenMago(imagenMago1, "MAGO 1", new Color(100, 100, 200, 150));
+        panelImagenMago1 = new PanelImagenMago("MAGO 1", new Color(100, 100, 200, 150));
         panelImagenMago1.setBounds(125, 20, 150, 200);
         panelMago1.add(panelImagenMago1);
 
@@ -173,7 +177,7 @@ public class PanelCombate extends PanelBase {
         panelMago2.setBounds(750, 100, 400, 550);
         add(panelMago2);
 
-        panelImagenMago2 = new PanelImagenMago(imagenMago2, "MAGO 2", new Color(200, 100, 100, 150));
+        panelImagenMago2 = new PanelImagenMago("MAGO 2", new Color(200, 100, 100, 150));
         panelImagenMago2.setBounds(125, 20, 150, 200);
         panelMago2.add(panelImagenMago2);
 
@@ -227,12 +231,15 @@ public class PanelCombate extends PanelBase {
         add(lblVersus);
 
         // ========== LOG Y BOTONES ==========
-        txtLog = new JTextArea();
-        txtLog.setEditable(false);
-        txtLog.setFont(new Font("Monospaced", Font.PLAIN, 12));
-        txtLog.setBackground(new Color(30, 30, 30));
-        txtLog.setForeground(Color.WHITE);
-        scrollLog = new JScrollPane(txtLog);
+        listaLog = new JList<>(modeloLog);
+        listaLog.setFont(new Font("Monospaced", Font.PLAIN, 12));
+        listaLog.setBackground(new Color(30, 30, 30));
+        listaLog.setForeground(Color.WHITE);
+        listaLog.setFocusable(false);
+        // Alto y ancho fijos: la lista no mide cada fila y pinta solo las visibles
+        listaLog.setFixedCellHeight(listaLog.getFontMetrics(listaLog.getFont()).getHeight());
+        listaLog.setFixedCellWidth(1080);
+        scrollLog = new JScrollPane(listaLog);
         scrollLog.setBounds(50, 670, 1100, 100);
         add(scrollLog);
 
@@ -270,11 +277,22 @@ public class PanelCombate extends PanelBase {
 
     /**
      * Inicializa el panel con la información de los magos participantes.
+     * Puede llamarse desde cualquier hilo: se aplica en el próximo cuadro,
+     * antes que los eventos que lleguen después.
      *
      * @param mago1 información del primer mago
      * @param mago2 información del segundo mago
      */
     public void inicializarDuelo(InfoMagoVista mago1, InfoMagoVista mago2) {
+        pendientes.iniciar(mago1, mago2);
+        // Una sola vez por duelo: el reloj solo se toca desde el EDT
+        monitor.invokeLater(MonitorEdt.COMBATE, () -> reloj.agregar(cuadro));
+    }
+
+    /**
+     * Aplica en los componentes el inicio de un duelo (en el EDT).
+     */
+    private void aplicarInicio(InfoMagoVista mago1, InfoMagoVista mago2) {
         lblNombreMago1.setText(mago1.getNombre());
         lblCasaMago1.setText(mago1.getCasa());
         lblCasaMago1.setForeground(obtenerColorCasa(mago1.getCasa()));
@@ -282,8 +300,7 @@ public class PanelCombate extends PanelBase {
         lblHechizoMago1.setText("Esperando turno...");
         lblEstadoMago1.setText("✓ Normal");
         lblEstadoMago1.setForeground(Color.GREEN);
-        progressMago1.setValue(0);
-        valorObjetivoMago1 = 0;
+        barraMago1.reiniciar();
         panelImagenMago1.detenerAnimacion();
 
         lblNombreMago2.setText(mago2.getNombre());
@@ -293,94 +310,85 @@ public class PanelCombate extends PanelBase {
         lblHechizoMago2.setText("Esperando turno...");
         lblEstadoMago2.setText("✓ Normal");
         lblEstadoMago2.setForeground(Color.GREEN);
-        progressMago2.setValue(0);
-        valorObjetivoMago2 = 0;
+        barraMago2.reiniciar();
         panelImagenMago2.detenerAnimacion();
 
         panelDireccion.detenerAnimacion();
 
-        txtLog.setText("");
-        agregarLog("=== INICIO DEL DUELO ===");
-        agregarLog(mago1.getNombre() + " (" + mago1.getCasa() + ") vs "
-                + mago2.getNombre() + " (" + mago2.getCasa() + ")");
-        agregarLog("¡Que comience el duelo!\n");
+        modeloLog.limpiar();
 
         btnVolver.setEnabled(false);
     }
 
     /**
      * Actualiza la información de un mago después de lanzar un hechizo.
+     * Puede llamarse desde cualquier hilo; se pinta en el próximo cuadro.
      *
      * @param nombreMago nombre del mago que lanzó el hechizo
      * @param hechizo información del hechizo lanzado
      * @param puntosActuales puntos actuales del mago después de lanzar el hechizo
      */
     public void actualizarMago(String nombreMago, InfoHechizoVista hechizo, int puntosActuales) {
-        SwingUtilities.invokeLater(() -> {
-            if (esNombreIgual(nombreMago, lblNombreMago1.getText())) {
-                lblPuntosMago1.setText(puntosActuales + " / 250 puntos");
-                lblHechizoMago1.setText("⚡ " + hechizo.getNombre() + " (+" + hechizo.getPuntos() + ")");
-                
-                valorObjetivoMago1 = puntosActuales;
-                if (!timerAnimacionMago1.isRunning()) {
-                    timerAnimacionMago1.start();
-                }
-                
-                panelImagenMago1.animarLanzamientoHechizo();
-                panelDireccion.animarHechizo(true, hechizo.getNombre());
-                agregarLog(nombreMago + " lanzó " + hechizo.getNombre() + " → " + puntosActuales + " pts");
-            } else {
-                lblPuntosMago2.setText(puntosActuales + " / 250 puntos");
-                lblHechizoMago2.setText("⚡ " + hechizo.getNombre() + " (+" + hechizo.getPuntos() + ")");
-                
-                valorObjetivoMago2 = puntosActuales;
-                if (!timerAnimacionMago2.isRunning()) {
-                    timerAnimacionMago2.start();
-                }
-                
-                panelImagenMago2.animarLanzamientoHechizo();
-                panelDireccion.animarHechizo(false, hechizo.getNombre());
-                agregarLog(nombreMago + " lanzó " + hechizo.getNombre() + " → " + puntosActuales + " pts");
-            }
-        });
+        pendientes.lanzamiento(nombreMago, hechizo.getNombre(), hechizo.getPuntos(), puntosActuales);
     }
 
     /**
-     * Marca a un mago como aturdido visualmente.
+     * Marca a un mago como aturdido visualmente. Puede llamarse desde
+     * cualquier hilo.
      *
      * @param nombreMago nombre del mago aturdido
      */
     public void marcarAturdido(String nombreMago) {
-        SwingUtilities.invokeLater(() -> {
-            if (esNombreIgual(nombreMago, lblNombreMago1.getText())) {
-                lblEstadoMago1.setText("⚠ ATURDIDO");
-                lblEstadoMago1.setForeground(Color.RED);
-                agregarLog("¡" + nombreMago + " ha sido ATURDIDO!");
-            } else {
-                lblEstadoMago2.setText("⚠ ATURDIDO");
-                lblEstadoMago2.setForeground(Color.RED);
-                agregarLog("¡" + nombreMago + " ha sido ATURDIDO!");
-            }
-        });
+        pendientes.estado(nombreMago, true, "¡" + nombreMago + " ha sido ATURDIDO!");
     }
 
     /**
-     * Marca a un mago como recuperado del aturdimiento.
+     * Marca a un mago como recuperado del aturdimiento. Puede llamarse desde
+     * cualquier hilo.
      *
      * @param nombreMago nombre del mago recuperado
      */
     public void marcarRecuperado(String nombreMago) {
-        SwingUtilities.invokeLater(() -> {
-            if (esNombreIgual(nombreMago, lblNombreMago1.getText())) {
-                lblEstadoMago1.setText("✓ Normal");
-                lblEstadoMago1.setForeground(Color.GREEN);
-                agregarLog(nombreMago + " se ha recuperado del aturdimiento");
-            } else {
-                lblEstadoMago2.setText("✓ Normal");
-                lblEstadoMago2.setForeground(Color.GREEN);
-                agregarLog(nombreMago + " se ha recuperado del aturdimiento");
-            }
-        });
+        pendientes.estado(nombreMago, false, nombreMago + " se ha recuperado del aturdimiento");
+    }
+
+    /**
+     * Aplica en los componentes todo lo anotado desde el cuadro anterior.
+     * Se ejecuta en el EDT.
+     */
+    private void aplicarPendientes() {
+        Pendientes.Cuadro c = pendientes.tomar();
+        if (c == null) {
+            return;
+        }
+        monitor.registrarCuadro(c.desde);
+        if (c.inicio1 != null) {
+            aplicarInicio(c.inicio1, c.inicio2);
+        }
+        aplicarLado(c.lados[0], lblPuntosMago1, lblHechizoMago1, lblEstadoMago1, panelImagenMago1, barraMago1);
+        aplicarLado(c.lados[1], lblPuntosMago2, lblHechizoMago2, lblEstadoMago2, panelImagenMago2, barraMago2);
+        if (c.ultimoLanzador >= 0) {
+            Pendientes.Lado l = c.lados[c.ultimoLanzador];
+            panelDireccion.animarHechizo(c.ultimoLanzador == 0, l.hechizo);
+        }
+        if (!c.log.isEmpty()) {
+            modeloLog.agregar(c.log);
+            listaLog.ensureIndexIsVisible(modeloLog.getSize() - 1);
+        }
+    }
+
+    private void aplicarLado(Pendientes.Lado l, JLabel lblPuntos, JLabel lblHechizo, JLabel lblEstado,
+            PanelImagenMago imagen, BarraAnimada barra) {
+        if (l.lanzamientos > 0) {
+            lblPuntos.setText(l.puntos + " / 250 puntos");
+            lblHechizo.setText("⚡ " + l.hechizo + " (+" + l.puntosHechizo + ")");
+            barra.apuntarA(l.puntos);
+            imagen.animarLanzamientoHechizo();
+        }
+        if (l.cambioEstado) {
+            lblEstado.setText(l.aturdido ? "⚠ ATURDIDO" : "✓ Normal");
+            lblEstado.setForeground(l.aturdido ? Color.RED : Color.GREEN);
+        }
     }
 
     /**
@@ -389,16 +397,20 @@ public class PanelCombate extends PanelBase {
      * @param resultado información del resultado del duelo
      */
     public void mostrarResultado(InfoResultadoDueloVista resultado) {
-        SwingUtilities.invokeLater(() -> {
-            agregarLog("\n=== FIN DEL DUELO ===");
+        monitor.invokeLater(MonitorEdt.COMBATE, () -> {
+            // Lo que quedó sin pintar va antes del resultado
+            aplicarPendientes();
+            reloj.quitar(cuadro);
+            agregarLog("");
+            agregarLog("=== FIN DEL DUELO ===");
             agregarLog("🏆 GANADOR: " + resultado.getGanador().getNombre());
             agregarLog("Puntos finales: " + resultado.getPuntosGanador() + " - " + resultado.getPuntosPerdedor());
             agregarLog("Hechizos lanzados por el ganador: " + resultado.getHechizosLanzadosGanador());
 
             btnVolver.setEnabled(true);
             
-            timerAnimacionMago1.stop();
-            timerAnimacionMago2.stop();
+            reloj.quitar(barraMago1);
+            reloj.quitar(barraMago2);
             panelImagenMago1.detenerAnimacion();
             panelImagenMago2.detenerAnimacion();
             panelDireccion.detenerAnimacion();
@@ -411,8 +423,20 @@ public class PanelCombate extends PanelBase {
      * @param mensaje mensaje a agregar al log
      */
     private void agregarLog(String mensaje) {
-        txtLog.append(mensaje + "\n");
-        txtLog.setCaretPosition(txtLog.getDocument().getLength());
+        modeloLog.agregar(mensaje);
+        listaLog.ensureIndexIsVisible(modeloLog.getSize() - 1);
+    }
+
+    /**
+     * Define adónde van las líneas que salen del log en pantalla (por
+     * ejemplo, un archivo). Puede llamarse desde cualquier hilo.
+     *
+     * @param desborde destino de las líneas viejas, o {@code null} para
+     * descartarlas; debe admitir llamadas desde varios hilos
+     */
+    public void setDesbordeLog(Consumer<String> desborde) {
+        pendientes.desborde = desborde;
+        monitor.invokeLater(MonitorEdt.COMBATE, () -> modeloLog.setDesborde(desborde));
     }
 
     /**
@@ -432,18 +456,6 @@ public class PanelCombate extends PanelBase {
         };
     }
 
-    /**
-     * Compara dos nombres ignorando diferencias de mayúsculas/minúsculas.
-     *
-     * @param nombre1 primer nombre
-     * @param nombre2 segundo nombre
-     * @return true si los nombres son iguales
-     */
-    private boolean esNombreIgual(String nombre1, String nombre2) {
-        if (nombre1 == null || nombre2 == null) return false;
-        return nombre1.trim().equalsIgnoreCase(nombre2.trim());
-    }
-
     /**
      * Obtiene el botón de volver al menú.
      *
@@ -461,19 +473,187 @@ public class PanelCombate extends PanelBase {
         lblNombreMago2.setText("Mago 2");
         lblPuntosMago1.setText("0 / 250 puntos");
         lblPuntosMago2.setText("0 / 250 puntos");
-        progressMago1.setValue(0);
-        progressMago2.setValue(0);
-        valorObjetivoMago1 = 0;
-        valorObjetivoMago2 = 0;
-        txtLog.setText("");
+        barraMago1.reiniciar();
+        barraMago2.reiniciar();
+        reloj.quitar(cuadro);
+        Pendientes.Cuadro c = pendientes.tomar();
+        if (c != null) {
+            modeloLog.agregar(c.log);
+        }
+        modeloLog.limpiar();
         btnVolver.setEnabled(false);
-        timerAnimacionMago1.stop();
-        timerAnimacionMago2.stop();
         panelImagenMago1.detenerAnimacion();
         panelImagenMago2.detenerAnimacion();
         panelDireccion.detenerAnimacion();
     }
 
+    /**
+     * Barra de progreso que avanza hacia su objetivo a 2 puntos cada 10 ms.
+     * Si el objetivo baja (por ejemplo, por un drenaje), salta directo.
+     */
+    private final class BarraAnimada extends RelojAnimacion.Animacion {
+
+        private static final long NANOS_POR_PUNTO = 5_000_000L;
+
+        private final JProgressBar barra;
+        private int objetivo;
+        private long ultimoNanos;
+
+        BarraAnimada(JProgressBar barra) {
+            this.barra = barra;
+        }
+
+        void apuntarA(int nuevoObjetivo) {
+            objetivo = nuevoObjetivo;
+            if (barra.getValue() >= objetivo) {
+                barra.setValue(objetivo);
+                reloj.quitar(this);
+            } else if (!isActiva()) {
+                ultimoNanos = System.nanoTime();
+                reloj.agregar(this);
+            }
+        }
+
+        void reiniciar() {
+            reloj.quitar(this);
+            objetivo = 0;
+            barra.setValue(0);
+        }
+
+        @Override
+        protected boolean avanzar(long ahoraNanos) {
+            long pasos = (ahoraNanos - ultimoNanos) / NANOS_POR_PUNTO;
+            if (pasos > 0) {
+                ultimoNanos += pasos * NANOS_POR_PUNTO;
+                barra.setValue((int) Math.min(barra.getValue() + pasos, objetivo));
+            }
+            return barra.getValue() < objetivo;
+        }
+    }
+
+    /**
+     * Estado anotado por los hilos del motor entre dos cuadros. Cada evento
+     * sobrescribe el último valor de su mago; el EDT se lleva todo de una vez
+     * con {@link #tomar()}. Los nombres de los magos se guardan aquí para
+     * resolver el lado sin leer componentes Swing fuera del EDT.
+     */
+    private static final class Pendientes {
+
+        /** Último estado de un mago desde el cuadro anterior. */
+        static final class Lado {
+            int lanzamientos;
+            int puntos;
+            String hechizo;
+            int puntosHechizo;
+            boolean cambioEstado;
+            boolean aturdido;
+        }
+
+        /** Lo que el EDT debe aplicar en un cuadro. */
+        static final class Cuadro {
+            InfoMagoVista inicio1;
+            InfoMagoVista inicio2;
+            final Lado[] lados = {new Lado(), new Lado()};
+            int ultimoLanzador = -1;
+            final List<String> log = new ArrayList<>();
+            boolean vacio = true;
+            /** Llegada del primer evento del cuadro ({@link System#nanoTime()}). */
+            long desde;
+        }
+
+        /** Destino de las líneas que no alcanzan a mostrarse. */
+        volatile Consumer<String> desborde;
+        private String nombre1;
+        private Cuadro actual = new Cuadro();
+
+        synchronized void iniciar(InfoMagoVista mago1, InfoMagoVista mago2) {
+            // El estado pendiente del duelo anterior ya no se pinta; sus
+            // líneas de log solo se guardan
+            desbordar(actual.log, actual.log.size());
+            actual = new Cuadro();
+            actual.inicio1 = mago1;
+            actual.inicio2 = mago2;
+            marcar();
+            nombre1 = mago1.getNombre();
+            agregarLinea("=== INICIO DEL DUELO ===");
+            agregarLinea(mago1.getNombre() + " (" + mago1.getCasa() + ") vs "
+                    + mago2.getNombre() + " (" + mago2.getCasa() + ")");
+            agregarLinea("¡Que comience el duelo!");
+            agregarLinea("");
+        }
+
+        synchronized void lanzamiento(String nombreMago, String hechizo, int puntosHechizo, int puntos) {
+            int lado = lado(nombreMago);
+            Lado l = actual.lados[lado];
+            l.lanzamientos++;
+            l.puntos = puntos;
+            l.hechizo = hechizo;
+            l.puntosHechizo = puntosHechizo;
+            actual.ultimoLanzador = lado;
+            marcar();
+            agregarLinea(nombreMago + " lanzó " + hechizo + " → " + puntos + " pts");
+        }
+
+        synchronized void estado(String nombreMago, boolean aturdido, String lineaLog) {
+            Lado l = actual.lados[lado(nombreMago)];
+            l.cambioEstado = true;
+            l.aturdido = aturdido;
+            marcar();
+            agregarLinea(lineaLog);
+        }
+
+        /**
+         * Entrega lo anotado y empieza un cuadro vacío.
+         *
+         * @return cuadro a aplicar, o {@code null} si no hubo cambios
+         */
+        synchronized Cuadro tomar() {
+            if (actual.vacio) {
+                return null;
+            }
+            Cuadro c = actual;
+            actual = new Cuadro();
+            return c;
+        }
+
+        /**
+         * Marca el cuadro como pendiente; el primer evento fija su llegada.
+         */
+        private void marcar() {
+            if (actual.vacio) {
+                actual.desde = System.nanoTime();
+                actual.vacio = false;
+            }
+        }
+
+        /**
+         * Anota una línea de log. Si el EDT se atrasa y se juntan más de dos
+         * logs completos, la mitad más vieja pasa al desborde: no llegaría a
+         * verse de todos modos.
+         */
+        private void agregarLinea(String linea) {
+            List<String> log = actual.log;
+            if (log.size() == 2 * CAPACIDAD_LOG) {
+                desbordar(log, CAPACIDAD_LOG);
+            }
+            log.add(linea);
+        }
+
+        private void desbordar(List<String> log, int cantidad) {
+            Consumer<String> d = desborde;
+            List<String> viejas = log.subList(0, cantidad);
+            if (d != null) {
+                viejas.forEach(d);
+            }
+            viejas.clear();
+        }
+
+        private int lado(String nombreMago) {
+            return nombreMago != null && nombre1 != null
+                    && nombreMago.trim().equalsIgnoreCase(nombre1.trim()) ? 0 : 1;
+        }
+    }
+
     /**
      * Panel que visualiza la dirección del hechizo lanzado entre los magos.
      * <p>
@@ -493,7 +673,9 @@ public class PanelCombate extends PanelBase {
      * </p>
      */
     private class PanelDireccionHechizo extends JPanel {
-        private Timer animacionTimer;
+        private static final int MILIS_POR_FRAME = 40;
+        private static final int FRAMES = 50;
+
         private int frameAnimacion = 0;
         private boolean animando = false;
         private boolean direccionIzquierda = true;
@@ -502,19 +684,25 @@ public class PanelCombate extends PanelBase {
 
         public PanelDireccionHechizo() {
             setOpaque(false);
-            animacionTimer = new Timer(40, new ActionListener() {
-                @Override
-                public void actionPerformed(ActionEvent e) {
-                    if (animando) {
-                        frameAnimacion++;
-                        offset = (frameAnimacion * 8) % 60;
-                        repaint();
-                        if (frameAnimacion >= 50) detenerAnimacion();
-                    }
-                }
-            });
         }
 
+        private final RelojAnimacion.Animacion animacion = new RelojAnimacion.Animacion() {
+            @Override
+            protected boolean avanzar(long ahoraNanos) {
+                int frame = (int) (transcurridoMs(ahoraNanos) / MILIS_POR_FRAME);
+                if (frame >= FRAMES) {
+                    detenerAnimacion();
+                    return false;
+                }
+                if (frame != frameAnimacion) {
+                    frameAnimacion = frame;
+                    offset = (frameAnimacion * 8) % 60;
+                    repaint();
+                }
+                return true;
+            }
+        };
+
         /**
          * Inicia la animación del hechizo en una dirección específica.
          *
@@ -527,7 +715,7 @@ public class PanelCombate extends PanelBase {
             this.animando = true;
             this.frameAnimacion = 0;
             this.offset = 0;
-            if (!animacionTimer.isRunning()) animacionTimer.start();
+            reloj.agregar(animacion);
         }
 
         /** Detiene la animación del hechizo. */
@@ -536,7 +724,7 @@ public class PanelCombate extends PanelBase {
             frameAnimacion = 0;
             offset = 0;
             nombreHechizo = "";
-            animacionTimer.stop();
+            reloj.quitar(animacion);
             repaint();
         }
 
@@ -580,7 +768,7 @@ public class PanelCombate extends PanelBase {
                 dibujarFlecha(g2d, width - 220 - offset, centerY + 20, 150, colorHechizo, false);
             }
 
-            g2d.setFont(new Font("Monospaced", Font.BOLD, 16));
+            g2d.setFont(FUENTE_ANIMACION);
             g2d.setColor(new Color(255, 255, 255, (int)(alpha * 255)));
             FontMetrics fm = g2d.getFontMetrics();
             int textX = (width - fm.stringWidth(nombreHechizo)) / 2;
@@ -595,42 +783,57 @@ public class PanelCombate extends PanelBase {
      * Incluye un efecto de brillo al lanzar hechizos.
      */
     private class PanelImagenMago extends JPanel {
-        private Image imagen;
+        private final ImagenEscalada sprite;
         private String textoPlaceholder;
         private Color colorPlaceholder;
-        private Timer animacionTimer;
+        private static final long DURACION_BRILLO_MS = 2000;
         private boolean animando = false;
         private float intensidadBrillo = 0f;
 
-        public PanelImagenMago(Image imagen, String textoPlaceholder, Color colorPlaceholder) {
-            this.imagen = imagen;
+        public PanelImagenMago(String textoPlaceholder, Color colorPlaceholder) {
+            this.sprite = new ImagenEscalada(null, Transparency.TRANSLUCENT);
             this.textoPlaceholder = textoPlaceholder;
             this.colorPlaceholder = colorPlaceholder;
             setOpaque(false);
+        }
 
-            animacionTimer = new Timer(50, new ActionListener() {
-                @Override
-                public void actionPerformed(ActionEvent e) {
-                    if (animando) {
-                        intensidadBrillo = (float) Math.abs(Math.sin(System.currentTimeMillis() * 0.005));
-                        repaint();
-                    }
+        private final RelojAnimacion.Animacion animacion = new RelojAnimacion.Animacion() {
+            @Override
+            protected boolean avanzar(long ahoraNanos) {
+                if (transcurridoMs(ahoraNanos) >= DURACION_BRILLO_MS) {
+                    detenerAnimacion();
+                    return false;
                 }
-            });
+                intensidadBrillo = (float) Math.abs(Math.sin(ahoraNanos / 1_000_000L * 0.005));
+                repaint();
+                return true;
+            }
+        };
+
+        /**
+         * Asigna la imagen del mago en lugar del recuadro de espera.
+         *
+         * @param imagen imagen decodificada
+         */
+        public void setImagen(Image imagen) {
+            sprite.setOrigen(imagen);
+            repaint();
         }
 
-        /** Inicia la animación de lanzamiento del hechizo. */
+        /**
+         * Inicia la animación de lanzamiento del hechizo; dura 2 segundos
+         * desde el último lanzamiento.
+         */
         public void animarLanzamientoHechizo() {
             animando = true;
-            if (!animacionTimer.isRunning()) animacionTimer.start();
-            new Timer(2000, e -> detenerAnimacion()).start();
+            reloj.agregar(animacion);
         }
 
         /** Detiene cualquier animación activa. */
         public void detenerAnimacion() {
             animando = false;
             intensidadBrillo = 0f;
-            animacionTimer.stop();
+            reloj.quitar(animacion);
             repaint();
         }
 
@@ -640,13 +843,11 @@ public class PanelCombate extends PanelBase {
             Graphics2D g2d = (Graphics2D) g.create();
             g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
 
-            if (imagen != null)
-                g2d.drawImage(imagen, 0, 0, getWidth(), getHeight(), this);
-            else {
+            if (!sprite.dibujar(g2d, this)) {
                 g2d.setColor(colorPlaceholder);
                 g2d.fillRect(0, 0, getWidth(), getHeight());
                 g2d.setColor(Color.WHITE);
-                g2d.setFont(new Font("Monospaced", Font.BOLD, 16));
+                g2d.setFont(FUENTE_ANIMACION);
                 FontMetrics fm = g2d.getFontMetrics();
                 int x = (getWidth() - fm.stringWidth(textoPlaceholder)) / 2;
                 int y = (getHeight() + fm.getAscent()) / 2;
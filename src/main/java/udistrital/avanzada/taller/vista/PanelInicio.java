@@ -6,8 +6,9 @@ import javax.swing.JButton;
  * Panel de inicio de <b>ConjurosConHilos</b>.
  * <p>
  * Esta vista actúa como pantalla principal del menú inicial. Presenta el título
- * del juego y dos acciones básicas: <em>JUGAR</em> (para continuar al flujo del
- * torneo) y <em>SALIR</em> (para cerrar la aplicación).
+ * del juego y sus acciones: <em>JUGAR</em> (para continuar al flujo del
+ * torneo), <em>REPETICIONES</em> (para volver a ver los duelos grabados) y
+ * <em>SALIR</em> (para cerrar la aplicación).
  * </p>
  *
  * <p>
@@ -64,6 +65,16 @@ public class PanelInicio extends PanelBase {
         return botonJugar;
     }
 
+    /**
+     * Devuelve la referencia al botón <strong>REPETICIONES</strong> para que
+     * el controlador abra el visor de duelos grabados.
+     *
+     * @return la instancia del botón de repeticiones
+     */
+    public JButton getBotonRepeticiones() {
+        return botonRepeticiones;
+    }
+
     /**
      * This method is called from within the constructor to initialize the form.
      * WARNING: Do NOT modify this code. The content of this method is always
@@ -75,6 +86,7 @@ public class PanelInicio extends PanelBase {
 
         botonSalir = new javax.swing.JButton();
         botonJugar = new javax.swing.JButton();
+        botonRepeticiones = new javax.swing.JButton();
         lTitulo = new javax.swing.JLabel();
 
         botonSalir.setBackground(new java.awt.Color(132, 72, 62));
@@ -89,6 +101,12 @@ public class PanelInicio extends PanelBase {
         botonJugar.setText("JUGAR");
         botonJugar.setBorder(javax.swing.BorderFactory.createBevelBorder(javax.swing.border.BevelBorder.RAISED, null, new java.awt.Color(0, 0, 0), null, null));
 
+        botonRepeticiones.setBackground(new java.awt.Color(132, 72, 62));
+        botonRepeticiones.setFont(new java.awt.Font("Monospaced", 1, 24)); // NOI18N
+        botonRepeticiones.setForeground(new java.awt.Color(0, 0, 0));
+        botonRepeticiones.setText("REPETICIONES");
+        botonRepeticiones.setBorder(javax.swing.BorderFactory.createBevelBorder(javax.swing.border.BevelBorder.RAISED, null, new java.awt.Color(0, 0, 0), null, null));
+
         lTitulo.setFont(new java.awt.Font("Monospaced", 1, 60)); // NOI18N
         lTitulo.setForeground(new java.awt.Color(255, 255, 255));
         lTitulo.setHorizontalAlignment(javax.swing.SwingConstants.CENTER);
@@ -103,7 +121,8 @@ public class PanelInicio extends PanelBase {
                 .addContainerGap(487, Short.MAX_VALUE)
                 .addGroup(layout.createParallelGroup(javax.swing.GroupLayout.Alignment.LEADING)
                     .addComponent(botonSalir, javax.swing.GroupLayout.PREFERRED_SIZE, 231, javax.swing.GroupLayout.PREFERRED_SIZE)
-                    .addComponent(botonJugar, javax.swing.GroupLayout.PREFERRED_SIZE, 231, javax.swing.GroupLayout.PREFERRED_SIZE))
+                    .addComponent(botonJugar, javax.swing.GroupLayout.PREFERRED_SIZE, 231, javax.swing.GroupLayout.PREFERRED_SIZE)
+                    .addComponent(botonRepeticiones, javax.swing.GroupLayout.PREFERRED_SIZE, 231, javax.swing.GroupLayout.PREFERRED_SIZE))
                 .addGap(482, 482, 482))
         );
         layout.setVerticalGroup(
@@ -114,14 +133,17 @@ public class PanelInicio extends PanelBase {
                 .addGap(181, 181, 181)
                 .addComponent(botonJugar, javax.swing.GroupLayout.PREFERRED_SIZE, 76, javax.swing.GroupLayout.PREFERRED_SIZE)
                 .addGap(18, 18, 18)
+                .addComponent(botonRepeticiones, javax.swing.GroupLayout.PREFERRED_SIZE, 76, javax.swing.GroupLayout.PREFERRED_SIZE)
+                .addGap(18, 18, 18)
                 .addComponent(botonSalir, javax.swing.GroupLayout.PREFERRED_SIZE, 76, javax.swing.GroupLayout.PREFERRED_SIZE)
-                .addContainerGap(309, Short.MAX_VALUE))
+                .addContainerGap(215, Short.MAX_VALUE))
         );
     }// </editor-fold>//GEN-END:initComponents
 
 
     // Variables declaration - do not modify//GEN-BEGIN:variables
     private javax.swing.JButton botonJugar;
+    private javax.swing.JButton botonRepeticiones;
     private javax.swing.JButton botonSalir;
     private javax.swing.JLabel lTitulo;
     // End of variables declaration//GEN-END:variables
@@ -0,0 +1,302 @@
+package udistrital.avanzada.taller.vista;
+
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics;
+import java.util.ArrayList;
+import java.util.List;
+import javax.swing.JButton;
+import javax.swing.JComboBox;
+import javax.swing.JComponent;
+import javax.swing.JLabel;
+import javax.swing.JSlider;
+import javax.swing.SwingConstants;
+
+/**
+ * Visor de duelos grabados.
+ * <p>
+ * Muestra un duelo de la lista de {@link RepeticionVista} turno por turno,
+ * con reproducir/pausa, velocidad y una barra para saltar a cualquier turno.
+ * Saltar no vuelve a simular el duelo: se pide el estado del turno a la
+ * grabación, que lo reconstruye desde su clave más cercana. La reproducción
+ * avanza con el {@link RelojAnimacion} compartido.
+ * </p>
+ *
+ * @author Juan Estevan Ariza Ortiz
+ * @version 1.0
+ * @since 2026-10-19
+ */
+public class PanelRepeticion extends PanelBase {
+
+    /** Milisegundos por turno a velocidad 1x (un ritmo parecido al duelo real). */
+    private static final int MS_POR_TURNO = 375;
+    private static final double[] VELOCIDADES = {0.5, 1, 2, 4, 8, 16};
+    private static final String[] TEXTOS_VELOCIDAD = {"0.5x", "1x", "2x", "4x", "8x", "16x"};
+
+    private static final Font FUENTE_NOMBRE = new Font("Monospaced", Font.BOLD, 28);
+    private static final Font FUENTE_DATO = new Font("Monospaced", Font.BOLD, 20);
+    private static final Font FUENTE_EVENTO = new Font("Monospaced", Font.ITALIC, 22);
+    private static final Color COLOR_FONDO_MAGO = new Color(0, 0, 0, 160);
+    private static final Color COLOR_MAGO_1 = new Color(90, 120, 230);
+    private static final Color COLOR_MAGO_2 = new Color(220, 90, 90);
+    private static final Color COLOR_ATURDIDO = new Color(240, 210, 40);
+    private static final Color COLOR_GANADOR = new Color(0, 200, 0);
+
+    private final JComboBox<String> comboDuelos = new JComboBox<>();
+    private final Escenario escenario = new Escenario();
+    private final JSlider sliderTurno = new JSlider(0, 0, 0);
+    private final JLabel lblTurno = new JLabel(" ", SwingConstants.CENTER);
+    private final JButton btnReproducir = new JButton("REPRODUCIR");
+    private final JComboBox<String> comboVelocidad = new JComboBox<>(TEXTOS_VELOCIDAD);
+    private final JButton btnVolver = new JButton("VOLVER");
+
+    private List<RepeticionVista> repeticiones = new ArrayList<>();
+    private RepeticionVista actual;
+    private final int[] estado = new int[RepeticionVista.TAMANO_ESTADO];
+    private int turno;
+    private String evento = " ";
+
+    /** Turno desde el que se cuenta el tiempo de la reproducción en curso. */
+    private int turnoBase;
+    private double velocidad = 1;
+    /** El slider se está moviendo desde el código, no por el usuario. */
+    private boolean ajustando;
+
+    private final transient RelojAnimacion.Animacion reproduccion = new RelojAnimacion.Animacion() {
+        @Override
+        protected boolean avanzar(long ahoraNanos) {
+            if (actual == null) {
+                return false;
+            }
+            int t = turnoBase + (int) (transcurridoMs(ahoraNanos) * velocidad / MS_POR_TURNO);
+            if (t >= actual.getTurnos()) {
+                mostrarTurno(actual.getTurnos());
+                btnReproducir.setText("REPRODUCIR");
+                return false;
+            }
+            if (t != turno) {
+                mostrarTurno(t);
+            }
+            return true;
+        }
+    };
+
+    /**
+     * Crea el visor vacío.
+     */
+    public PanelRepeticion() {
+        initComponents();
+    }
+
+    private void initComponents() {
+        setLayout(null);
+
+        JLabel lblTitulo = new JLabel("Repeticiones", SwingConstants.CENTER);
+        lblTitulo.setFont(new Font("Monospaced", Font.BOLD, 40));
+        lblTitulo.setForeground(Color.WHITE);
+        lblTitulo.setBounds(0, 10, 1200, 50);
+        add(lblTitulo);
+
+        comboDuelos.setFont(new Font("Monospaced", Font.PLAIN, 16));
+        comboDuelos.setBounds(250, 70, 700, 32);
+        comboDuelos.addActionListener(e -> seleccionar(comboDuelos.getSelectedIndex()));
+        add(comboDuelos);
+
+        escenario.setBounds(50, 120, 1100, 430);
+        add(escenario);
+
+        sliderTurno.setOpaque(false);
+        sliderTurno.setBounds(50, 565, 1100, 40);
+        sliderTurno.addChangeListener(e -> {
+            if (!ajustando) {
+                saltarA(sliderTurno.getValue());
+            }
+        });
+        add(sliderTurno);
+
+        lblTurno.setFont(new Font("Monospaced", Font.BOLD, 18));
+        lblTurno.setForeground(Color.WHITE);
+        lblTurno.setBounds(50, 610, 1100, 25);
+        add(lblTurno);
+
+        btnReproducir.setFont(new Font("Monospaced", Font.BOLD, 18));
+        btnReproducir.setBackground(new Color(132, 72, 62));
+        btnReproducir.setForeground(Color.WHITE);
+        btnReproducir.setBounds(300, 650, 250, 50);
+        btnReproducir.addActionListener(e -> alternarReproduccion());
+        add(btnReproducir);
+
+        comboVelocidad.setFont(new Font("Monospaced", Font.BOLD, 18));
+        comboVelocidad.setSelectedIndex(1);
+        comboVelocidad.setBounds(570, 650, 120, 50);
+        comboVelocidad.addActionListener(e -> cambiarVelocidad(VELOCIDADES[comboVelocidad.getSelectedIndex()]));
+        add(comboVelocidad);
+
+        btnVolver.setFont(new Font("Monospaced", Font.BOLD, 18));
+        btnVolver.setBackground(new Color(132, 72, 62));
+        btnVolver.setForeground(Color.WHITE);
+        btnVolver.setBounds(710, 650, 190, 50);
+        add(btnVolver);
+    }
+
+    /**
+     * Obtiene el botón para volver al menú.
+     *
+     * @return botón volver
+     */
+    public JButton getBotonVolver() {
+        return btnVolver;
+    }
+
+    /**
+     * Carga la lista de duelos grabados y selecciona el último.
+     *
+     * @param repeticiones duelos, del más viejo al más nuevo
+     */
+    public void setRepeticiones(List<RepeticionVista> repeticiones) {
+        detener();
+        this.repeticiones = new ArrayList<>(repeticiones);
+        comboDuelos.removeAllItems();
+        for (RepeticionVista r : this.repeticiones) {
+            comboDuelos.addItem(String.format("Ronda %d: %s vs %s (%d turnos)", r.getRonda(),
+                    r.getNombreMago(0), r.getNombreMago(1), r.getTurnos()));
+        }
+        if (!this.repeticiones.isEmpty()) {
+            comboDuelos.setSelectedIndex(this.repeticiones.size() - 1);
+        } else {
+            seleccionar(-1);
+        }
+    }
+
+    /**
+     * Detiene la reproducción.
+     */
+    public void detener() {
+        RelojAnimacion.compartido().quitar(reproduccion);
+        btnReproducir.setText("REPRODUCIR");
+    }
+
+    private void seleccionar(int indice) {
+        detener();
+        actual = indice >= 0 && indice < repeticiones.size() ? repeticiones.get(indice) : null;
+        ajustando = true;
+        sliderTurno.setMaximum(actual == null ? 0 : actual.getTurnos());
+        ajustando = false;
+        mostrarTurno(0);
+    }
+
+    private void alternarReproduccion() {
+        if (actual == null) {
+            return;
+        }
+        if (reproduccion.isActiva()) {
+            detener();
+            return;
+        }
+        if (turno >= actual.getTurnos()) {
+            mostrarTurno(0);
+        }
+        turnoBase = turno;
+        RelojAnimacion.compartido().agregar(reproduccion);
+        btnReproducir.setText("PAUSA");
+    }
+
+    private void cambiarVelocidad(double nueva) {
+        velocidad = nueva;
+        if (reproduccion.isActiva()) {
+            // Sigue desde el turno actual con el nuevo ritmo
+            turnoBase = turno;
+            RelojAnimacion.compartido().agregar(reproduccion);
+        }
+    }
+
+    private void saltarA(int t) {
+        mostrarTurno(t);
+        if (reproduccion.isActiva()) {
+            turnoBase = turno;
+            RelojAnimacion.compartido().agregar(reproduccion);
+        }
+    }
+
+    /**
+     * Muestra el estado de un turno: un salto directo, sin pasar por los
+     * turnos intermedios.
+     */
+    private void mostrarTurno(int t) {
+        int total = actual == null ? 0 : actual.getTurnos();
+        turno = Math.max(0, Math.min(t, total));
+        if (actual == null) {
+            java.util.Arrays.fill(estado, 0);
+            evento = "No hay duelos grabados";
+        } else {
+            actual.estadoEn(turno, estado);
+            evento = turno == 0 ? "Comienza el duelo" : actual.describirTurno(turno);
+        }
+        ajustando = true;
+        sliderTurno.setValue(turno);
+        ajustando = false;
+        lblTurno.setText("Turno " + turno + " / " + total);
+        escenario.repaint();
+    }
+
+    /**
+     * Dibuja a los dos magos con sus puntos, hechizos y aturdimiento, y el
+     * evento del turno.
+     */
+    private final class Escenario extends JComponent {
+
+        Escenario() {
+            setOpaque(false);
+        }
+
+        @Override
+        protected void paintComponent(Graphics g) {
+            int w = getWidth();
+            int anchoMago = (w - 60) / 2;
+            pintarMago(g, 0, 0, anchoMago);
+            pintarMago(g, 1, w - anchoMago, anchoMago);
+
+            g.setFont(FUENTE_EVENTO);
+            g.setColor(Color.WHITE);
+            FontMetrics fm = g.getFontMetrics();
+            g.drawString(evento, (w - fm.stringWidth(evento)) / 2, getHeight() - 20);
+        }
+
+        private void pintarMago(Graphics g, int lado, int x, int ancho) {
+            int alto = getHeight() - 80;
+            g.setColor(COLOR_FONDO_MAGO);
+            g.fillRoundRect(x, 0, ancho, alto, 12, 12);
+            if (actual == null) {
+                return;
+            }
+            int puntos = estado[RepeticionVista.PUNTOS_1 + lado];
+            int hechizos = estado[RepeticionVista.HECHIZOS_1 + lado];
+            boolean aturdido = estado[RepeticionVista.ATURDIDO_1 + lado] != 0;
+            boolean gano = turno == actual.getTurnos() && actual.getGanador() == lado;
+
+            g.setColor(Color.WHITE);
+            g.setFont(FUENTE_NOMBRE);
+            g.drawString(actual.getNombreMago(lado), x + 20, 50);
+            g.setFont(FUENTE_DATO);
+            g.drawString("Puntos: " + puntos, x + 20, 110);
+            g.drawString("Hechizos: " + hechizos, x + 20, 145);
+            if (aturdido) {
+                g.setColor(COLOR_ATURDIDO);
+                g.drawString("ATURDIDO", x + 20, 200);
+            }
+            if (gano) {
+                g.setColor(COLOR_GANADOR);
+                g.drawString("GANADOR", x + 20, 235);
+            }
+
+            int meta = Math.max(actual.getMeta(), 1);
+            int anchoBarra = ancho - 40;
+            g.setColor(Color.DARK_GRAY);
+            g.fillRect(x + 20, alto - 60, anchoBarra, 30);
+            g.setColor(gano ? COLOR_GANADOR : aturdido ? COLOR_ATURDIDO
+                    : lado == 0 ? COLOR_MAGO_1 : COLOR_MAGO_2);
+            g.fillRect(x + 20, alto - 60, Math.min(anchoBarra, (int) ((long) puntos * anchoBarra / meta)), 30);
+        }
+    }
+}
@@ -0,0 +1,264 @@
+package udistrital.avanzada.taller.vista;
+
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics;
+import java.awt.Rectangle;
+import javax.swing.JButton;
+import javax.swing.JComponent;
+import javax.swing.JLabel;
+import javax.swing.SwingConstants;
+
+/**
+ * Tablero con muchos duelos en vivo a la vez (una exhibición, una liga o una
+ * llave jugada en paralelo).
+ * <p>
+ * A diferencia de {@link PanelCombate}, que arma cada duelo con decenas de
+ * etiquetas y barras de Swing, aquí todos los duelos se dibujan en un solo
+ * componente: cada duelo es una casilla con los dos nombres, una barra de
+ * puntos por mago y el aturdimiento marcado en amarillo. El tablero no recibe
+ * eventos de los duelos; en cada cuadro del {@link RelojAnimacion} le pide a
+ * su {@link FuenteDuelosVista} una {@link InstantaneaDuelos} y repinta solo
+ * las casillas que cambiaron.
+ * </p>
+ *
+ * @author Juan Estevan Ariza Ortiz
+ * @version 1.0
+ * @since 2026-10-19
+ */
+public class PanelTableroDuelos extends PanelBase {
+
+    private static final Font FUENTE_CASILLA = new Font("Monospaced", Font.PLAIN, 11);
+    private static final Color COLOR_CASILLA = new Color(0, 0, 0, 170);
+    private static final Color COLOR_MAGO_1 = new Color(90, 120, 230);
+    private static final Color COLOR_MAGO_2 = new Color(220, 90, 90);
+    private static final Color COLOR_ATURDIDO = new Color(240, 210, 40);
+    private static final Color COLOR_GANADOR = new Color(0, 200, 0);
+    private static final Color COLOR_PERDEDOR = new Color(90, 90, 90);
+    private static final Color COLOR_DETENIDO = new Color(60, 60, 60);
+
+    /** Proporción ancho/alto con la que se intenta dibujar cada casilla. */
+    private static final double PROPORCION_CASILLA = 4.0;
+    /** Separación entre casillas, en píxeles. */
+    private static final int SEPARACION = 2;
+    /** Alto mínimo de casilla para escribir los nombres. */
+    private static final int ALTO_MINIMO_TEXTO = 26;
+
+    private final InstantaneaDuelos instantanea = new InstantaneaDuelos();
+    private final Rejilla rejilla = new Rejilla();
+    private final JLabel lblResumen = new JLabel(" ", SwingConstants.CENTER);
+    private final JButton btnVolver = new JButton("VOLVER");
+    private FuenteDuelosVista fuente;
+    private int terminadosMostrados = -1;
+
+    private final transient RelojAnimacion.Animacion muestreo = new RelojAnimacion.Animacion() {
+        @Override
+        protected boolean avanzar(long ahoraNanos) {
+            return muestrear();
+        }
+    };
+
+    /**
+     * Crea el tablero vacío.
+     */
+    public PanelTableroDuelos() {
+        initComponents();
+    }
+
+    private void initComponents() {
+        setLayout(null);
+
+        JLabel lblTitulo = new JLabel("Tablero de Duelos", SwingConstants.CENTER);
+        lblTitulo.setFont(new Font("Monospaced", Font.BOLD, 40));
+        lblTitulo.setForeground(Color.WHITE);
+        lblTitulo.setBounds(0, 10, 1200, 50);
+        add(lblTitulo);
+
+        lblResumen.setFont(new Font("Monospaced", Font.BOLD, 18));
+        lblResumen.setForeground(Color.WHITE);
+        lblResumen.setBounds(0, 60, 1200, 25);
+        add(lblResumen);
+
+        rejilla.setBounds(30, 95, 1140, 620);
+        add(rejilla);
+
+        btnVolver.setFont(new Font("Monospaced", Font.BOLD, 18));
+        btnVolver.setBackground(new Color(132, 72, 62));
+        btnVolver.setForeground(Color.WHITE);
+        btnVolver.setBounds(450, 730, 300, 50);
+        add(btnVolver);
+    }
+
+    /**
+     * Obtiene el botón para volver al menú.
+     *
+     * @return botón volver
+     */
+    public JButton getBotonVolver() {
+        return btnVolver;
+    }
+
+    /**
+     * Empieza a mostrar los duelos de una fuente; se muestrea una vez por
+     * cuadro hasta que todos terminan o se llama a {@link #detener()}. Debe
+     * invocarse en el EDT.
+     *
+     * @param fuente origen de los duelos
+     */
+    public void mostrarDuelos(FuenteDuelosVista fuente) {
+        this.fuente = fuente;
+        this.terminadosMostrados = -1;
+        RelojAnimacion.compartido().agregar(muestreo);
+    }
+
+    /**
+     * Deja de muestrear; el tablero conserva la última imagen. Debe invocarse
+     * en el EDT.
+     */
+    public void detener() {
+        RelojAnimacion.compartido().quitar(muestreo);
+        fuente = null;
+    }
+
+    /**
+     * Toma una muestra y repinta las casillas que cambiaron.
+     *
+     * @return {@code true} mientras queden duelos en curso
+     */
+    private boolean muestrear() {
+        FuenteDuelosVista f = fuente;
+        if (f == null) {
+            return false;
+        }
+        f.muestrear(instantanea);
+        int n = instantanea.getCantidad();
+        if (instantanea.consumirCompleta()) {
+            rejilla.distribuir(n);
+            rejilla.repaint();
+        } else {
+            Rectangle r = new Rectangle();
+            for (int k = 0; k < instantanea.getCantidadCambiados(); k++) {
+                rejilla.casilla(instantanea.getCambiado(k), r);
+                rejilla.repaint(r);
+            }
+        }
+        int terminados = instantanea.getTerminados();
+        if (terminados != terminadosMostrados) {
+            terminadosMostrados = terminados;
+            lblResumen.setText(String.format("%,d duelos · %,d en curso · %,d terminados",
+                    n, n - terminados, terminados));
+        }
+        return terminados < n;
+    }
+
+    /**
+     * Componente que dibuja todas las casillas. Es transparente para que se
+     * vea el fondo del tablero entre casillas.
+     */
+    private final class Rejilla extends JComponent {
+
+        private int columnas = 1;
+        private int anchoCasilla;
+        private int altoCasilla;
+
+        Rejilla() {
+            setOpaque(false);
+            setFont(FUENTE_CASILLA);
+        }
+
+        /**
+         * Calcula columnas y tamaño de casilla para que entren {@code n}
+         * casillas lo más cerca posible de {@link #PROPORCION_CASILLA}.
+         */
+        void distribuir(int n) {
+            int w = Math.max(getWidth(), 1);
+            int h = Math.max(getHeight(), 1);
+            if (n <= 0) {
+                columnas = 1;
+                anchoCasilla = 0;
+                altoCasilla = 0;
+                return;
+            }
+            columnas = (int) Math.ceil(Math.sqrt(n * (double) w / (h * PROPORCION_CASILLA)));
+            columnas = Math.max(1, Math.min(columnas, n));
+            int filas = (n + columnas - 1) / columnas;
+            anchoCasilla = w / columnas;
+            altoCasilla = Math.min(h / filas, Math.max(anchoCasilla / 2, 1));
+        }
+
+        void casilla(int i, Rectangle r) {
+            r.setBounds((i % columnas) * anchoCasilla, (i / columnas) * altoCasilla,
+                    anchoCasilla, altoCasilla);
+        }
+
+        @Override
+        protected void paintComponent(Graphics g) {
+            int n = instantanea.getCantidad();
+            if (n == 0 || anchoCasilla <= SEPARACION || altoCasilla <= SEPARACION) {
+                return;
+            }
+            Rectangle clip = g.getClipBounds();
+            if (clip == null) {
+                clip = new Rectangle(0, 0, getWidth(), getHeight());
+            }
+            // Solo las filas y columnas que tocan la región sucia
+            int filaDesde = Math.max(0, clip.y / altoCasilla);
+            int filaHasta = (clip.y + clip.height - 1) / altoCasilla;
+            int colDesde = Math.max(0, clip.x / anchoCasilla);
+            int colHasta = Math.min(columnas - 1, (clip.x + clip.width - 1) / anchoCasilla);
+            FontMetrics fm = g.getFontMetrics();
+            for (int fila = filaDesde; fila <= filaHasta; fila++) {
+                for (int col = colDesde; col <= colHasta; col++) {
+                    int i = fila * columnas + col;
+                    if (i >= n) {
+                        return;
+                    }
+                    pintarCasilla(g, fm, i, col * anchoCasilla, fila * altoCasilla);
+                }
+            }
+        }
+
+        private void pintarCasilla(Graphics g, FontMetrics fm, int i, int x, int y) {
+            int w = anchoCasilla - SEPARACION;
+            int h = altoCasilla - SEPARACION;
+            int estado = instantanea.getEstado(i);
+            g.setColor(estado == InstantaneaDuelos.DETENIDO ? COLOR_DETENIDO : COLOR_CASILLA);
+            g.fillRect(x, y, w, h);
+
+            int meta = instantanea.getMeta();
+            int altoBarra = Math.max(1, (h - 3) / 2);
+            int ancho1 = Math.min(w - 2, (int) ((long) instantanea.getPuntos1(i) * (w - 2) / meta));
+            int ancho2 = Math.min(w - 2, (int) ((long) instantanea.getPuntos2(i) * (w - 2) / meta));
+            g.setColor(colorBarra(estado, InstantaneaDuelos.GANA_1, instantanea.isAturdido1(i), COLOR_MAGO_1));
+            g.fillRect(x + 1, y + 1, ancho1, altoBarra);
+            g.setColor(colorBarra(estado, InstantaneaDuelos.GANA_2, instantanea.isAturdido2(i), COLOR_MAGO_2));
+            g.fillRect(x + 1, y + 2 + altoBarra, ancho2, altoBarra);
+
+            if (h >= ALTO_MINIMO_TEXTO) {
+                g.setColor(Color.WHITE);
+                int base = fm.getAscent() + (altoBarra - fm.getHeight()) / 2;
+                g.drawString(recortar(instantanea.getNombre1(i), fm, w - 4), x + 3, y + 1 + base);
+                g.drawString(recortar(instantanea.getNombre2(i), fm, w - 4), x + 3, y + 2 + altoBarra + base);
+            }
+        }
+
+        private Color colorBarra(int estado, int gana, boolean aturdido, Color normal) {
+            if (estado == InstantaneaDuelos.EN_CURSO) {
+                return aturdido ? COLOR_ATURDIDO : normal;
+            }
+            return estado == gana ? COLOR_GANADOR : COLOR_PERDEDOR;
+        }
+
+        private String recortar(String texto, FontMetrics fm, int ancho) {
+            if (texto == null) {
+                return "";
+            }
+            if (fm.stringWidth(texto) <= ancho) {
+                return texto;
+            }
+            int caracteres = Math.max(0, ancho / Math.max(fm.charWidth('M'), 1) - 1);
+            return texto.substring(0, Math.min(caracteres, texto.length())) + "…";
+        }
+    }
+}
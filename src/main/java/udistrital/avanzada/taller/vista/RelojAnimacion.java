@@ -0,0 +1,154 @@
+package udistrital.avanzada.taller.vista;
+
+import java.util.Arrays;
+import javax.swing.Timer;
+
+/**
+ * Reloj único que mueve todas las animaciones de la interfaz.
+ * <p>
+ * En vez de un {@link Timer} por componente (y uno nuevo por cada efecto
+ * temporizado), cada animación se registra aquí y el reloj la avanza en un
+ * solo tick de 60 Hz en el EDT. El temporizador solo corre mientras hay
+ * animaciones activas, así que en reposo no despierta al EDT.
+ * </p>
+ *
+ * <p>
+ * Las animaciones son objetos de larga vida: {@link #agregar(Animacion)}
+ * solo las marca como activas y reinicia su tiempo, por lo que disparar una
+ * animación en cada evento no crea objetos. Los efectos con duración se
+ * expresan comparando {@link Animacion#transcurridoMs(long)} con un límite en
+ * {@link Animacion#avanzar(long)}.
+ * </p>
+ *
+ * <p>
+ * Solo debe usarse desde el EDT.
+ * </p>
+ *
+ * @author Juan Estevan Ariza Ortiz
+ * @version 1.0
+ * @since 2026-10-19
+ */
+public final class RelojAnimacion {
+
+    /**
+     * Duración de un cuadro en milisegundos (60 por segundo).
+     */
+    public static final int MILIS_POR_CUADRO = 1000 / 60;
+
+    private static final RelojAnimacion COMPARTIDO = new RelojAnimacion();
+
+    private final Timer timer;
+    private Animacion[] animaciones = new Animacion[8];
+    private int cantidad;
+
+    private RelojAnimacion() {
+        this.timer = new Timer(MILIS_POR_CUADRO, e -> tick());
+        this.timer.setCoalesce(true);
+    }
+
+    /**
+     * @return reloj compartido por toda la interfaz
+     */
+    public static RelojAnimacion compartido() {
+        return COMPARTIDO;
+    }
+
+    /**
+     * Activa una animación (o la reinicia si ya estaba activa): su tiempo
+     * transcurrido vuelve a cero.
+     *
+     * @param animacion animación a activar
+     */
+    public void agregar(Animacion animacion) {
+        animacion.inicio = System.nanoTime();
+        animacion.activa = true;
+        if (!animacion.enLista) {
+            if (cantidad == animaciones.length) {
+                animaciones = Arrays.copyOf(animaciones, cantidad * 2);
+            }
+            animaciones[cantidad++] = animacion;
+            animacion.enLista = true;
+        }
+        if (!timer.isRunning()) {
+            timer.start();
+        }
+    }
+
+    /**
+     * Desactiva una animación; deja de avanzar desde el próximo tick.
+     *
+     * @param animacion animación a detener
+     */
+    public void quitar(Animacion animacion) {
+        animacion.activa = false;
+    }
+
+    /**
+     * Avanza las animaciones activas y compacta la lista quitando las que
+     * terminaron. Las que se agregan durante el tick se avanzan en el mismo
+     * tick.
+     */
+    private void tick() {
+        long ahora = System.nanoTime();
+        int quedan = 0;
+        for (int i = 0; i < cantidad; i++) {
+            Animacion a = animaciones[i];
+            if (a.activa) {
+                boolean sigue;
+                try {
+                    sigue = a.avanzar(ahora);
+                } catch (RuntimeException e) {
+                    System.err.println("Error al animar: " + e.getMessage());
+                    sigue = false;
+                }
+                if (!sigue) {
+                    a.activa = false;
+                }
+            }
+            if (a.activa) {
+                animaciones[quedan++] = a;
+            } else {
+                a.enLista = false;
+            }
+        }
+        Arrays.fill(animaciones, quedan, cantidad, null);
+        cantidad = quedan;
+        if (cantidad == 0) {
+            timer.stop();
+        }
+    }
+
+    /**
+     * Animación movida por el reloj.
+     */
+    public abstract static class Animacion {
+
+        private boolean activa;
+        private boolean enLista;
+        private long inicio;
+
+        /**
+         * Avanza un cuadro.
+         *
+         * @param ahoraNanos instante del tick ({@link System#nanoTime()})
+         * @return {@code true} para seguir activa, {@code false} si terminó
+         */
+        protected abstract boolean avanzar(long ahoraNanos);
+
+        /**
+         * @param ahoraNanos instante del tick
+         * @return milisegundos desde el último {@link #agregar(Animacion)}
+         */
+        protected final long transcurridoMs(long ahoraNanos) {
+            return (ahoraNanos - inicio) / 1_000_000L;
+        }
+
+        /**
+         * @return {@code true} si la animación está registrada y sin
+         * terminar
+         */
+        public final boolean isActiva() {
+            return activa;
+        }
+    }
+}
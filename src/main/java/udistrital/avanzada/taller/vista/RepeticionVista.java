@@ -0,0 +1,73 @@
+package udistrital.avanzada.taller.vista;
+
+/**
+ * Interfaz que representa un duelo grabado para la vista.
+ * Desacopla la vista del modelo siguiendo el patrón MVC.
+ *
+ * @author Juan Estevan Ariza Ortiz
+ * @version 1.0
+ * @since 2026-10-19
+ */
+public interface RepeticionVista {
+
+    /** Posición de los puntos del mago 1 en el arreglo de estado. */
+    int PUNTOS_1 = 0;
+    /** Posición de los puntos del mago 2. */
+    int PUNTOS_2 = 1;
+    /** Posición de los hechizos lanzados por el mago 1. */
+    int HECHIZOS_1 = 2;
+    /** Posición de los hechizos lanzados por el mago 2. */
+    int HECHIZOS_2 = 3;
+    /** Posición del aturdimiento del mago 1 (distinto de 0 = aturdido). */
+    int ATURDIDO_1 = 4;
+    /** Posición del aturdimiento del mago 2. */
+    int ATURDIDO_2 = 5;
+    /** Tamaño del arreglo de estado. */
+    int TAMANO_ESTADO = 6;
+
+    /**
+     * Obtiene el nombre de uno de los magos.
+     * @param lado 0 para el mago 1, 1 para el mago 2
+     * @return nombre del mago
+     */
+    String getNombreMago(int lado);
+
+    /**
+     * Obtiene la ronda del duelo en el torneo.
+     * @return ronda
+     */
+    int getRonda();
+
+    /**
+     * Obtiene el lado ganador.
+     * @return 0 o 1, o {@code -1} si no hubo ganador
+     */
+    int getGanador();
+
+    /**
+     * Obtiene los puntos con los que se gana un duelo.
+     * @return meta de puntos
+     */
+    int getMeta();
+
+    /**
+     * Obtiene la cantidad de turnos (eventos) grabados.
+     * @return turnos del duelo
+     */
+    int getTurnos();
+
+    /**
+     * Llena el estado después de los primeros {@code turno} eventos. Su
+     * costo no depende de la duración del duelo.
+     * @param turno turno ({@code 0..getTurnos()})
+     * @param estado arreglo de {@link #TAMANO_ESTADO} enteros a llenar
+     */
+    void estadoEn(int turno, int[] estado);
+
+    /**
+     * Describe el evento que lleva al turno indicado.
+     * @param turno turno ({@code 1..getTurnos()})
+     * @return texto del evento, por ejemplo "Harry lanzó Expelliarmus"
+     */
+    String describirTurno(int turno);
+}
@@ -79,6 +79,9 @@ public class VentanaPrincipal extends javax.swing.JFrame {
         // Se añade el panel principal al contenedor de fondo
         bg.add(main);
 
+        // F3 muestra las métricas del hilo de eventos
+        MonitorEdt.compartido().instalar(getRootPane());
+
         // Se establece el contenedor de fondo como contenido de la ventana
         setContentPane(bg);
 